@@ -2,6 +2,7 @@ package com.aibrigade.ai;
 
 import com.aibrigade.main.AIBrigadeMod;
 import com.aibrigade.bots.BotEntity;
+import com.aibrigade.bots.BotGroupStates;
 import com.aibrigade.bots.BotManager;
 import net.minecraft.server.MinecraftServer;
 import net.minecraftforge.event.TickEvent;
@@ -37,6 +38,7 @@ public class AIManager {
 
     // Cleanup interval
     private static final int CLEANUP_INTERVAL = 100; // Cleanup dead bots every 100 ticks (5 seconds)
+    private static final int CHECKPOINT_INTERVAL = 60; // Crash-recovery checkpoint every 60 ticks (3 seconds)
     private int tickCounter = 0;
 
     // Server reference
@@ -109,6 +111,14 @@ public class AIManager {
         if (tickCounter % CLEANUP_INTERVAL == 0) {
             cleanupDeadBots();
         }
+
+        // Checkpoint live bot state (changed fields only, memory-mapped)
+        if (tickCounter % CHECKPOINT_INTERVAL == 0) {
+            BotManager botManager = AIBrigadeMod.getBotManager();
+            if (botManager != null) {
+                botManager.checkpointBots();
+            }
+        }
     }
 
     /**
@@ -163,6 +173,9 @@ public class AIManager {
             return;
         }
 
+        // NETWORK: one group state packet, members matching it sync nothing
+        botManager.updateGroupState(groupName, state -> state.withBehaviorType(behavior));
+
         for (UUID botId : botIds) {
             if (botId == null) {
                 continue; // Skip null UUIDs
@@ -207,6 +220,7 @@ public class AIManager {
         }
 
         group.setFollowRadius(radius);
+        botManager.markGroupChanged(groupName);
 
         // CRITICAL FIX: Null check on getActiveBots() and getBotIds() return values
         var activeBots = botManager.getActiveBots();
@@ -221,6 +235,9 @@ public class AIManager {
             return;
         }
 
+        // NETWORK: one group state packet, members matching it sync nothing
+        botManager.updateGroupState(groupName, state -> state.withFollowRadius(radius));
+
         for (UUID botId : botIds) {
             if (botId == null) {
                 continue; // Skip null UUIDs
@@ -277,6 +294,23 @@ public class AIManager {
                 return;
             }
 
+            // Toggled from the members: any mobile member makes the whole group static,
+            // an all-static group becomes mobile. Applied uniformly (one group state packet)
+            boolean anyMobile = false;
+            boolean anyLoaded = false;
+            for (UUID botId : botIds) {
+                BotEntity bot = botId != null ? activeBots.get(botId) : null;
+                if (bot != null) {
+                    anyLoaded = true;
+                    if (!bot.isStatic()) {
+                        anyMobile = true;
+                        break;
+                    }
+                }
+            }
+            boolean isStatic = anyLoaded ? anyMobile : !BotGroupStates.get(targetName).isStatic();
+            botManager.updateGroupState(targetName, state -> state.withStatic(isStatic));
+
             for (UUID botId : botIds) {
                 if (botId == null) {
                     continue; // Skip null UUIDs
@@ -284,10 +318,10 @@ public class AIManager {
 
                 BotEntity bot = activeBots.get(botId);
                 if (bot != null) {
-                    bot.setStatic(!bot.isStatic());
+                    bot.setStatic(isStatic);
                 }
             }
-            AIBrigadeMod.LOGGER.info("Toggled static state for group {}", targetName);
+            AIBrigadeMod.LOGGER.info("Set static state {} for group {}", isStatic, targetName);
         } else {
             // Try to find individual bot
             for (BotEntity bot : activeBots.values()) {
@@ -5,12 +5,35 @@ package com.aibrigade.bots;
  *
  * Client only handles rendering - all logic is server-side.
  * This reduces client load significantly for 200+ bots.
+ *
+ * Levels of detail (distance to the local player):
+ * - LOD_FULL     : full model, armor / held items, name tag, shadow
+ * - LOD_REDUCED  : body only (no overlay parts, layers, name tag or shadow)
+ * - LOD_IMPOSTOR : flat sprite of the skin, all impostors drawn in one batch
+ *
+ * Beyond LIGHTWEIGHT_TICK_DISTANCE, client bots only interpolate their position
+ * (see BotEntity#tick): no animation, fluid, particle or collision work.
+ * The viewer position is pushed by the client tick handler, so this class stays
+ * free of client-only classes.
  */
 public class BotClientOptimizer {
 
+    public static final int LOD_FULL = 0;
+    public static final int LOD_REDUCED = 1;
+    public static final int LOD_IMPOSTOR = 2;
+
     // Distance thresholds for rendering (client-side only)
-    private static final double RENDER_DISTANCE = 128.0;
+    public static final double RENDER_DISTANCE = 128.0;
+    private static final double FULL_DETAIL_DISTANCE = 32.0;
     private static final double LOD_DISTANCE = 64.0;
+    // A bit beyond the animated tiers, so walk animations are warm when a bot gets closer
+    private static final double LIGHTWEIGHT_TICK_DISTANCE = 72.0;
+
+    // Local player position (client), updated every client tick
+    private static volatile boolean hasViewer = false;
+    private static volatile double viewerX;
+    private static volatile double viewerY;
+    private static volatile double viewerZ;
 
     /**
      * Check if bot should be rendered at all
@@ -21,13 +44,34 @@ public class BotClientOptimizer {
     }
 
     /**
-     * Get simple LOD level for rendering
-     * 0 = full detail, 1 = reduced detail
+     * Get LOD level for rendering
+     * LOD_FULL, LOD_REDUCED or LOD_IMPOSTOR
      */
-    public static int getSimpleLOD(double distanceSqr) {
+    public static int getLOD(double distanceSqr) {
         if (distanceSqr > LOD_DISTANCE * LOD_DISTANCE) {
-            return 1; // Distant - minimal rendering
+            return LOD_IMPOSTOR; // Distant - sprite only
         }
-        return 0; // Close - full rendering
+        if (distanceSqr > FULL_DETAIL_DISTANCE * FULL_DETAIL_DISTANCE) {
+            return LOD_REDUCED; // Mid range - body only
+        }
+        return LOD_FULL; // Close - full rendering
+    }
+
+    /**
+     * Client: position of the local player (present = false when there is none)
+     */
+    public static void updateViewer(boolean present, double x, double y, double z) {
+        viewerX = x;
+        viewerY = y;
+        viewerZ = z;
+        hasViewer = present;
+    }
+
+    /**
+     * Client: true if the bot is far enough to only interpolate its position this tick
+     */
+    public static boolean useLightweightTick(BotEntity bot) {
+        return hasViewer
+            && bot.distanceToSqr(viewerX, viewerY, viewerZ) > LIGHTWEIGHT_TICK_DISTANCE * LIGHTWEIGHT_TICK_DISTANCE;
     }
 }
@@ -0,0 +1,252 @@
+package com.aibrigade.bots;
+
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.phys.AABB;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * BotDeadReckoning - Client prediction between sparse movement updates
+ *
+ * Distant bots are synced every 10-40 ticks (BotTrackingCadence). Interpolating over that
+ * interval keeps the bot a whole interval behind and steps visibly whenever its speed
+ * changes. Instead the client extrapolates from the last server position:
+ * - a bot following a leader the client can see moves with the leader's displacement
+ * - other bots continue at the velocity observed between their last two updates
+ * An update later than one interval (plus STOP_SLACK_TICKS) is usually jitter or a
+ * cadence change (10 to 40 ticks past SYNC_FAR_DISTANCE): the prediction is held at the
+ * expected update time, so the bot neither walks backwards nor snaps forward when the
+ * update arrives.
+ * The server only sends movement when a bot moved, so after several missed intervals
+ * (STOP_MISSED_INTERVALS, at least MAX_PREDICTION_INTERVAL ticks) the bot is considered
+ * stopped and the target returns to the last server position.
+ *
+ * The rendered position is pulled towards the prediction over CORRECTION_STEPS ticks, so
+ * the error revealed by a new update is absorbed smoothly. An error above MAX_ERROR
+ * (teleport, knockback, new path) falls back to a short vanilla interpolation.
+ *
+ * One instance per client bot, client main thread only.
+ */
+final class BotDeadReckoning {
+
+    /**
+     * How an update received by BotEntity#lerpTo is applied
+     */
+    enum Mode {
+        INTERPOLATE, // Frequent updates or no velocity yet: vanilla interpolation
+        PREDICT,     // Sparse updates: position driven by tick()
+        SNAP         // Prediction too far off: quick vanilla interpolation
+    }
+
+    // Below this interval, vanilla interpolation is already smooth
+    private static final int MIN_PREDICTION_INTERVAL = 4;
+    // Above this interval (bot out of range for a while), samples are not comparable
+    private static final int MAX_PREDICTION_INTERVAL = 60;
+    static final int CORRECTION_STEPS = 3;
+    private static final double MAX_ERROR = 4.0;
+    // Blocks per tick: sprinting is ~0.28, knockback can be faster (then snapped)
+    private static final double MAX_SPEED = 0.6;
+    // Client tick jitter tolerated before the prediction is held
+    private static final int STOP_SLACK_TICKS = 2;
+    // Missed intervals before a bot without updates is considered stopped
+    private static final int STOP_MISSED_INTERVALS = 3;
+
+    private static final int LEADER_SEARCH_INTERVAL = 20;
+    private static final double LEADER_SEARCH_RANGE = 48.0;
+
+    // Last server sample
+    private boolean hasSample = false;
+    private double serverX, serverY, serverZ;
+    private int serverTick;
+    private int interval;
+    private double velX, velY, velZ;
+    private boolean predicting = false;
+
+    // Leader (resolved on the client from the synced leader UUID)
+    private Entity leader;
+    private int nextLeaderSearch = 0;
+    private double leaderStartX, leaderStartY, leaderStartZ;
+
+    // Lerp target and motion per tick for the current tick
+    private double targetX, targetY, targetZ;
+    private double motionX, motionY, motionZ;
+
+    /**
+     * New server position
+     *
+     * @param ticksSinceUpdate Client ticks since the previous update
+     * @return How BotEntity should interpolate towards it
+     */
+    Mode onServerUpdate(BotEntity bot, double x, double y, double z, int ticksSinceUpdate, boolean teleport) {
+        boolean comparable = hasSample && !teleport
+            && ticksSinceUpdate >= MIN_PREDICTION_INTERVAL && ticksSinceUpdate <= MAX_PREDICTION_INTERVAL;
+
+        Mode mode = Mode.INTERPOLATE;
+        if (comparable) {
+            // Error of the running prediction, measured before it is replaced
+            boolean withinError = true;
+            if (predicting) {
+                predict(bot, ticksSinceUpdate);
+                double dx = x - targetX;
+                double dy = y - targetY;
+                double dz = z - targetZ;
+                withinError = dx * dx + dy * dy + dz * dz <= MAX_ERROR * MAX_ERROR;
+            }
+
+            velX = clampSpeed((x - serverX) / ticksSinceUpdate);
+            velY = clampSpeed((y - serverY) / ticksSinceUpdate);
+            velZ = clampSpeed((z - serverZ) / ticksSinceUpdate);
+            mode = withinError ? Mode.PREDICT : Mode.SNAP;
+        } else {
+            velX = 0.0;
+            velY = 0.0;
+            velZ = 0.0;
+        }
+
+        hasSample = true;
+        serverX = x;
+        serverY = y;
+        serverZ = z;
+        serverTick = bot.tickCount;
+        interval = ticksSinceUpdate;
+        predicting = mode == Mode.PREDICT;
+
+        if (predicting) {
+            Entity currentLeader = resolveLeader(bot);
+            if (currentLeader != null) {
+                leaderStartX = currentLeader.getX();
+                leaderStartY = currentLeader.getY();
+                leaderStartZ = currentLeader.getZ();
+            }
+        }
+        return mode;
+    }
+
+    /**
+     * Client tick: compute the lerp target
+     * @return false if the bot is not predicted (vanilla interpolation keeps running)
+     */
+    boolean tick(BotEntity bot) {
+        if (!predicting) {
+            return false;
+        }
+
+        predict(bot, bot.tickCount - serverTick);
+
+        // Aim ahead so the CORRECTION_STEPS lerp does not trail the prediction
+        int lead = CORRECTION_STEPS - 1;
+        targetX += motionX * lead;
+        targetY += motionY * lead;
+        targetZ += motionZ * lead;
+        return true;
+    }
+
+    /**
+     * Predicted server position after elapsed ticks, stored in target
+     * Motion is the current movement per tick (zero while the prediction is held)
+     */
+    private void predict(BotEntity bot, int elapsed) {
+        if (elapsed > Math.max(interval * STOP_MISSED_INTERVALS, MAX_PREDICTION_INTERVAL)) {
+            // No update for several intervals: the bot stopped at (or near) its last server position
+            targetX = serverX;
+            targetY = serverY;
+            targetZ = serverZ;
+            setMotion(0.0, 0.0, 0.0);
+            return;
+        }
+
+        // Update late or cadence slowed down: hold the prediction at the expected update time
+        boolean held = elapsed > interval + STOP_SLACK_TICKS;
+        if (held) {
+            elapsed = interval + STOP_SLACK_TICKS;
+        }
+
+        Entity currentLeader = bot.isFollowingLeader() ? resolveLeader(bot) : null;
+        if (currentLeader != null) {
+            // Followers move with their leader, capped to what the bot could walk
+            double dx = currentLeader.getX() - leaderStartX;
+            double dy = currentLeader.getY() - leaderStartY;
+            double dz = currentLeader.getZ() - leaderStartZ;
+            double max = MAX_SPEED * elapsed;
+            double lengthSqr = dx * dx + dy * dy + dz * dz;
+            if (lengthSqr > max * max) {
+                double scale = max / Math.sqrt(lengthSqr);
+                dx *= scale;
+                dy *= scale;
+                dz *= scale;
+            }
+            targetX = serverX + dx;
+            targetY = serverY + dy;
+            targetZ = serverZ + dz;
+            setMotion(currentLeader.getX() - currentLeader.xo,
+                currentLeader.getY() - currentLeader.yo, currentLeader.getZ() - currentLeader.zo);
+        } else {
+            targetX = serverX + velX * elapsed;
+            targetY = serverY + velY * elapsed;
+            targetZ = serverZ + velZ * elapsed;
+            setMotion(velX, velY, velZ);
+        }
+
+        if (held) {
+            setMotion(0.0, 0.0, 0.0);
+        }
+    }
+
+    private void setMotion(double x, double y, double z) {
+        motionX = x;
+        motionY = y;
+        motionZ = z;
+    }
+
+    /**
+     * Leader entity on the client, searched around the bot at most once per second
+     */
+    private Entity resolveLeader(BotEntity bot) {
+        UUID leaderId = bot.getLeaderId();
+        if (leaderId == null) {
+            leader = null;
+            return null;
+        }
+        if (leader != null && !leader.isRemoved() && leaderId.equals(leader.getUUID())) {
+            return leader;
+        }
+
+        leader = null;
+        if (bot.tickCount < nextLeaderSearch) {
+            return null;
+        }
+        nextLeaderSearch = bot.tickCount + LEADER_SEARCH_INTERVAL;
+
+        Entity found = bot.level().getPlayerByUUID(leaderId);
+        if (found == null) {
+            AABB area = bot.getBoundingBox().inflate(LEADER_SEARCH_RANGE);
+            List<Entity> candidates = bot.level().getEntities(bot, area, entity -> leaderId.equals(entity.getUUID()));
+            found = candidates.isEmpty() ? null : candidates.get(0);
+        }
+        if (found != null) {
+            // Found mid-interval: its displacement counts from now
+            leader = found;
+            leaderStartX = found.getX();
+            leaderStartY = found.getY();
+            leaderStartZ = found.getZ();
+        }
+        return found;
+    }
+
+    private static double clampSpeed(double velocity) {
+        return Math.max(-MAX_SPEED, Math.min(MAX_SPEED, velocity));
+    }
+
+    double getTargetX() {
+        return targetX;
+    }
+
+    double getTargetY() {
+        return targetY;
+    }
+
+    double getTargetZ() {
+        return targetZ;
+    }
+}
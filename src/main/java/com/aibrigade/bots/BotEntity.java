@@ -4,6 +4,8 @@ import com.aibrigade.ai.RealisticFollowLeaderGoal;
 import com.aibrigade.ai.ActiveGazeBehavior;
 import com.aibrigade.ai.TeamAwareAttackGoal;
 import com.aibrigade.ai.SprintingMeleeAttackGoal;
+import com.aibrigade.network.ClientGroupStates;
+import com.aibrigade.network.ClientSkinCache;
 import net.minecraft.world.entity.PathfinderMob;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.ai.attributes.AttributeSupplier;
@@ -17,6 +19,9 @@ import net.minecraft.network.syncher.SynchedEntityData;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.entity.EquipmentSlot;
 import net.minecraft.core.BlockPos;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import org.jetbrains.annotations.Nullable;
 // GeckoLib animations will be added when dependency is resolved
 // import software.bernie.geckolib.animatable.GeoEntity;
@@ -83,10 +88,21 @@ public class BotEntity extends PathfinderMob {
         SynchedEntityData.defineId(BotEntity.class, EntityDataSerializers.OPTIONAL_UUID);
     private static final EntityDataAccessor<Boolean> CAN_PLACE_BLOCKS =
         SynchedEntityData.defineId(BotEntity.class, EntityDataSerializers.BOOLEAN);
-    private static final EntityDataAccessor<String> SKIN_TEXTURE_VALUE =
-        SynchedEntityData.defineId(BotEntity.class, EntityDataSerializers.STRING);
-    private static final EntityDataAccessor<String> SKIN_TEXTURE_SIGNATURE =
-        SynchedEntityData.defineId(BotEntity.class, EntityDataSerializers.STRING);
+    // NETWORK: compact skin id, the texture value is sent once per connection (SkinDictionary)
+    private static final EntityDataAccessor<Integer> SKIN_ID =
+        SynchedEntityData.defineId(BotEntity.class, EntityDataSerializers.INT);
+    // NETWORK: group-level state (BotGroupStates), bit set = this bot's own value is synced
+    private static final EntityDataAccessor<Integer> STATE_OVERRIDES =
+        SynchedEntityData.defineId(BotEntity.class, EntityDataSerializers.INT);
+    private static final EntityDataAccessor<java.util.Optional<UUID>> LEADER_ID =
+        SynchedEntityData.defineId(BotEntity.class, EntityDataSerializers.OPTIONAL_UUID);
+
+    private static final int OVERRIDE_BEHAVIOR = 1;
+    private static final int OVERRIDE_STATIC = 1 << 1;
+    private static final int OVERRIDE_FOLLOW_RADIUS = 1 << 2;
+    private static final int OVERRIDE_HOSTILE = 1 << 3;
+    private static final int OVERRIDE_FOLLOWING_LEADER = 1 << 4;
+    private static final int OVERRIDE_LEADER = 1 << 5;
 
     // Bot properties
     private UUID leaderId; // UUID of the leader (player or bot)
@@ -96,6 +112,27 @@ public class BotEntity extends PathfinderMob {
     private BotRole role;
     private long spawnTime;
 
+    // Skin textures (server only - clients get the value through the skin id)
+    private String skinTextureValue = "";
+    private String skinTextureSignature = "";
+
+    // Group-level state (server values - clients inherit the group state unless overridden)
+    private String behaviorType = "idle";
+    private boolean staticMode = false;
+    private float followRadius = 10.0f;
+    private boolean hostile = false;
+    private boolean followingLeader = false;
+    private int stateSyncVersion = -1; // -1 = overrides must be recomputed
+
+    // Client: tick of the last movement update, for interpolation (see lerpTo)
+    private static final int MAX_INTERPOLATION_STEPS = 40;
+    private int lastServerUpdateTick;
+    // Client: prediction between sparse movement updates (created on the first update)
+    private BotDeadReckoning deadReckoning;
+
+    // Beyond the tracking range (8 chunks), players get the skin when they start tracking
+    private static final double SKIN_DEFINITION_RANGE = 160.0;
+
     // Behavior configuration
     private BotBehaviorConfig behaviorConfig;
 
@@ -111,6 +148,18 @@ public class BotEntity extends PathfinderMob {
      * @param level The world/level
      */
     public BotEntity(EntityType<? extends PathfinderMob> entityType, Level level) {
+        this(entityType, level, true);
+    }
+
+    /**
+     * Constructor for BotEntity
+     *
+     * @param entityType The entity type
+     * @param level The world/level
+     * @param randomizeAppearance false when the caller sets skin and equipment itself
+     *                            (SpawnTemplate), to skip the random setup
+     */
+    public BotEntity(EntityType<? extends PathfinderMob> entityType, Level level, boolean randomizeAppearance) {
         super(entityType, level);
         this.aiState = BotAIState.IDLE;
         this.role = BotRole.SOLDIER;
@@ -123,7 +172,7 @@ public class BotEntity extends PathfinderMob {
         // Equipment is managed directly by Minecraft's LivingEntity system
 
         // Apply random Mojang skin and equipment
-        if (!level.isClientSide) {
+        if (!level.isClientSide && randomizeAppearance) {
             // Appliquer un skin Mojang aléatoire avec vrai UUID
             MojangSkinFetcher.applyRandomFamousSkin(this);
 
@@ -149,8 +198,9 @@ public class BotEntity extends PathfinderMob {
         this.entityData.define(IS_FOLLOWING_LEADER, false);
         this.entityData.define(PLAYER_UUID, java.util.Optional.empty());
         this.entityData.define(CAN_PLACE_BLOCKS, true);
-        this.entityData.define(SKIN_TEXTURE_VALUE, "");
-        this.entityData.define(SKIN_TEXTURE_SIGNATURE, "");
+        this.entityData.define(SKIN_ID, 0);
+        this.entityData.define(STATE_OVERRIDES, 0);
+        this.entityData.define(LEADER_ID, java.util.Optional.empty());
     }
 
     /**
@@ -213,11 +263,27 @@ public class BotEntity extends PathfinderMob {
      */
     @Override
     public void tick() {
+        if (this.level().isClientSide) {
+            // Sparse movement updates: steer the interpolation towards the predicted position
+            applyDeadReckoning();
+
+            // CLIENT PERFORMANCE: distant bots only follow the server position
+            if (BotClientOptimizer.useLightweightTick(this)) {
+                clientLightweightTick();
+                return;
+            }
+        }
+
         // Always call super.tick() for essential entity updates
         super.tick();
 
         // Server-side only logic
         if (!this.level().isClientSide) {
+            // Network: values differing from the group state are synced per bot
+            if (this.stateSyncVersion != BotGroupStates.getVersion()) {
+                syncStateOverrides();
+            }
+
             // Performance optimization: only update AI based on distance from players
             int tickCount = this.tickCount;
 
@@ -226,6 +292,98 @@ public class BotEntity extends PathfinderMob {
                 // Update AI state when appropriate
                 updateAIState();
             }
+
+            // Network: movement sync cadence from the distance to players
+            BotTrackingCadence.update(this);
+        }
+    }
+
+    /**
+     * Client: interpolate over the interval between server updates
+     * Vanilla always uses 3 steps, so bots synced every 10-40 ticks would jump then stop.
+     * Once two sparse updates are known, dead reckoning takes over (BotDeadReckoning):
+     * the bot keeps moving between updates and each update only corrects the error.
+     */
+    @Override
+    public void lerpTo(double x, double y, double z, float yRot, float xRot, int steps, boolean teleport) {
+        if (this.level().isClientSide) {
+            if (x == this.getX() && y == this.getY() && z == this.getZ()) {
+                // Rotation-only move packet: it carries the current client position, not a server
+                // sample. Keep the running position interpolation, only retarget the rotation.
+                if (this.lerpSteps > 0) {
+                    super.lerpTo(this.lerpX, this.lerpY, this.lerpZ, yRot, xRot, this.lerpSteps, teleport);
+                    return;
+                }
+                super.lerpTo(x, y, z, yRot, xRot, steps, teleport);
+                return;
+            }
+
+            int ticksSinceUpdate = this.tickCount - this.lastServerUpdateTick;
+            this.lastServerUpdateTick = this.tickCount;
+
+            if (this.deadReckoning == null) {
+                this.deadReckoning = new BotDeadReckoning();
+            }
+            switch (this.deadReckoning.onServerUpdate(this, x, y, z, ticksSinceUpdate, teleport)) {
+                case PREDICT -> steps = BotDeadReckoning.CORRECTION_STEPS;
+                case INTERPOLATE -> {
+                    if (ticksSinceUpdate > steps && ticksSinceUpdate <= MAX_INTERPOLATION_STEPS) {
+                        steps = ticksSinceUpdate;
+                    }
+                }
+                case SNAP -> {
+                    // Prediction was off: catch up with vanilla steps
+                }
+            }
+        }
+        super.lerpTo(x, y, z, yRot, xRot, steps, teleport);
+    }
+
+    /**
+     * Client: move the interpolation target to the predicted position
+     * Rotation keeps interpolating towards the last server rotation.
+     */
+    private void applyDeadReckoning() {
+        if (this.deadReckoning != null && this.deadReckoning.tick(this)) {
+            this.lerpX = this.deadReckoning.getTargetX();
+            this.lerpY = this.deadReckoning.getTargetY();
+            this.lerpZ = this.deadReckoning.getTargetZ();
+            this.lerpSteps = BotDeadReckoning.CORRECTION_STEPS;
+        }
+    }
+
+    /**
+     * Client tick of a distant bot: interpolation towards the server position only
+     * Skips the vanilla baseTick / aiStep work (fluids, fire, particles, effects,
+     * walk animation, head turn, entity pushing) - the bot is drawn as an impostor.
+     * Old positions and tickCount are already advanced by the client level.
+     */
+    private void clientLightweightTick() {
+        this.yBodyRotO = this.yBodyRot;
+        this.yHeadRotO = this.yHeadRot;
+
+        if (this.lerpSteps > 0) {
+            double x = this.getX() + (this.lerpX - this.getX()) / this.lerpSteps;
+            double y = this.getY() + (this.lerpY - this.getY()) / this.lerpSteps;
+            double z = this.getZ() + (this.lerpZ - this.getZ()) / this.lerpSteps;
+            this.setYRot(this.getYRot() + (float) net.minecraft.util.Mth.wrapDegrees(this.lerpYRot - this.getYRot()) / this.lerpSteps);
+            this.setXRot(this.getXRot() + (float) (this.lerpXRot - this.getXRot()) / this.lerpSteps);
+            this.lerpSteps--;
+            this.setPos(x, y, z);
+        }
+
+        if (this.lerpHeadSteps > 0) {
+            this.yHeadRot += (float) net.minecraft.util.Mth.wrapDegrees(this.lyHeadRot - this.yHeadRot) / this.lerpHeadSteps;
+            this.lerpHeadSteps--;
+        }
+        this.yBodyRot = this.getYRot();
+
+        // Timers still run, so a bot coming closer is not stuck red or mid-death
+        if (this.hurtTime > 0) {
+            this.hurtTime--;
+        }
+        if (this.isDeadOrDying() && this.deathTime < 20) {
+            this.deathTime++;
         }
     }
 
@@ -321,14 +479,20 @@ public class BotEntity extends PathfinderMob {
      */
     public void setBotGroup(String group) {
         this.entityData.set(BOT_GROUP, group);
+        this.stateSyncVersion = -1; // Inherits from another group now
     }
 
     /**
      * Get the bot's behavior type
+     * Client: the group state unless this bot overrides it
      * @return The behavior type (raid, patrol, guard, etc.)
      */
     public String getBehaviorType() {
-        return this.entityData.get(BEHAVIOR_TYPE);
+        if (this.level().isClientSide) {
+            return hasStateOverride(OVERRIDE_BEHAVIOR)
+                ? this.entityData.get(BEHAVIOR_TYPE) : ClientGroupStates.get(getBotGroup()).behaviorType();
+        }
+        return behaviorType;
     }
 
     /**
@@ -336,7 +500,8 @@ public class BotEntity extends PathfinderMob {
      * @param behavior The new behavior type
      */
     public void setBehaviorType(String behavior) {
-        this.entityData.set(BEHAVIOR_TYPE, behavior);
+        this.behaviorType = behavior;
+        this.stateSyncVersion = -1;
     }
 
     /**
@@ -344,7 +509,11 @@ public class BotEntity extends PathfinderMob {
      * @return true if static, false if mobile
      */
     public boolean isStatic() {
-        return this.entityData.get(IS_STATIC);
+        if (this.level().isClientSide) {
+            return hasStateOverride(OVERRIDE_STATIC)
+                ? this.entityData.get(IS_STATIC) : ClientGroupStates.get(getBotGroup()).isStatic();
+        }
+        return staticMode;
     }
 
     /**
@@ -352,7 +521,8 @@ public class BotEntity extends PathfinderMob {
      * @param isStatic true for static, false for mobile
      */
     public void setStatic(boolean isStatic) {
-        this.entityData.set(IS_STATIC, isStatic);
+        this.staticMode = isStatic;
+        this.stateSyncVersion = -1;
     }
 
     /**
@@ -360,7 +530,11 @@ public class BotEntity extends PathfinderMob {
      * @return The radius in blocks
      */
     public float getFollowRadius() {
-        return this.entityData.get(FOLLOW_RADIUS);
+        if (this.level().isClientSide) {
+            return hasStateOverride(OVERRIDE_FOLLOW_RADIUS)
+                ? this.entityData.get(FOLLOW_RADIUS) : ClientGroupStates.get(getBotGroup()).followRadius();
+        }
+        return followRadius;
     }
 
     /**
@@ -368,7 +542,8 @@ public class BotEntity extends PathfinderMob {
      * @param radius The radius in blocks
      */
     public void setFollowRadius(float radius) {
-        this.entityData.set(FOLLOW_RADIUS, radius);
+        this.followRadius = radius;
+        this.stateSyncVersion = -1;
     }
 
     /**
@@ -376,7 +551,11 @@ public class BotEntity extends PathfinderMob {
      * @return true if hostile
      */
     public boolean isHostile() {
-        return this.entityData.get(IS_HOSTILE);
+        if (this.level().isClientSide) {
+            return hasStateOverride(OVERRIDE_HOSTILE)
+                ? this.entityData.get(IS_HOSTILE) : ClientGroupStates.get(getBotGroup()).hostile();
+        }
+        return hostile;
     }
 
     /**
@@ -384,7 +563,8 @@ public class BotEntity extends PathfinderMob {
      * @param hostile true to enable hostile mode
      */
     public void setHostile(boolean hostile) {
-        this.entityData.set(IS_HOSTILE, hostile);
+        this.hostile = hostile;
+        this.stateSyncVersion = -1;
     }
 
     /**
@@ -392,7 +572,11 @@ public class BotEntity extends PathfinderMob {
      * @return true if following leader
      */
     public boolean isFollowingLeader() {
-        return this.entityData.get(IS_FOLLOWING_LEADER);
+        if (this.level().isClientSide) {
+            return hasStateOverride(OVERRIDE_FOLLOWING_LEADER)
+                ? this.entityData.get(IS_FOLLOWING_LEADER) : ClientGroupStates.get(getBotGroup()).followingLeader();
+        }
+        return followingLeader;
     }
 
     /**
@@ -400,7 +584,50 @@ public class BotEntity extends PathfinderMob {
      * @param following true to enable following
      */
     public void setFollowingLeader(boolean following) {
-        this.entityData.set(IS_FOLLOWING_LEADER, following);
+        this.followingLeader = following;
+        this.stateSyncVersion = -1;
+    }
+
+    private boolean hasStateOverride(int bit) {
+        return (this.entityData.get(STATE_OVERRIDES) & bit) != 0;
+    }
+
+    /**
+     * Server: sync only the values that differ from the group state
+     * Runs on the next tick after a setter or a group change, so a group command that
+     * updates BotGroupStates and then every member leaves no override (and no packet).
+     */
+    private void syncStateOverrides() {
+        BotGroupState group = BotGroupStates.get(getBotGroup());
+        int overrides = 0;
+
+        if (!behaviorType.equals(group.behaviorType())) {
+            this.entityData.set(BEHAVIOR_TYPE, behaviorType);
+            overrides |= OVERRIDE_BEHAVIOR;
+        }
+        if (staticMode != group.isStatic()) {
+            this.entityData.set(IS_STATIC, staticMode);
+            overrides |= OVERRIDE_STATIC;
+        }
+        if (followRadius != group.followRadius()) {
+            this.entityData.set(FOLLOW_RADIUS, followRadius);
+            overrides |= OVERRIDE_FOLLOW_RADIUS;
+        }
+        if (hostile != group.hostile()) {
+            this.entityData.set(IS_HOSTILE, hostile);
+            overrides |= OVERRIDE_HOSTILE;
+        }
+        if (followingLeader != group.followingLeader()) {
+            this.entityData.set(IS_FOLLOWING_LEADER, followingLeader);
+            overrides |= OVERRIDE_FOLLOWING_LEADER;
+        }
+        if (!java.util.Objects.equals(leaderId, group.leaderId())) {
+            this.entityData.set(LEADER_ID, java.util.Optional.ofNullable(leaderId));
+            overrides |= OVERRIDE_LEADER;
+        }
+
+        this.entityData.set(STATE_OVERRIDES, overrides);
+        this.stateSyncVersion = BotGroupStates.getVersion();
     }
 
     /**
@@ -417,6 +644,10 @@ public class BotEntity extends PathfinderMob {
      */
     @Nullable
     public UUID getLeaderId() {
+        if (this.level().isClientSide) {
+            return hasStateOverride(OVERRIDE_LEADER)
+                ? this.entityData.get(LEADER_ID).orElse(null) : ClientGroupStates.get(getBotGroup()).leaderId();
+        }
         return leaderId;
     }
 
@@ -426,6 +657,7 @@ public class BotEntity extends PathfinderMob {
      */
     public void setLeaderId(@Nullable UUID leaderId) {
         this.leaderId = leaderId;
+        this.stateSyncVersion = -1;
     }
 
     /**
@@ -520,36 +752,60 @@ public class BotEntity extends PathfinderMob {
 
     /**
      * Get the skin texture value (Base64 encoded texture data)
+     * Client: resolved from the synced skin id, empty until its definition is received
      * @return The texture value, or empty string if not set
      */
     public String getSkinTextureValue() {
-        return this.entityData.get(SKIN_TEXTURE_VALUE);
+        if (this.level().isClientSide) {
+            return ClientSkinCache.getValue(this.entityData.get(SKIN_ID));
+        }
+        return skinTextureValue;
     }
 
     /**
-     * Set the skin texture value (Base64 encoded texture data)
-     * Synchronized across client and server
-     * @param value The texture value
+     * Get the skin texture signature (server only, not synced)
+     * @return The texture signature, or empty string if not set
      */
-    public void setSkinTextureValue(String value) {
-        this.entityData.set(SKIN_TEXTURE_VALUE, value != null ? value : "");
+    public String getSkinTextureSignature() {
+        return skinTextureSignature;
     }
 
     /**
-     * Get the skin texture signature
-     * @return The texture signature, or empty string if not set
+     * Set the skin textures
+     * Synchronized to clients as a skin id, definitions sent to nearby players first
+     * @param value The texture value
+     * @param signature The texture signature
      */
-    public String getSkinTextureSignature() {
-        return this.entityData.get(SKIN_TEXTURE_SIGNATURE);
+    public void setSkinTextures(String value, String signature) {
+        MinecraftServer server = this.getServer();
+        if (!this.level().isClientSide && server != null && !server.isSameThread()) {
+            // Async skin lookups: entity data and packets on the server thread
+            server.execute(() -> setSkinTextures(value, signature));
+            return;
+        }
+
+        this.skinTextureValue = value != null ? value : "";
+        this.skinTextureSignature = signature != null ? signature : "";
+
+        if (this.level() instanceof ServerLevel serverLevel) {
+            int skinId = SkinDictionary.idFor(this.skinTextureValue);
+            // Players already tracking this bot need the definition before the id update
+            for (ServerPlayer player : serverLevel.players()) {
+                if (player.distanceToSqr(this) < SKIN_DEFINITION_RANGE * SKIN_DEFINITION_RANGE) {
+                    SkinDictionary.ensureSent(player, skinId);
+                }
+            }
+            this.entityData.set(SKIN_ID, skinId);
+        }
     }
 
     /**
-     * Set the skin texture signature
-     * Synchronized across client and server
-     * @param signature The texture signature
+     * A player starts tracking this bot: make sure its client knows the skin
      */
-    public void setSkinTextureSignature(String signature) {
-        this.entityData.set(SKIN_TEXTURE_SIGNATURE, signature != null ? signature : "");
+    @Override
+    public void startSeenByPlayer(ServerPlayer player) {
+        super.startSeenByPlayer(player);
+        SkinDictionary.ensureSent(player, this.entityData.get(SKIN_ID));
     }
 
     /**
@@ -695,7 +951,7 @@ public class BotEntity extends PathfinderMob {
             tag.putUUID("PlayerUUID", playerUUID);
         }
 
-        // Save skin textures (from synced data)
+        // Save skin textures
         tag.putString("SkinTextureValue", getSkinTextureValue());
         tag.putString("SkinTextureSignature", getSkinTextureSignature());
 
@@ -759,12 +1015,9 @@ public class BotEntity extends PathfinderMob {
             setPlayerUUID(tag.getUUID("PlayerUUID"));
         }
 
-        // Load skin textures (into synced data)
+        // Load skin textures (synced as a skin id)
         if (tag.contains("SkinTextureValue")) {
-            setSkinTextureValue(tag.getString("SkinTextureValue"));
-        }
-        if (tag.contains("SkinTextureSignature")) {
-            setSkinTextureSignature(tag.getString("SkinTextureSignature"));
+            setSkinTextures(tag.getString("SkinTextureValue"), tag.getString("SkinTextureSignature"));
         }
 
         // Load building toggle (into synced data)
@@ -808,6 +1061,16 @@ public class BotEntity extends PathfinderMob {
         return true;
     }
 
+    /**
+     * Render up to the impostor range (vanilla stops at 64 blocks for this size)
+     * Distant bots are drawn as cheap sprites, see BotClientOptimizer
+     */
+    @Override
+    public boolean shouldRenderAtSqrDistance(double distanceSqr) {
+        double range = BotClientOptimizer.RENDER_DISTANCE * getViewScale();
+        return distanceSqr < range * range;
+    }
+
     /**
      * Prevent bots from despawning when player is far away
      */
@@ -882,6 +1145,22 @@ public class BotEntity extends PathfinderMob {
     }
     */
 
+    /**
+     * Called when the bot is added to a level (fresh spawn or chunk load)
+     * Re-attaches bots restored from chunk data to BotManager and their group
+     */
+    @Override
+    public void onAddedToWorld() {
+        super.onAddedToWorld();
+
+        if (!this.level().isClientSide) {
+            BotManager botManager = com.aibrigade.main.AIBrigadeMod.getBotManager();
+            if (botManager != null) {
+                botManager.onBotLoaded(this);
+            }
+        }
+    }
+
     /**
      * Called when the bot is removed from the world
      * Handles all cleanup: UUID release and BotManager cleanup
@@ -0,0 +1,41 @@
+package com.aibrigade.bots;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * BotGroupState - Group-wide values of the group-level bot state
+ *
+ * Bots inherit these values unless they override them (see BotEntity state overrides).
+ * DEFAULT matches the values defined in BotEntity#defineSynchedData.
+ */
+public record BotGroupState(String behaviorType, boolean isStatic, float followRadius,
+                            boolean hostile, boolean followingLeader, @Nullable UUID leaderId) {
+
+    public static final BotGroupState DEFAULT = new BotGroupState("idle", false, 10.0f, false, false, null);
+
+    public BotGroupState withBehaviorType(String behaviorType) {
+        return new BotGroupState(behaviorType, isStatic, followRadius, hostile, followingLeader, leaderId);
+    }
+
+    public BotGroupState withStatic(boolean isStatic) {
+        return new BotGroupState(behaviorType, isStatic, followRadius, hostile, followingLeader, leaderId);
+    }
+
+    public BotGroupState withFollowRadius(float followRadius) {
+        return new BotGroupState(behaviorType, isStatic, followRadius, hostile, followingLeader, leaderId);
+    }
+
+    public BotGroupState withHostile(boolean hostile) {
+        return new BotGroupState(behaviorType, isStatic, followRadius, hostile, followingLeader, leaderId);
+    }
+
+    public BotGroupState withFollowingLeader(boolean followingLeader) {
+        return new BotGroupState(behaviorType, isStatic, followRadius, hostile, followingLeader, leaderId);
+    }
+
+    public BotGroupState withLeaderId(@Nullable UUID leaderId) {
+        return new BotGroupState(behaviorType, isStatic, followRadius, hostile, followingLeader, leaderId);
+    }
+}
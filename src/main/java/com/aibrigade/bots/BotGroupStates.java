@@ -0,0 +1,95 @@
+package com.aibrigade.bots;
+
+import com.aibrigade.network.AIBrigadeNetwork;
+import com.aibrigade.network.GroupStatePacket;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * BotGroupStates - Server side group state table, mirrored on every client
+ *
+ * Group commands (behavior, radius, static, follow leader, leader, hostility) change the
+ * group state first: one GroupStatePacket to every player instead of one entity
+ * data packet per bot and per tracking player. Bots whose own value matches the
+ * group value inherit it on the client; only bots that differ sync the value
+ * through their entity data (BotEntity#syncStateOverrides).
+ *
+ * Groups without an entry use BotGroupState.DEFAULT. Changes are persisted in the
+ * state journal by BotManager#updateGroupState and restored on server start.
+ */
+public final class BotGroupStates {
+
+    private static final Map<String, BotGroupState> STATES = new ConcurrentHashMap<>();
+
+    // Bumped on every change: bots re-check their overrides on their next tick
+    private static volatile int version = 0;
+
+    // Metrics
+    private static final AtomicLong packetsSent = new AtomicLong();
+
+    private BotGroupStates() {
+    }
+
+    public static BotGroupState get(String groupName) {
+        BotGroupState state = STATES.get(groupName);
+        return state != null ? state : BotGroupState.DEFAULT;
+    }
+
+    static int getVersion() {
+        return version;
+    }
+
+    /**
+     * Change a group state and broadcast it (server thread)
+     * Callers then apply the same value to the member bots, which clears their overrides.
+     *
+     * @return false if the state did not change (nothing sent)
+     */
+    static boolean update(String groupName, UnaryOperator<BotGroupState> change) {
+        BotGroupState previous = get(groupName);
+        BotGroupState updated = change.apply(previous);
+        if (updated.equals(previous)) {
+            return false;
+        }
+
+        STATES.put(groupName, updated);
+        version++;
+        AIBrigadeNetwork.sendToAll(new GroupStatePacket(groupName, updated));
+        packetsSent.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Server start: state restored from the journal (no player connected yet)
+     */
+    static void restore(String groupName, BotGroupState state) {
+        STATES.put(groupName, state);
+        version++;
+    }
+
+    /**
+     * Player joined: send the whole table
+     */
+    public static void sendAll(ServerPlayer player) {
+        for (Map.Entry<String, BotGroupState> entry : STATES.entrySet()) {
+            AIBrigadeNetwork.sendTo(player, new GroupStatePacket(entry.getKey(), entry.getValue()));
+            packetsSent.incrementAndGet();
+        }
+    }
+
+    /**
+     * Server stopping: the next world restores its own states
+     */
+    public static void clear() {
+        STATES.clear();
+        version++;
+    }
+
+    public static String getStats() {
+        return String.format("groups=%d packetsSent=%d", STATES.size(), packetsSent.get());
+    }
+}
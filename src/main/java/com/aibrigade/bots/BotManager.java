@@ -1,11 +1,16 @@
 package com.aibrigade.bots;
 
 import com.aibrigade.main.AIBrigadeMod;
+import com.aibrigade.persistence.BotDatabase;
+import com.aibrigade.persistence.BotCheckpointFile;
+import com.aibrigade.persistence.BotStateJournal;
+import com.aibrigade.persistence.PersistenceManager;
 import com.aibrigade.registry.ModEntities;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
 import net.minecraft.core.BlockPos;
@@ -14,9 +19,10 @@ import net.minecraft.world.item.Items;
 import net.minecraft.world.item.ArmorItem;
 import net.minecraft.world.item.ArmorMaterials;
 
-import java.io.*;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
 
 /**
  * BotManager - Manages all bot entities and groups
@@ -45,8 +51,15 @@ public class BotManager {
     // Player relationships with groups (PlayerUUID -> Map<GroupName, Relationship>)
     private final Map<UUID, Map<String, TeamRelationship>> playerRelationships = new ConcurrentHashMap<>();
 
-    // Gson for JSON serialization
-    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    // Incremental store for groups, leaders and relationships (null until a world is loaded)
+    private volatile BotStateJournal stateJournal;
+
+    // Memory-mapped crash-recovery checkpoint of live bot state (null until a world is loaded)
+    private volatile BotCheckpointFile checkpointFile;
+
+    // Presets (presets.json) and their compiled spawn templates, by preset name
+    private volatile PersistenceManager presetStore;
+    private final Map<String, SpawnTemplate> spawnTemplates = new ConcurrentHashMap<>();
 
     // MAJOR FIX: Reusable Random instance to avoid allocations in hot paths
     // Used by giveArmorToBot(), giveStartingEquipment() and other methods
@@ -55,6 +68,9 @@ public class BotManager {
     // Maximum bots allowed
     private static final int MAX_BOTS = 300;
 
+    // Crash-recovery checkpoint file (world/aibrigade/)
+    private static final String CHECKPOINT_FILE = "bot_checkpoint.dat";
+
     /**
      * Constructor
      */
@@ -139,26 +155,57 @@ public class BotManager {
      */
     public int spawnBotGroup(ServerLevel level, BlockPos pos, int count, String leaderName,
                               String behavior, float radius, boolean isStatic, String groupName) {
+        return spawnBotGroup(level, pos, count, SpawnTemplate.of(leaderName, behavior, radius, isStatic), groupName);
+    }
+
+    /**
+     * Spawn multiple bots in a group from a compiled template
+     *
+     * PERFORMANCE: the template is parsed once and the leader is resolved once for the
+     * whole group (findLeaderUUID scans every player and bot); bots are created without
+     * the constructor's random skin/equipment setup and stamped from the template.
+     *
+     * @param level The world level
+     * @param pos Spawn position
+     * @param count Number of bots to spawn
+     * @param template Compiled preset (see getSpawnTemplate)
+     * @param groupName Group name
+     * @return Number of bots successfully spawned
+     */
+    public int spawnBotGroup(ServerLevel level, BlockPos pos, int count, SpawnTemplate template, String groupName) {
 
         int spawned = 0;
         int maxToSpawn = Math.min(count, MAX_BOTS - activeBots.size());
 
-        AIBrigadeMod.LOGGER.info("Spawning {} bots for group {}", maxToSpawn, groupName);
+        AIBrigadeMod.LOGGER.info("Spawning {} bots for group {} from template {}", maxToSpawn, groupName, template);
+
+        String leaderName = template.getLeaderName();
 
         // MAJOR FIX: Use putIfAbsent() for atomic check-and-put operation
         // Old: containsKey() + put() was non-atomic (race condition)
         // New: putIfAbsent() is atomic and thread-safe
-        botGroups.putIfAbsent(groupName, new BotGroup(groupName, leaderName, radius));
+        String groupLeader = leaderName != null ? leaderName : "none";
+        if (botGroups.putIfAbsent(groupName, new BotGroup(groupName, groupLeader, template.getFollowRadius())) == null) {
+            journal(BotStateJournal.Mutation.groupPut(groupName, groupLeader, template.getFollowRadius()));
+        }
+
+        // Resolved once for the whole group
+        UUID leaderId = leaderName != null ? findLeaderUUID(level, leaderName) : null;
+        EntityType<BotEntity> botType = ModEntities.BOT.get();
 
         // Spawn bots in a spread pattern
         for (int i = 0; i < maxToSpawn; i++) {
             // Calculate offset position to spread bots
             BlockPos spawnPos = calculateSpreadPosition(pos, i, count);
 
-            BotEntity bot = spawnBot(level, spawnPos, leaderName, behavior,
-                radius, isStatic, groupName);
+            BotEntity bot = new BotEntity(botType, level, false);
+            bot.setPos(spawnPos.getX(), spawnPos.getY(), spawnPos.getZ());
+            bot.setSpawnPosition(spawnPos);
+            template.applyTo(bot, groupName, leaderId, i);
 
-            if (bot != null) {
+            if (level.addFreshEntity(bot)) {
+                activeBots.put(bot.getUUID(), bot);
+                addBotToGroup(groupName, bot.getUUID());
                 spawned++;
             }
         }
@@ -167,6 +214,46 @@ public class BotManager {
         return spawned;
     }
 
+    // ==================== PRESETS ====================
+
+    /**
+     * Reload presets.json and recompile every spawn template
+     * Invalid presets are logged and skipped.
+     *
+     * @return Number of templates compiled
+     */
+    public int reloadPresets() {
+        PersistenceManager store = this.presetStore;
+        if (store == null) {
+            return 0;
+        }
+
+        Map<String, SpawnTemplate> compiled = new HashMap<>();
+        for (Map.Entry<String, JsonObject> entry : store.loadPresets().entrySet()) {
+            try {
+                compiled.put(entry.getKey().toLowerCase(Locale.ROOT), SpawnTemplate.compile(entry.getKey(), entry.getValue()));
+            } catch (RuntimeException e) {
+                AIBrigadeMod.LOGGER.warn("Skipping invalid preset '{}': {}", entry.getKey(), e.getMessage());
+            }
+        }
+
+        spawnTemplates.clear();
+        spawnTemplates.putAll(compiled);
+        AIBrigadeMod.LOGGER.info("Compiled {} spawn templates from presets", compiled.size());
+        return compiled.size();
+    }
+
+    /**
+     * Compiled template of a preset (case-insensitive), or null if unknown
+     */
+    public SpawnTemplate getSpawnTemplate(String presetName) {
+        return presetName == null ? null : spawnTemplates.get(presetName.toLowerCase(Locale.ROOT));
+    }
+
+    public Collection<SpawnTemplate> getSpawnTemplates() {
+        return Collections.unmodifiableCollection(spawnTemplates.values());
+    }
+
     /**
      * Remove a bot by UUID (command-triggered removal)
      *
@@ -196,23 +283,55 @@ public class BotManager {
         UUID botId = bot.getUUID();
 
         // Check if already cleaned (avoid double cleanup)
-        if (!activeBots.containsKey(botId)) {
+        // Identity check: a reloaded chunk may already have registered a new instance for this UUID
+        if (activeBots.get(botId) != bot) {
             return;
         }
 
         String groupName = bot.getBotGroup();
         String botName = bot.getBotName();
 
-        // Remove from group
-        removeBotFromGroup(groupName, botId);
+        // Bots unloaded with their chunk are still members of their group:
+        // they come back through onBotLoaded() when the chunk is loaded again
+        Entity.RemovalReason removalReason = bot.getRemovalReason();
+        if (removalReason == null || removalReason.shouldDestroy()) {
+            removeBotFromGroup(groupName, botId);
+
+            BotCheckpointFile checkpoint = this.checkpointFile;
+            if (checkpoint != null) {
+                checkpoint.remove(botId);
+            }
+        }
 
         // Remove from active bots
-        activeBots.remove(botId);
+        activeBots.remove(botId, bot);
 
         AIBrigadeMod.LOGGER.info("Bot {} {} (remaining: {}/{})",
             botName, reason, activeBots.size(), MAX_BOTS);
     }
 
+    /**
+     * Called when a bot entity is added to a server level
+     * Re-registers bots restored from chunk data so groups and commands see them again.
+     * Bots spawned through spawnBot() are already registered (no-op).
+     *
+     * @param bot The bot being added
+     */
+    public void onBotLoaded(BotEntity bot) {
+        if (bot == null || bot.isRemoved()) {
+            return;
+        }
+
+        // State checkpointed seconds before a crash is newer than the chunk data
+        applyRecoveredCheckpoint(bot);
+
+        // Replaces a stale instance left by a chunk unload that cleanup has not seen yet
+        BotEntity previous = activeBots.put(bot.getUUID(), bot);
+        if (previous != bot) {
+            addBotToGroup(bot.getBotGroup(), bot.getUUID());
+        }
+    }
+
     /**
      * Called when a bot is removed from the world
      * This is called automatically by BotEntity.remove()
@@ -246,6 +365,8 @@ public class BotManager {
 
         botGroups.remove(groupName);
         teamRelationships.remove(groupName);
+        journal(BotStateJournal.Mutation.groupRemove(groupName));
+        journal(BotStateJournal.Mutation.teamRelationsClear(groupName));
 
         AIBrigadeMod.LOGGER.info("Removed group {} ({} bots)", groupName, removed);
         return removed;
@@ -266,16 +387,19 @@ public class BotManager {
         }
 
         group.setLeaderName(leaderName);
+        journal(BotStateJournal.Mutation.groupPut(groupName, leaderName, group.getFollowRadius()));
 
         // MAJOR FIX: Extract HashSet allocation before loop to avoid repeated allocations
         // Update all bots in group - copy set to avoid concurrent modification
         Set<UUID> botIds = new HashSet<>(group.getBotIds());
+        UUID groupLeaderId = null;
         for (UUID botId : botIds) {
             BotEntity bot = activeBots.get(botId);
             if (bot != null) {
                 UUID leaderId = findLeaderUUID(bot.level(), leaderName);
                 if (leaderId != null) {
                     bot.setLeaderId(leaderId);
+                    groupLeaderId = leaderId;
                     AIBrigadeMod.LOGGER.info("Assigned leader {} (UUID: {}) to bot {}",
                         leaderName, leaderId, bot.getBotName());
                 } else {
@@ -285,6 +409,10 @@ public class BotManager {
             }
         }
 
+        // NETWORK: clients resolve the leader through the group state (dead reckoning)
+        UUID leaderForGroup = groupLeaderId;
+        updateGroupState(groupName, state -> state.withLeaderId(leaderForGroup));
+
         AIBrigadeMod.LOGGER.info("Assigned leader {} to group {}", leaderName, groupName);
         return true;
     }
@@ -300,6 +428,8 @@ public class BotManager {
         // Set bidirectional relationship
         teamRelationships.computeIfAbsent(group1, k -> new ConcurrentHashMap<>()).put(group2, relationship);
         teamRelationships.computeIfAbsent(group2, k -> new ConcurrentHashMap<>()).put(group1, relationship);
+        journal(BotStateJournal.Mutation.teamRelation(group1, group2, relationship.name()));
+        journal(BotStateJournal.Mutation.teamRelation(group2, group1, relationship.name()));
 
         AIBrigadeMod.LOGGER.info("Set relationship between {} and {} to {}", group1, group2, relationship);
 
@@ -390,6 +520,10 @@ public class BotManager {
             }
         }
 
+        // NETWORK: one group state packet, members matching it sync nothing
+        final boolean hostile = hasHostileRelationships;
+        updateGroupState(groupName, state -> state.withHostile(hostile));
+
         // MAJOR FIX: Extract HashSet allocation before loop to avoid repeated allocations
         // Set hostile state for all bots in the group - copy set to avoid concurrent modification
         Set<UUID> botIdsForHostile = new HashSet<>(group.getBotIds());
@@ -410,6 +544,7 @@ public class BotManager {
      */
     public void setPlayerGroupRelationship(UUID playerId, String groupName, TeamRelationship relationship) {
         playerRelationships.computeIfAbsent(playerId, k -> new ConcurrentHashMap<>()).put(groupName, relationship);
+        journal(BotStateJournal.Mutation.playerRelation(playerId.toString(), groupName, relationship.name()));
         AIBrigadeMod.LOGGER.info("Set relationship between player {} and group {} to {}",
             playerId, groupName, relationship);
 
@@ -460,12 +595,14 @@ public class BotManager {
 
             // Update group radius
             group.setFollowRadius(radius);
+            journal(BotStateJournal.Mutation.groupPut(groupName, group.getLeaderName(), radius));
 
             // MAJOR FIX: Extract HashSet allocation before loop to avoid repeated allocations
             // Set follow leader for all bots in group - copy set to avoid concurrent modification
             int count = 0;
             int activeFollowers = 0;
             int radiusFollowers = 0;
+            UUID groupLeaderId = null;
 
             Set<UUID> botUUIDs = new HashSet<>(groupBots);
             for (UUID botUUID : botUUIDs) {
@@ -479,6 +616,7 @@ public class BotManager {
                         UUID leaderId = findLeaderUUID(bot.level(), group.getLeaderName());
                         if (leaderId != null) {
                             bot.setLeaderId(leaderId);
+                            groupLeaderId = leaderId;
                             AIBrigadeMod.LOGGER.info("Bot {} now following leader {} (UUID: {})",
                                 bot.getBotName(), group.getLeaderName(), leaderId);
                         } else {
@@ -500,6 +638,12 @@ public class BotManager {
                 }
             }
 
+            // NETWORK: one group state packet, members matching it sync nothing
+            // (members sync their overrides on their next tick, after this whole loop)
+            UUID leaderForGroup = groupLeaderId;
+            updateGroupState(groupName, state -> state.withFollowingLeader(enabled)
+                .withFollowRadius(radius).withLeaderId(leaderForGroup));
+
             // Estimation des ratios pour le log
             activeFollowers = Math.round(count / 6.0f);
             radiusFollowers = count - activeFollowers;
@@ -774,9 +918,19 @@ public class BotManager {
      * Add bot to group
      */
     private void addBotToGroup(String groupName, UUID botId) {
-        BotGroup group = botGroups.computeIfAbsent(groupName,
-            name -> new BotGroup(name, "none", 10.0f));
-        group.addBot(botId);
+        BotGroup group = botGroups.get(groupName);
+        if (group == null) {
+            BotGroup created = new BotGroup(groupName, "none", 10.0f);
+            group = botGroups.putIfAbsent(groupName, created);
+            if (group == null) {
+                group = created;
+                journal(BotStateJournal.Mutation.groupPut(groupName, created.getLeaderName(), created.getFollowRadius()));
+            }
+        }
+
+        if (group.addBot(botId)) {
+            journal(BotStateJournal.Mutation.memberAdd(groupName, botId.toString()));
+        }
     }
 
     /**
@@ -786,8 +940,10 @@ public class BotManager {
         BotGroup group = botGroups.get(groupName);
         if (group != null) {
             group.removeBot(botId);
+            journal(BotStateJournal.Mutation.memberRemove(groupName, botId.toString()));
             if (group.getBotIds().isEmpty()) {
                 botGroups.remove(groupName);
+                journal(BotStateJournal.Mutation.groupRemove(groupName));
             }
         }
     }
@@ -857,49 +1013,269 @@ public class BotManager {
 
     /**
      * Load persistent data from disk
+     * Restores groups, leader names and relationships from the state journal
+     * (snapshot + replayed mutations). Bot entities are restored by Minecraft with
+     * their chunks and re-attached through onBotLoaded().
      */
     public void loadPersistentData(MinecraftServer server) {
         AIBrigadeMod.LOGGER.info("Loading AIBrigade persistent data");
 
-        // TODO: Implement JSON loading from server's world data folder
-        File dataFile = getDataFile(server);
-        if (!dataFile.exists()) {
-            AIBrigadeMod.LOGGER.info("No persistent data found, starting fresh");
-            return;
-        }
+        BotStateJournal journal = new BotStateJournal(getDataDirectory(server));
+        BotStateJournal.State state = journal.load();
 
-        try (Reader reader = new FileReader(dataFile)) {
-            // TODO: Deserialize and restore bots and groups
-            AIBrigadeMod.LOGGER.info("Persistent data loaded successfully");
-        } catch (IOException e) {
-            AIBrigadeMod.LOGGER.error("Failed to load persistent data", e);
+        botGroups.clear();
+        teamRelationships.clear();
+        playerRelationships.clear();
+        BotGroupStates.clear();
+
+        state.groups.forEach((name, groupState) -> {
+            BotGroup group = new BotGroup(name, groupState.leaderName, groupState.followRadius);
+            for (String member : groupState.members) {
+                UUID botId = parseUUID(member);
+                if (botId != null) {
+                    group.addBot(botId);
+                }
+            }
+            botGroups.put(name, group);
+
+            // Restored bots match their group state again: no per-bot overrides to sync
+            BotGroupStates.restore(name, new BotGroupState(groupState.behaviorType, groupState.isStatic,
+                groupState.stateFollowRadius, groupState.hostile, groupState.followingLeader,
+                groupState.leaderId != null ? parseUUID(groupState.leaderId) : null));
+        });
+
+        state.teamRelationships.forEach((group, relations) -> relations.forEach((other, rel) -> {
+            TeamRelationship relationship = parseRelationship(rel);
+            if (relationship != null) {
+                teamRelationships.computeIfAbsent(group, k -> new ConcurrentHashMap<>()).put(other, relationship);
+            }
+        }));
+
+        state.playerRelationships.forEach((player, relations) -> {
+            UUID playerId = parseUUID(player);
+            if (playerId == null) {
+                return;
+            }
+            relations.forEach((group, rel) -> {
+                TeamRelationship relationship = parseRelationship(rel);
+                if (relationship != null) {
+                    playerRelationships.computeIfAbsent(playerId, k -> new ConcurrentHashMap<>()).put(group, relationship);
+                }
+            });
+        });
+
+        this.stateJournal = journal;
+
+        openCheckpointFile(server);
+
+        this.presetStore = new PersistenceManager(server.getWorldPath(net.minecraft.world.level.storage.LevelResource.ROOT));
+        reloadPresets();
+
+        // Bots already loaded (spawn chunks) re-register against the restored groups
+        for (BotEntity bot : activeBots.values()) {
+            applyRecoveredCheckpoint(bot);
+            addBotToGroupSilently(bot.getBotGroup(), bot.getUUID());
         }
+
+        AIBrigadeMod.LOGGER.info("Persistent data loaded: {} groups, {} group relationships, {} player relationships",
+            botGroups.size(), teamRelationships.size(), playerRelationships.size());
     }
 
     /**
      * Save persistent data to disk
+     * Only mutations recorded since the last save are appended to the journal.
      */
     public void savePersistentData(MinecraftServer server) {
-        AIBrigadeMod.LOGGER.info("Saving AIBrigade persistent data");
+        BotStateJournal journal = this.stateJournal;
+        if (journal == null) {
+            AIBrigadeMod.LOGGER.warn("Bot state journal not initialized - nothing to save");
+            return;
+        }
+
+        int written = journal.flush();
+        if (written > 0) {
+            AIBrigadeMod.LOGGER.info("Saved AIBrigade persistent data ({} changes)", written);
+        }
+    }
+
+    /**
+     * Record that a group's leader or radius changed outside of BotManager
+     * (e.g. AIManager.setGroupRadius) so the change is persisted.
+     *
+     * @param groupName The group name
+     */
+    public void markGroupChanged(String groupName) {
+        BotGroup group = botGroups.get(groupName);
+        if (group != null) {
+            journal(BotStateJournal.Mutation.groupPut(groupName, group.getLeaderName(), group.getFollowRadius()));
+        }
+    }
+
+    /**
+     * Change the group-level bot state: one packet to every player, persisted in the journal
+     * Callers then apply the same value to the member bots (see BotGroupStates).
+     *
+     * @param groupName The group name
+     * @param change New state from the current one
+     */
+    public void updateGroupState(String groupName, UnaryOperator<BotGroupState> change) {
+        if (BotGroupStates.update(groupName, change)) {
+            BotGroupState state = BotGroupStates.get(groupName);
+            journal(BotStateJournal.Mutation.groupState(groupName, state.behaviorType(), state.isStatic(),
+                state.followRadius(), state.hostile(), state.followingLeader(),
+                state.leaderId() != null ? state.leaderId().toString() : null));
+        }
+    }
+
+    /**
+     * Record a mutation if the journal is open
+     */
+    private void journal(BotStateJournal.Mutation mutation) {
+        BotStateJournal journal = this.stateJournal;
+        if (journal != null) {
+            journal.record(mutation);
+        }
+    }
+
+    /**
+     * Add bot to group without journaling (state restored from the journal itself)
+     */
+    private void addBotToGroupSilently(String groupName, UUID botId) {
+        botGroups.computeIfAbsent(groupName, name -> new BotGroup(name, "none", 10.0f)).addBot(botId);
+    }
+
+    private static UUID parseUUID(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            AIBrigadeMod.LOGGER.warn("Invalid UUID in bot state: {}", value);
+            return null;
+        }
+    }
+
+    private static TeamRelationship parseRelationship(String value) {
+        try {
+            return TeamRelationship.valueOf(value);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            AIBrigadeMod.LOGGER.warn("Invalid relationship in bot state: {}", value);
+            return null;
+        }
+    }
 
-        File dataFile = getDataFile(server);
+    // ==================== CRASH-RECOVERY CHECKPOINT ====================
 
-        try (Writer writer = new FileWriter(dataFile)) {
-            // TODO: Serialize bots and groups to JSON
-            AIBrigadeMod.LOGGER.info("Persistent data saved successfully");
-        } catch (IOException e) {
-            AIBrigadeMod.LOGGER.error("Failed to save persistent data", e);
+    /**
+     * Open the checkpoint file of the current world (replaces the one of a previous world)
+     */
+    private void openCheckpointFile(MinecraftServer server) {
+        closeCheckpointFile();
+        try {
+            this.checkpointFile = new BotCheckpointFile(getDataDirectory(server).resolve(CHECKPOINT_FILE));
+        } catch (Exception e) {
+            AIBrigadeMod.LOGGER.error("Failed to open bot checkpoint file - crash recovery disabled", e);
         }
     }
 
     /**
-     * Get data file for persistent storage
+     * Close the checkpoint file, marking the shutdown as clean
+     * Called on server stop after everything else has been saved
      */
-    private File getDataFile(MinecraftServer server) {
-        File worldDir = server.getWorldPath(net.minecraft.world.level.storage.LevelResource.ROOT).toFile();
-        File modDataDir = new File(worldDir, "aibrigade");
-        modDataDir.mkdirs();
-        return new File(modDataDir, "bots.json");
+    public void closeCheckpointFile() {
+        BotCheckpointFile checkpoint = this.checkpointFile;
+        this.checkpointFile = null;
+        if (checkpoint != null) {
+            checkpoint.close();
+        }
+    }
+
+    /**
+     * Write the live state of every loaded bot into the checkpoint file
+     * Only changed fields are written - a few memory writes per bot, no serialization.
+     * Called from the server tick every few seconds.
+     * Bots whose state changed are reported to BotDatabase as active.
+     */
+    public void checkpointBots() {
+        BotCheckpointFile checkpoint = this.checkpointFile;
+        if (checkpoint == null) {
+            return;
+        }
+
+        // One dimension id per level instead of a ResourceLocation.toString() per bot
+        Map<Level, Integer> dimensionIds = new IdentityHashMap<>();
+
+        for (BotEntity bot : activeBots.values()) {
+            if (bot == null || bot.isRemoved()) {
+                continue;
+            }
+
+            int flags = 0;
+            if (bot.isStatic()) flags |= BotCheckpointFile.FLAG_STATIC;
+            if (bot.isHostile()) flags |= BotCheckpointFile.FLAG_HOSTILE;
+            if (bot.isFollowingLeader()) flags |= BotCheckpointFile.FLAG_FOLLOWING_LEADER;
+            if (bot.canPlaceBlocks()) flags |= BotCheckpointFile.FLAG_CAN_PLACE_BLOCKS;
+
+            int dimensionId = dimensionIds.computeIfAbsent(bot.level(),
+                level -> BotCheckpointFile.idOf(level.dimension().location().toString()));
+
+            int written = checkpoint.write(bot.getUUID(), bot.getX(), bot.getY(), bot.getZ(), bot.getHealth(), flags,
+                BotCheckpointFile.idOf(bot.getBotGroup()), dimensionId, bot.getLeaderId());
+
+            // Moved, took damage or changed state since the last pass: real activity
+            if (written > 0) {
+                BotDatabase.markActive(bot.getUUID());
+            }
+        }
+
+        checkpoint.markCheckpoint();
+    }
+
+    /**
+     * Restore the checkpointed state of a bot after a crash (once per bot)
+     */
+    private void applyRecoveredCheckpoint(BotEntity bot) {
+        BotCheckpointFile checkpoint = this.checkpointFile;
+        if (checkpoint == null || !checkpoint.hasRecoveredState()) {
+            return;
+        }
+
+        BotCheckpointFile.Record record = checkpoint.takeRecovered(bot.getUUID());
+        if (record == null) {
+            return;
+        }
+
+        // Position only makes sense in the dimension it was recorded in
+        if (record.dimensionId == BotCheckpointFile.idOf(bot.level().dimension().location().toString())) {
+            bot.moveTo(record.x, record.y, record.z, bot.getYRot(), bot.getXRot());
+        }
+        if (record.health > 0) {
+            bot.setHealth(Math.min(record.health, bot.getMaxHealth()));
+        }
+
+        bot.setStatic(record.hasFlag(BotCheckpointFile.FLAG_STATIC));
+        bot.setHostile(record.hasFlag(BotCheckpointFile.FLAG_HOSTILE));
+        bot.setFollowingLeader(record.hasFlag(BotCheckpointFile.FLAG_FOLLOWING_LEADER));
+        bot.setCanPlaceBlocks(record.hasFlag(BotCheckpointFile.FLAG_CAN_PLACE_BLOCKS));
+        bot.setLeaderId(record.leaderUUID);
+
+        // Group ids are name hashes: resolve against the known groups
+        if (record.groupId != BotCheckpointFile.idOf(bot.getBotGroup())) {
+            for (String groupName : botGroups.keySet()) {
+                if (BotCheckpointFile.idOf(groupName) == record.groupId) {
+                    removeBotFromGroup(bot.getBotGroup(), bot.getUUID());
+                    bot.setBotGroup(groupName);
+                    break;
+                }
+            }
+        }
+
+        AIBrigadeMod.LOGGER.info("Recovered checkpointed state of bot {}", bot.getBotName());
+    }
+
+    /**
+     * Get data directory for persistent storage
+     */
+    private Path getDataDirectory(MinecraftServer server) {
+        return server.getWorldPath(net.minecraft.world.level.storage.LevelResource.ROOT).resolve("aibrigade");
     }
 
     /**
@@ -980,11 +1356,11 @@ public class BotManager {
 
         /**
          * Add bot to group (thread-safe)
+         *
+         * @return true if the bot was not already a member
          */
-        public void addBot(UUID botId) {
-            if (botId != null) {
-                botIds.add(botId);
-            }
+        public boolean addBot(UUID botId) {
+            return botId != null && botIds.add(botId);
         }
 
         /**
@@ -25,6 +25,7 @@ public class BotPerformanceOptimizer {
     private static final double CLOSE_DISTANCE = 16.0; // Full updates
     private static final double MEDIUM_DISTANCE = 32.0; // Reduced updates
     private static final double FAR_DISTANCE = 200.0; // Minimal updates (augmenté de 64 à 200)
+    private static final double SYNC_FAR_DISTANCE = 64.0; // Client impostor range starts here
 
     // Tick intervals for different distances
     private static final int CLOSE_TICK_INTERVAL = 1; // Every tick
@@ -88,16 +89,24 @@ public class BotPerformanceOptimizer {
      * Reduces network traffic for distant bots
      */
     public static boolean shouldSyncToClient(BotEntity bot, int tickCount) {
+        return tickCount % getSyncInterval(bot) == 0;
+    }
+
+    /**
+     * Movement sync interval (ticks) applied to the entity tracker, see BotTrackingCadence
+     * Beyond SYNC_FAR_DISTANCE bots are impostors on the client: a position every 2s is enough
+     */
+    public static int getSyncInterval(BotEntity bot) {
         double nearestPlayerDistance = getNearestPlayerDistance(bot);
 
         if (nearestPlayerDistance < CLOSE_DISTANCE) {
-            return true; // Always sync nearby bots
+            return 1; // Always sync nearby bots
         } else if (nearestPlayerDistance < MEDIUM_DISTANCE) {
-            return tickCount % 2 == 0; // Sync every other tick
-        } else if (nearestPlayerDistance < FAR_DISTANCE) {
-            return tickCount % 10 == 0; // Sync every 0.5s
+            return 2; // Sync every other tick
+        } else if (nearestPlayerDistance < SYNC_FAR_DISTANCE) {
+            return 10; // Sync every 0.5s
         } else {
-            return tickCount % 40 == 0; // Sync every 2s
+            return 40; // Sync every 2s
         }
     }
 
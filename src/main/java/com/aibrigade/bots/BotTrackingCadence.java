@@ -0,0 +1,54 @@
+package com.aibrigade.bots;
+
+import net.minecraft.server.level.ChunkMap;
+import net.minecraft.server.level.ServerEntity;
+import net.minecraft.server.level.ServerLevel;
+
+/**
+ * BotTrackingCadence - Per-bot movement sync cadence in the server entity tracker
+ *
+ * Vanilla sends movement packets every updateInterval ticks, a value fixed per entity
+ * type. Every EVALUATION_INTERVAL ticks, each bot's interval is set from its distance
+ * to the nearest player (BotPerformanceOptimizer#getSyncInterval): every tick for
+ * nearby bots, down to every 40 ticks for distant ones. Clients stretch their
+ * interpolation to the observed interval (BotEntity#lerpTo).
+ *
+ * Forge has no per-entity hook for this: the tracker entry and its interval are opened
+ * by the access transformer (META-INF/accesstransformer.cfg).
+ */
+public final class BotTrackingCadence {
+
+    private static final int EVALUATION_INTERVAL = 20;
+
+    // Metrics
+    private static long intervalChanges = 0;
+
+    private BotTrackingCadence() {
+    }
+
+    /**
+     * Server tick of a bot: re-evaluate its sync interval (staggered, every EVALUATION_INTERVAL ticks)
+     */
+    static void update(BotEntity bot) {
+        if ((bot.tickCount + bot.getId()) % EVALUATION_INTERVAL != 0
+            || !(bot.level() instanceof ServerLevel serverLevel)) {
+            return;
+        }
+
+        ChunkMap.TrackedEntity tracked = serverLevel.getChunkSource().chunkMap.entityMap.get(bot.getId());
+        if (tracked == null) {
+            return;
+        }
+
+        ServerEntity entry = tracked.serverEntity;
+        int interval = BotPerformanceOptimizer.getSyncInterval(bot);
+        if (entry.updateInterval != interval) {
+            entry.updateInterval = interval;
+            intervalChanges++;
+        }
+    }
+
+    public static String getStats() {
+        return String.format("intervalChanges=%d", intervalChanges);
+    }
+}
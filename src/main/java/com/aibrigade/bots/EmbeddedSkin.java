@@ -0,0 +1,89 @@
+package com.aibrigade.bots;
+
+import com.mojang.authlib.GameProfile;
+import com.mojang.authlib.properties.Property;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * EmbeddedSkin - Skin PNG carried inside the texture value itself
+ *
+ * Skins from local sources have no textures.minecraft.net URL the client could download
+ * (and the client only accepts Mojang-hosted textures anyway), so the PNG travels with
+ * the bot: the synced texture value is "aibrigade:png:" + base64(png), without signature.
+ * The client renderer recognises the prefix and uploads the image itself.
+ */
+public final class EmbeddedSkin {
+
+    public static final String PREFIX = "aibrigade:png:";
+
+    // Texture values are synced as entity data strings (FriendlyByteBuf.writeUtf limit)
+    private static final int MAX_VALUE_LENGTH = 32767;
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private EmbeddedSkin() {
+    }
+
+    public static boolean isEmbedded(String textureValue) {
+        return textureValue != null && textureValue.startsWith(PREFIX);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the PNG is not a 64x64 skin or is too large to sync
+     */
+    public static String encode(byte[] png) {
+        validate(png);
+        String value = PREFIX + Base64.getEncoder().encodeToString(png);
+        if (value.length() > MAX_VALUE_LENGTH) {
+            throw new IllegalArgumentException("Skin PNG too large to sync (" + png.length + " bytes)");
+        }
+        return value;
+    }
+
+    public static byte[] decode(String textureValue) {
+        return Base64.getDecoder().decode(textureValue.substring(PREFIX.length()));
+    }
+
+    /**
+     * Profile for a local skin
+     * The UUID is derived from the image, so the same PNG always maps to the same profile.
+     */
+    public static GameProfile createProfile(String name, byte[] png) {
+        String value = encode(png);
+        String profileName = name.length() > 16 ? name.substring(0, 16) : name;
+
+        UUID uuid = UUID.nameUUIDFromBytes(("aibrigade-skin:" + value).getBytes(StandardCharsets.UTF_8));
+        GameProfile profile = new GameProfile(uuid, profileName);
+        profile.getProperties().put("textures", new Property("textures", value, null));
+        return profile;
+    }
+
+    /**
+     * Checks the PNG signature and the IHDR size (no image decoding on the server)
+     */
+    private static void validate(byte[] png) {
+        if (png.length < 24) {
+            throw new IllegalArgumentException("Not a PNG file");
+        }
+        for (int i = 0; i < PNG_SIGNATURE.length; i++) {
+            if (png[i] != PNG_SIGNATURE[i]) {
+                throw new IllegalArgumentException("Not a PNG file");
+            }
+        }
+
+        int width = readInt(png, 16);
+        int height = readInt(png, 20);
+        // Legacy 64x32 skins would need the vanilla conversion, only the modern layout is accepted
+        if (width != 64 || height != 64) {
+            throw new IllegalArgumentException("Skin must be 64x64, got " + width + "x" + height);
+        }
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return ((data[offset] & 0xFF) << 24) | ((data[offset + 1] & 0xFF) << 16)
+            | ((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF);
+    }
+}
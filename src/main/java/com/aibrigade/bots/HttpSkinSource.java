@@ -0,0 +1,85 @@
+package com.aibrigade.bots;
+
+import com.aibrigade.main.AIBrigadeMod;
+import com.mojang.authlib.GameProfile;
+
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * HttpSkinSource - PNG skins served by a local HTTP server (stand-in for the Mojang API)
+ *
+ * Same layout as LocalSkinSource, over HTTP:
+ * - GET <base>/skins.json
+ * - GET <base>/<file> for each skin
+ *
+ * Downloads run through SkinHttpClient (shared client, per-host limits), in the background:
+ * until they finish this source has no profile and the selector uses the others.
+ */
+public class HttpSkinSource extends IndexedSkinSource {
+
+    private final String baseUrl;
+
+    public HttpSkinSource(String baseUrl) {
+        super("http:" + baseUrl);
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    @Override
+    protected void startLoad() {
+        CompletableFuture<List<GameProfile>> load;
+        try {
+            load = SkinHttpClient.sendAsync(SkinHttpClient.get(URI.create(baseUrl + INDEX_FILE)))
+                .thenCompose(response -> {
+                    checkStatus(response, INDEX_FILE);
+                    return downloadAll(parseIndex(response.body()));
+                });
+        } catch (IllegalArgumentException e) {
+            loadFailed("invalid URL: " + baseUrl);
+            return;
+        }
+
+        load.whenComplete((profiles, error) -> {
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                loadFailed(cause.getClass().getSimpleName() + ": " + cause.getMessage());
+            } else {
+                loadSucceeded(profiles);
+            }
+        });
+    }
+
+    private CompletableFuture<List<GameProfile>> downloadAll(List<IndexEntry> entries) {
+        List<CompletableFuture<GameProfile>> downloads = new ArrayList<>(entries.size());
+        for (IndexEntry entry : entries) {
+            URI uri = URI.create(baseUrl).resolve(entry.file());
+            downloads.add(SkinHttpClient.sendAsync(SkinHttpClient.get(uri), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    checkStatus(response, entry.file());
+                    return toProfile(entry, response.body());
+                })
+                .exceptionally(error -> {
+                    // One missing skin does not discard the others
+                    AIBrigadeMod.LOGGER.warn("Skin source {}: could not download {} ({})", getName(), entry.file(),
+                        error.getMessage());
+                    return null;
+                }));
+        }
+
+        return CompletableFuture.allOf(downloads.toArray(new CompletableFuture[0]))
+            .thenApply(done -> downloads.stream()
+                .map(CompletableFuture::join)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    private static void checkStatus(HttpResponse<?> response, String file) {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("HTTP " + response.statusCode() + " for " + file);
+        }
+    }
+}
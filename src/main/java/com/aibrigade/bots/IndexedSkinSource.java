@@ -0,0 +1,148 @@
+package com.aibrigade.bots;
+
+import com.aibrigade.main.AIBrigadeMod;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mojang.authlib.GameProfile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * IndexedSkinSource - Base of the sources that load a fixed set of PNG skins
+ *
+ * Layout shared by LocalSkinSource and HttpSkinSource:
+ * - skins.json : index, an array of { "file": "knight.png", "name": "Knight" }
+ *                (or { "skins": [...] }); "name" defaults to the file name
+ * - the PNG files next to it
+ *
+ * Loading starts on the first request (or prewarm) and profiles are then handed out
+ * round-robin. A failed load is retried after RETRY_DELAY_MS.
+ */
+public abstract class IndexedSkinSource implements SkinSource {
+
+    protected static final String INDEX_FILE = "skins.json";
+
+    private static final long RETRY_DELAY_MS = 30_000;
+
+    /**
+     * One skin of the index
+     */
+    protected record IndexEntry(String file, String name) {
+    }
+
+    private final String name;
+    private volatile List<GameProfile> profiles = List.of();
+    private final AtomicInteger nextIndex = new AtomicInteger(0);
+
+    private final AtomicBoolean loading = new AtomicBoolean(false);
+    private volatile boolean loaded = false;
+    private volatile long nextAttemptAt = 0;
+    private volatile String lastError = null;
+
+    protected IndexedSkinSource(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public GameProfile nextProfile() {
+        ensureLoading();
+        List<GameProfile> ready = profiles;
+        if (ready.isEmpty()) {
+            return null;
+        }
+        return ready.get(Math.floorMod(nextIndex.getAndIncrement(), ready.size()));
+    }
+
+    @Override
+    public void prewarm() {
+        ensureLoading();
+    }
+
+    private void ensureLoading() {
+        if (loaded || System.currentTimeMillis() < nextAttemptAt || !loading.compareAndSet(false, true)) {
+            return;
+        }
+        startLoad();
+    }
+
+    /**
+     * Load the skins, then call loadSucceeded or loadFailed (may complete asynchronously)
+     */
+    protected abstract void startLoad();
+
+    protected void loadSucceeded(List<GameProfile> loadedProfiles) {
+        profiles = List.copyOf(loadedProfiles);
+        loaded = true;
+        lastError = null;
+        loading.set(false);
+
+        if (loadedProfiles.isEmpty()) {
+            AIBrigadeMod.LOGGER.warn("Skin source {} has no usable skins", name);
+        } else {
+            AIBrigadeMod.LOGGER.info("Skin source {} loaded {} skins", name, loadedProfiles.size());
+        }
+    }
+
+    protected void loadFailed(String reason) {
+        lastError = reason;
+        nextAttemptAt = System.currentTimeMillis() + RETRY_DELAY_MS;
+        loading.set(false);
+        AIBrigadeMod.LOGGER.error("Skin source {} failed to load: {}", name, reason);
+    }
+
+    /**
+     * Parse skins.json
+     */
+    protected static List<IndexEntry> parseIndex(String json) {
+        JsonElement root = JsonParser.parseString(json);
+        JsonArray array = root.isJsonObject() ? root.getAsJsonObject().getAsJsonArray("skins") : root.getAsJsonArray();
+
+        List<IndexEntry> entries = new ArrayList<>();
+        for (JsonElement element : array) {
+            if (element.isJsonPrimitive()) {
+                String file = element.getAsString();
+                entries.add(new IndexEntry(file, baseName(file)));
+                continue;
+            }
+            JsonObject entry = element.getAsJsonObject();
+            String file = entry.get("file").getAsString();
+            String skinName = entry.has("name") ? entry.get("name").getAsString() : baseName(file);
+            entries.add(new IndexEntry(file, skinName));
+        }
+        return entries;
+    }
+
+    /**
+     * Build the profile of one skin, or null (logged) if the PNG is unusable
+     */
+    protected GameProfile toProfile(IndexEntry entry, byte[] png) {
+        try {
+            return EmbeddedSkin.createProfile(entry.name(), png);
+        } catch (IllegalArgumentException e) {
+            AIBrigadeMod.LOGGER.warn("Skin source {}: skipping {} ({})", name, entry.file(), e.getMessage());
+            return null;
+        }
+    }
+
+    protected static String baseName(String file) {
+        String fileName = file.substring(file.lastIndexOf('/') + 1);
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    @Override
+    public String getStats() {
+        return String.format("%s(skins=%d loaded=%s%s)", name, profiles.size(), loaded,
+            lastError != null ? " error=" + lastError : "");
+    }
+}
@@ -0,0 +1,88 @@
+package com.aibrigade.bots;
+
+import com.mojang.authlib.GameProfile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LocalSkinSource - PNG skins from a local directory or a resource pack zip
+ *
+ * The skins are read from the location itself, or from assets/aibrigade/skins/
+ * inside it when that folder exists (resource pack layout). Without skins.json,
+ * every *.png file is used, named after the file.
+ *
+ * Loading is synchronous and happens once (a few KB per skin), so bots created
+ * while the world loads already get a local skin. No network is involved.
+ */
+public class LocalSkinSource extends IndexedSkinSource {
+
+    private static final String PACK_SKIN_DIR = "assets/aibrigade/skins";
+
+    private final Path location;
+
+    public LocalSkinSource(Path location) {
+        super("local:" + location);
+        this.location = location;
+    }
+
+    @Override
+    protected void startLoad() {
+        if (!Files.exists(location)) {
+            loadFailed("not found: " + location.toAbsolutePath());
+            return;
+        }
+
+        try {
+            if (Files.isRegularFile(location)) {
+                // Resource pack zip
+                try (FileSystem zip = FileSystems.newFileSystem(location)) {
+                    loadSucceeded(loadFrom(zip.getPath("/")));
+                }
+            } else {
+                loadSucceeded(loadFrom(location));
+            }
+        } catch (IOException | RuntimeException e) {
+            loadFailed(e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private List<GameProfile> loadFrom(Path root) throws IOException {
+        Path skinDir = Files.isDirectory(root.resolve(PACK_SKIN_DIR)) ? root.resolve(PACK_SKIN_DIR) : root;
+
+        List<IndexEntry> entries;
+        Path index = skinDir.resolve(INDEX_FILE);
+        if (Files.exists(index)) {
+            entries = parseIndex(Files.readString(index, StandardCharsets.UTF_8));
+        } else {
+            entries = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(skinDir, "*.png")) {
+                for (Path png : stream) {
+                    String file = png.getFileName().toString();
+                    entries.add(new IndexEntry(file, baseName(file)));
+                }
+            }
+            entries.sort((a, b) -> a.file().compareTo(b.file()));
+        }
+
+        List<GameProfile> profiles = new ArrayList<>(entries.size());
+        for (IndexEntry entry : entries) {
+            Path png = skinDir.resolve(entry.file());
+            if (!Files.isRegularFile(png)) {
+                continue;
+            }
+            GameProfile profile = toProfile(entry, Files.readAllBytes(png));
+            if (profile != null) {
+                profiles.add(profile);
+            }
+        }
+        return profiles;
+    }
+}
@@ -0,0 +1,100 @@
+package com.aibrigade.bots;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * MojangProfileLookup - ProfileLookup backed by the Mojang bulk username endpoint
+ *
+ * POST a JSON array of up to 10 names, the answer is an array of {"id", "name"}
+ * for the names that exist. Any server speaking the same format can be used
+ * instead (e.g. a local stand-in for tests), through the endpoint URL.
+ */
+public class MojangProfileLookup implements ProfileLookup {
+
+    public static final String DEFAULT_ENDPOINT = "https://api.minecraftservices.com/minecraft/profile/lookup/bulk/byname";
+
+    // Limit enforced by the Mojang endpoint
+    private static final int MAX_BATCH_SIZE = 10;
+
+    private final String endpoint;
+
+    public MojangProfileLookup() {
+        this(DEFAULT_ENDPOINT);
+    }
+
+    public MojangProfileLookup(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return MAX_BATCH_SIZE;
+    }
+
+    @Override
+    public Map<String, UUID> lookupByNames(List<String> names) throws IOException {
+        if (names.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " names per lookup, got " + names.size());
+        }
+
+        Map<String, UUID> found = new LinkedHashMap<>();
+        if (names.isEmpty()) {
+            return found;
+        }
+
+        JsonArray request = new JsonArray();
+        names.forEach(request::add);
+
+        // Shared keep-alive client, within the endpoint's concurrency limit
+        HttpResponse<String> response = SkinHttpClient.send(
+            SkinHttpClient.postJson(URI.create(endpoint), request.toString()));
+
+        int responseCode = response.statusCode();
+        if (responseCode == 204 || responseCode == 404) {
+            // None of the names exist
+            return found;
+        }
+        if (responseCode != 200) {
+            throw new IOException("HTTP " + responseCode + " from " + endpoint);
+        }
+
+        try {
+            JsonElement body = JsonParser.parseString(response.body());
+            for (JsonElement element : body.getAsJsonArray()) {
+                JsonObject profile = element.getAsJsonObject();
+                found.put(profile.get("name").getAsString(), parseUUID(profile.get("id").getAsString()));
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Malformed bulk lookup response from " + endpoint, e);
+        }
+        return found;
+    }
+
+    /**
+     * Mojang returns UUIDs without dashes
+     */
+    static UUID parseUUID(String id) {
+        if (id.indexOf('-') >= 0) {
+            return UUID.fromString(id);
+        }
+        if (id.length() != 32) {
+            throw new IllegalArgumentException("Invalid UUID: " + id);
+        }
+        return new UUID(Long.parseUnsignedLong(id.substring(0, 16), 16), Long.parseUnsignedLong(id.substring(16), 16));
+    }
+}
@@ -1,21 +1,27 @@
 package com.aibrigade.bots;
 
+import com.aibrigade.persistence.SkinProfileStore;
 import com.google.common.util.concurrent.RateLimiter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.mojang.authlib.GameProfile;
 import com.mojang.authlib.properties.Property;
-import net.minecraft.Util;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * MojangSkinFetcher - Récupère automatiquement les skins de joueurs Minecraft aléatoires
@@ -26,13 +32,16 @@ import java.util.concurrent.atomic.AtomicInteger;
  * - Récupérer les skins de joueurs réels existants
  * - Mettre en cache les résultats pour éviter trop d'appels API
  * - Créer un GameProfile complet avec les textures
+ * - Persister les caches sur disque (SkinProfileStore) : un serveur redémarré
+ *   réapplique les skins connus sans aucun appel API
  */
 public class MojangSkinFetcher {
 
     // Cache des GameProfiles pour éviter de surcharger l'API Mojang
     private static final Map<UUID, GameProfile> PROFILE_CACHE = new ConcurrentHashMap<>();
     private static final Map<UUID, Long> CACHE_TIMESTAMP = new ConcurrentHashMap<>();
-    private static final long CACHE_DURATION_MS = 3600000; // 1 heure
+    // PERFORMANCE: aligné sur le cache disque (7 jours) - les textures signées ne changent pas d'elles-mêmes
+    private static final long CACHE_DURATION_MS = SkinProfileStore.PROFILE_TTL_MS;
 
     // Rate limiter: 10 requêtes par seconde max (600/minute pour être sûr)
     private static final RateLimiter API_RATE_LIMITER = RateLimiter.create(10.0);
@@ -60,6 +69,29 @@ public class MojangSkinFetcher {
     // Cache des pseudos qui n'existent PAS (pour éviter de les retester)
     private static final Set<String> NON_EXISTENT_USERNAMES = ConcurrentHashMap.newKeySet();
 
+    // Date de résolution de chaque pseudo (positif ou négatif), clé en minuscules
+    private static final Map<String, Long> NAME_FETCHED_AT = new ConcurrentHashMap<>();
+
+    // Cache disque (null tant que loadPersistentCache n'a pas été appelé)
+    private static volatile SkinProfileStore profileStore = null;
+    private static final AtomicBoolean persistentCacheDirty = new AtomicBoolean(false);
+
+    // PERFORMANCE: single-flight - requêtes en cours, partagées par tous les appelants concurrents
+    // (un spawn de groupe demande souvent le même pseudo plusieurs fois en même temps)
+    private static final Map<String, CompletableFuture<UUID>> IN_FLIGHT_USERNAMES = new ConcurrentHashMap<>();
+    private static final Map<UUID, CompletableFuture<GameProfile>> IN_FLIGHT_PROFILES = new ConcurrentHashMap<>();
+    private static final AtomicInteger coalescedRequests = new AtomicInteger(0);
+
+    // Résolution groupée des pseudos (endpoint bulk Mojang par défaut, remplaçable par un serveur local)
+    private static volatile ProfileLookup profileLookup = new MojangProfileLookup();
+    private static final AtomicInteger bulkLookups = new AtomicInteger(0);
+
+    // PERFORMANCE: profils prêts à l'emploi - un bot qui spawn prend son skin sans attendre le réseau
+    private static final SkinProfilePool SKIN_POOL = new SkinProfilePool(32);
+
+    // Provenance des skins aléatoires (Mojang, dossier local, serveur HTTP local)
+    private static volatile SkinSourceSelector skinSources = SkinSourceSelector.mojangOnly();
+
     // MAJOR FIX: Thread-safe statistics counters (accessed from async threads)
     // Old: int counters → race conditions (lost increments)
     // New: AtomicInteger → thread-safe atomic increments
@@ -70,70 +102,91 @@ public class MojangSkinFetcher {
     /**
      * Récupère un GameProfile complet avec skin depuis l'UUID
      * Utilise le cache si disponible et valide
+     * Les appels concurrents pour le même UUID partagent une seule requête
      *
      * @param uuid L'UUID du joueur
      * @return CompletableFuture contenant le GameProfile avec textures
      */
     public static CompletableFuture<GameProfile> fetchProfileAsync(UUID uuid) {
-        return CompletableFuture.supplyAsync(() -> {
-            // Vérifier le cache
+        return singleFlight(IN_FLIGHT_PROFILES, uuid, () -> {
+            // Vérifier le cache (complété immédiatement, sans changer de thread)
             if (isCacheValid(uuid)) {
-                return PROFILE_CACHE.get(uuid);
+                return CompletableFuture.completedFuture(PROFILE_CACHE.get(uuid));
             }
 
-            try {
-                // Récupérer le profil depuis l'API Mojang
-                GameProfile profile = fetchProfileFromMojang(uuid);
-
-                // Mettre en cache
-                if (profile != null) {
-                    PROFILE_CACHE.put(uuid, profile);
-                    CACHE_TIMESTAMP.put(uuid, System.currentTimeMillis());
+            // Récupérer le profil depuis l'API Mojang
+            return fetchProfileFromMojang(uuid).handle((profile, error) -> {
+                if (error != null) {
+                    com.aibrigade.main.AIBrigadeMod.LOGGER.error("Error fetching profile for UUID {}: {}", uuid, rootMessage(error));
+                    return createFallbackProfile(uuid);
                 }
 
+                // Mettre en cache
+                PROFILE_CACHE.put(uuid, profile);
+                CACHE_TIMESTAMP.put(uuid, System.currentTimeMillis());
+                persistentCacheDirty.set(true);
                 return profile;
-            } catch (Exception e) {
-                com.aibrigade.main.AIBrigadeMod.LOGGER.error("Error fetching profile for UUID {}: {}", uuid, e.getMessage());
-                return createFallbackProfile(uuid);
-            }
-        }, Util.backgroundExecutor());
+            });
+        });
     }
 
     /**
-     * Récupère le profil depuis l'API Mojang (bloquant)
-     * Rate limited à 10 requêtes/seconde
+     * Exécute le chargement une seule fois par clé : tant qu'une requête est en cours,
+     * les appelants suivants reçoivent le même CompletableFuture (pas de double appel HTTP
+     * ni d'attente supplémentaire sur le rate limiter)
      */
-    private static GameProfile fetchProfileFromMojang(UUID uuid) throws Exception {
-        // Appliquer le rate limiting (bloque si trop rapide)
-        API_RATE_LIMITER.acquire();
-
-        String uuidString = uuid.toString().replace("-", "");
-        URL url = new URL(SESSION_SERVER_URL + uuidString + "?unsigned=false");
-
-        HttpURLConnection connection = null;
-        BufferedReader reader = null;
+    private static <K, V> CompletableFuture<V> singleFlight(Map<K, CompletableFuture<V>> inFlight, K key,
+                                                            Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalescedRequests.incrementAndGet();
+            return existing;
+        }
 
+        CompletableFuture<V> load;
         try {
-            connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            connection.setConnectTimeout(5000);
-            connection.setReadTimeout(5000);
-
-            int responseCode = connection.getResponseCode();
-            if (responseCode != 200) {
-                throw new Exception("HTTP " + responseCode);
+            load = loader.get();
+        } catch (RuntimeException e) {
+            load = CompletableFuture.failedFuture(e);
+        }
+
+        load.whenComplete((value, error) -> {
+            // Retirer avant de compléter : le résultat est déjà en cache pour les appelants suivants
+            inFlight.remove(key, created);
+            if (error != null) {
+                created.completeExceptionally(error);
+            } else {
+                created.complete(value);
             }
+        });
+        return created;
+    }
 
-            // Lire la réponse JSON
-            reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-            StringBuilder response = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                response.append(line);
+    /**
+     * GET vers l'API Mojang, non bloquant
+     * Rate limited à 10 requêtes/seconde : l'attente se fait sur l'executor dédié
+     * aux skins (SkinHttpClient), jamais sur les threads du jeu
+     */
+    private static CompletableFuture<HttpResponse<String>> rateLimitedGet(URI uri) {
+        return SkinHttpClient.supplyAsync(API_RATE_LIMITER::acquire)
+            .thenCompose(waited -> SkinHttpClient.sendAsync(SkinHttpClient.get(uri)));
+    }
+
+    /**
+     * Récupère le profil depuis l'API Mojang (asynchrone)
+     */
+    private static CompletableFuture<GameProfile> fetchProfileFromMojang(UUID uuid) {
+        String uuidString = uuid.toString().replace("-", "");
+        URI uri = URI.create(SESSION_SERVER_URL + uuidString + "?unsigned=false");
+
+        return rateLimitedGet(uri).thenApply(response -> {
+            if (response.statusCode() != 200) {
+                throw new CompletionException(new IOException("HTTP " + response.statusCode()));
             }
 
             // Parser le JSON
-            JsonObject json = JsonParser.parseString(response.toString()).getAsJsonObject();
+            JsonObject json = JsonParser.parseString(response.body()).getAsJsonObject();
             String name = json.get("name").getAsString();
 
             // Créer le GameProfile
@@ -152,63 +205,47 @@ public class MojangSkinFetcher {
             }
 
             return profile;
-
-        } finally {
-            // CRITICAL: Always close resources to prevent memory/connection leaks
-            if (reader != null) {
-                try {
-                    reader.close();
-                } catch (Exception e) {
-                    // Ignore close exceptions
-                }
-            }
-            if (connection != null) {
-                connection.disconnect();
-            }
-        }
+        });
     }
 
     /**
      * Convertit un nom de joueur en UUID via l'API Mojang
      * Utilise le cache si disponible
      * Vérifie que le joueur existe
+     * Les appels concurrents pour le même pseudo partagent une seule requête
      *
      * @param username Le pseudo du joueur
      * @return CompletableFuture<UUID> ou null si le joueur n'existe pas
      */
     public static CompletableFuture<UUID> getUUIDFromUsername(String username) {
-        return CompletableFuture.supplyAsync(() -> {
+        return singleFlight(IN_FLIGHT_USERNAMES, username.toLowerCase(), () -> {
             totalAttempts.incrementAndGet();
 
             // Vérifier le cache positif
-            if (NAME_TO_UUID_CACHE.containsKey(username.toLowerCase())) {
+            UUID cached = NAME_TO_UUID_CACHE.get(username.toLowerCase());
+            if (cached != null) {
                 successfulFinds.incrementAndGet();
-                return NAME_TO_UUID_CACHE.get(username.toLowerCase());
+                return CompletableFuture.completedFuture(cached);
             }
 
             // Vérifier le cache négatif
-            if (NON_EXISTENT_USERNAMES.contains(username.toLowerCase())) {
+            if (isKnownMissing(username.toLowerCase())) {
                 failedAttempts.incrementAndGet();
-                return null;
+                return CompletableFuture.completedFuture(null);
             }
 
-            HttpURLConnection connection = null;
-            BufferedReader reader = null;
-
-            try {
-                // Appliquer le rate limiting
-                API_RATE_LIMITER.acquire();
-
-                URL url = new URL(USERNAME_TO_UUID_URL + username);
-                connection = (HttpURLConnection) url.openConnection();
-                connection.setRequestMethod("GET");
-                connection.setConnectTimeout(5000);
-                connection.setReadTimeout(5000);
+            URI uri = URI.create(USERNAME_TO_UUID_URL + URLEncoder.encode(username, StandardCharsets.UTF_8));
+            return rateLimitedGet(uri).handle((response, error) -> {
+                if (error != null) {
+                    com.aibrigade.main.AIBrigadeMod.LOGGER.error("Error checking username {}: {}", username, rootMessage(error));
+                    failedAttempts.incrementAndGet();
+                    return null;
+                }
 
-                int responseCode = connection.getResponseCode();
+                int responseCode = response.statusCode();
                 if (responseCode == 204 || responseCode == 404) {
                     // Le joueur n'existe pas
-                    NON_EXISTENT_USERNAMES.add(username.toLowerCase());
+                    cacheMissingName(username, System.currentTimeMillis());
                     failedAttempts.incrementAndGet();
                     return null;
                 }
@@ -218,84 +255,178 @@ public class MojangSkinFetcher {
                     return null;
                 }
 
-                // Lire la réponse JSON
-                reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-                StringBuilder response = new StringBuilder();
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    response.append(line);
+                try {
+                    // Parser le JSON (UUID sans tirets)
+                    JsonObject json = JsonParser.parseString(response.body()).getAsJsonObject();
+                    UUID uuid = MojangProfileLookup.parseUUID(json.get("id").getAsString());
+
+                    // Mettre en cache
+                    cacheResolvedName(username, uuid, System.currentTimeMillis());
+                    successfulFinds.incrementAndGet();
+                    return uuid;
+                } catch (RuntimeException e) {
+                    com.aibrigade.main.AIBrigadeMod.LOGGER.error("Error checking username {}: {}", username, e.getMessage());
+                    failedAttempts.incrementAndGet();
+                    return null;
                 }
+            });
+        });
+    }
 
-                // Parser le JSON
-                JsonObject json = JsonParser.parseString(response.toString()).getAsJsonObject();
-                String uuidString = json.get("id").getAsString();
+    /**
+     * Message de la cause réelle (les erreurs async arrivent enveloppées dans CompletionException)
+     */
+    private static String rootMessage(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+    }
 
-                // Convertir UUID sans tirets en UUID avec tirets
-                String formattedUUID = uuidString.replaceFirst(
-                    "(\\p{XDigit}{8})(\\p{XDigit}{4})(\\p{XDigit}{4})(\\p{XDigit}{4})(\\p{XDigit}+)",
-                    "$1-$2-$3-$4-$5"
-                );
+    /**
+     * Vérifie le cache négatif (expire plus vite : le pseudo peut avoir été créé depuis)
+     */
+    private static boolean isKnownMissing(String lowerName) {
+        if (!NON_EXISTENT_USERNAMES.contains(lowerName)) {
+            return false;
+        }
+        Long checkedAt = NAME_FETCHED_AT.get(lowerName);
+        if (checkedAt == null || System.currentTimeMillis() - checkedAt < SkinProfileStore.MISSING_TTL_MS) {
+            return true;
+        }
+        NON_EXISTENT_USERNAMES.remove(lowerName);
+        return false;
+    }
 
-                UUID uuid = UUID.fromString(formattedUUID);
+    private static void cacheResolvedName(String username, UUID uuid, long fetchedAt) {
+        String key = username.toLowerCase();
+        NAME_TO_UUID_CACHE.put(key, uuid);
+        NON_EXISTENT_USERNAMES.remove(key);
+        VERIFIED_USERNAMES.add(username);
+        NAME_FETCHED_AT.put(key, fetchedAt);
+        persistentCacheDirty.set(true);
+    }
 
-                // Mettre en cache
-                NAME_TO_UUID_CACHE.put(username.toLowerCase(), uuid);
-                VERIFIED_USERNAMES.add(username);
-                successfulFinds.incrementAndGet();
-                return uuid;
+    private static void cacheMissingName(String username, long fetchedAt) {
+        String key = username.toLowerCase();
+        NON_EXISTENT_USERNAMES.add(key);
+        NAME_FETCHED_AT.put(key, fetchedAt);
+        persistentCacheDirty.set(true);
+    }
+
+    /**
+     * Remplace le service de résolution des pseudos (serveur local de test, autre endpoint...)
+     */
+    public static void setProfileLookup(ProfileLookup lookup) {
+        profileLookup = Objects.requireNonNull(lookup);
+    }
+
+    public static ProfileLookup getProfileLookup() {
+        return profileLookup;
+    }
+
+    /**
+     * Résout plusieurs pseudos avec le moins de requêtes possible (bloquant, thread de fond)
+     * - pseudos déjà en cache (positif ou négatif) : aucun appel
+     * - les autres par lots de ProfileLookup.maxBatchSize(), un permis du rate limiter par lot
+     * Les pseudos absents de la réponse sont ajoutés au cache négatif.
+     *
+     * @param usernames Pseudos à vérifier
+     * @return Pseudos existants -> UUID (casse renvoyée par le service pour les nouveaux)
+     */
+    public static Map<String, UUID> resolveUsernames(Collection<String> usernames) {
+        Map<String, UUID> found = new LinkedHashMap<>();
+        Map<String, String> toQuery = new LinkedHashMap<>(); // clé minuscule -> pseudo
 
-            } catch (Exception e) {
-                com.aibrigade.main.AIBrigadeMod.LOGGER.error("Error checking username {}: {}", username, e.getMessage());
+        for (String username : usernames) {
+            String key = username.toLowerCase();
+            totalAttempts.incrementAndGet();
+
+            UUID cached = NAME_TO_UUID_CACHE.get(key);
+            if (cached != null) {
+                successfulFinds.incrementAndGet();
+                found.put(username, cached);
+            } else if (isKnownMissing(key)) {
                 failedAttempts.incrementAndGet();
-                return null;
-
-            } finally {
-                // CRITICAL: Always close resources to prevent memory/connection leaks
-                if (reader != null) {
-                    try {
-                        reader.close();
-                    } catch (Exception e) {
-                        // Ignore close exceptions
-                    }
-                }
-                if (connection != null) {
-                    connection.disconnect();
+            } else {
+                toQuery.putIfAbsent(key, username);
+            }
+        }
+
+        ProfileLookup lookup = profileLookup;
+        int batchSize = Math.max(1, lookup.maxBatchSize());
+        List<String> pending = new ArrayList<>(toQuery.values());
+
+        for (int start = 0; start < pending.size(); start += batchSize) {
+            List<String> batch = pending.subList(start, Math.min(start + batchSize, pending.size()));
+
+            API_RATE_LIMITER.acquire();
+            bulkLookups.incrementAndGet();
+
+            Map<String, UUID> resolved;
+            try {
+                resolved = lookup.lookupByNames(batch);
+            } catch (IOException | RuntimeException e) {
+                // Rien n'est connu sur ces pseudos : pas de cache négatif
+                com.aibrigade.main.AIBrigadeMod.LOGGER.error("Bulk lookup failed for {} names: {}", batch.size(), e.getMessage());
+                failedAttempts.addAndGet(batch.size());
+                continue;
+            }
+
+            long now = System.currentTimeMillis();
+            Set<String> existing = new HashSet<>();
+            resolved.forEach((name, uuid) -> {
+                cacheResolvedName(name, uuid, now);
+                existing.add(name.toLowerCase());
+                found.put(name, uuid);
+                successfulFinds.incrementAndGet();
+            });
+
+            for (String name : batch) {
+                if (!existing.contains(name.toLowerCase())) {
+                    cacheMissingName(name, now);
+                    failedAttempts.incrementAndGet();
                 }
             }
-        }, Util.backgroundExecutor());
+        }
+
+        return found;
     }
 
     /**
      * Trouve un joueur aléatoire qui existe vraiment
-     * Génère des pseudos aléatoires et vérifie leur existence
+     * Génère des pseudos aléatoires et les vérifie par lots (résolution groupée) :
+     * quelques requêtes au lieu d'une par pseudo
      *
-     * @param maxAttempts Nombre maximum de tentatives
+     * @param maxAttempts Nombre maximum de pseudos essayés
      * @return CompletableFuture<String> contenant le pseudo trouvé ou null
      */
     public static CompletableFuture<String> findRandomExistingPlayer(int maxAttempts) {
-        return CompletableFuture.supplyAsync(() -> {
+        // Bloquant (rate limiter, lots HTTP) : sur l'executor dédié aux skins
+        return SkinHttpClient.supplyAsync(() -> {
+            int batchSize = Math.max(1, profileLookup.maxBatchSize());
             int attempts = 0;
 
             while (attempts < maxAttempts) {
-                // Générer un pseudo aléatoire
-                String randomUsername = RandomUsernameGenerator.generateValidMinecraftUsername();
-
-                // Vérifier s'il existe (de manière synchrone pour cette opération)
-                try {
-                    UUID uuid = getUUIDFromUsername(randomUsername).get();
-                    if (uuid != null) {
-                        return randomUsername;
-                    }
-                } catch (Exception e) {
-                    // Player doesn't exist, continue searching
+                // Générer un lot de pseudos aléatoires
+                int count = Math.min(batchSize, maxAttempts - attempts);
+                List<String> candidates = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    candidates.add(RandomUsernameGenerator.generateValidMinecraftUsername());
                 }
+                attempts += count;
 
-                attempts++;
+                // Les autres pseudos trouvés restent en cache pour les bots suivants
+                Map<String, UUID> found = resolveUsernames(candidates);
+                if (!found.isEmpty()) {
+                    return found.keySet().iterator().next();
+                }
             }
 
             com.aibrigade.main.AIBrigadeMod.LOGGER.warn("Could not find existing player after {} attempts", maxAttempts);
             return null;
-        }, Util.backgroundExecutor());
+        });
     }
 
     /**
@@ -323,6 +454,88 @@ public class MojangSkinFetcher {
         return profile;
     }
 
+    // ==================== POOL DE SKINS ====================
+
+    /**
+     * Nombre de profils gardés prêts dans le pool
+     */
+    public static void configureSkinPool(int size) {
+        SKIN_POOL.resize(size);
+    }
+
+    /**
+     * Remplit le pool en arrière-plan (démarrage serveur), sans appel réseau si le cache est chaud
+     */
+    public static void prewarmSkinPool() {
+        SKIN_POOL.refillAsync();
+    }
+
+    /**
+     * Prochain profil du pool Mojang (utilisé par MojangSkinSource)
+     */
+    static GameProfile takePooledProfile() {
+        return SKIN_POOL.take();
+    }
+
+    /**
+     * Choisit les sources de skins aléatoires
+     */
+    public static void configureSkinSources(SkinSourceSelector selector) {
+        skinSources = Objects.requireNonNull(selector);
+        com.aibrigade.main.AIBrigadeMod.LOGGER.info("Skin sources: {}", selector.getStats());
+    }
+
+    /**
+     * Prépare toutes les sources (pool Mojang, chargement des skins locaux / HTTP)
+     */
+    public static void prewarmSkinSources() {
+        skinSources.prewarm();
+    }
+
+    public static String getSkinPoolStats() {
+        return SKIN_POOL.getStats();
+    }
+
+    /**
+     * Profils en cache encore valides et avec textures (sources du pool)
+     */
+    static List<GameProfile> getCachedProfilesWithTextures() {
+        List<GameProfile> profiles = new ArrayList<>();
+        PROFILE_CACHE.forEach((uuid, profile) -> {
+            if (isCacheValid(uuid) && hasTextures(profile)) {
+                profiles.add(profile);
+            }
+        });
+        return profiles;
+    }
+
+    /**
+     * Joueurs connus (pseudo résolu) dont le profil manque ou a expiré
+     */
+    static List<UUID> getKnownPlayersWithoutProfile() {
+        List<UUID> uuids = new ArrayList<>();
+        for (UUID uuid : new HashSet<>(NAME_TO_UUID_CACHE.values())) {
+            if (!isCacheValid(uuid)) {
+                uuids.add(uuid);
+            }
+        }
+        return uuids;
+    }
+
+    static boolean isProfileFresh(UUID uuid) {
+        return isCacheValid(uuid);
+    }
+
+    static boolean hasTextures(GameProfile profile) {
+        return profile != null && profile.getProperties().containsKey("textures");
+    }
+
+    static void addVerifiedPlayer(String username) {
+        if (!VERIFIED_PLAYERS_WITH_SKINS.contains(username)) {
+            VERIFIED_PLAYERS_WITH_SKINS.add(username);
+        }
+    }
+
     /**
      * Libère un UUID pour qu'il puisse être réutilisé
      * Appelé quand un bot est supprimé
@@ -386,11 +599,139 @@ public class MojangSkinFetcher {
             CACHE_TIMESTAMP.remove(uuid);
         });
 
+        // Résolutions de pseudos expirées
+        NAME_FETCHED_AT.forEach((name, fetchedAt) -> {
+            boolean missing = NON_EXISTENT_USERNAMES.contains(name);
+            long ttl = missing ? SkinProfileStore.MISSING_TTL_MS : SkinProfileStore.NAME_TTL_MS;
+            if (currentTime - fetchedAt > ttl) {
+                NAME_FETCHED_AT.remove(name);
+                NON_EXISTENT_USERNAMES.remove(name);
+                NAME_TO_UUID_CACHE.remove(name);
+            }
+        });
+
         if (!toRemove.isEmpty()) {
+            persistentCacheDirty.set(true);
             com.aibrigade.main.AIBrigadeMod.LOGGER.info("Cache cleaned: {} entries removed", toRemove.size());
         }
     }
 
+    // ==================== CACHE PERSISTANT ====================
+
+    /**
+     * Charge le cache disque dans les caches mémoire
+     * À appeler au démarrage, avant que les bots ne soient chargés : un cache chaud
+     * permet de réappliquer tous les skins sans appel à l'API Mojang.
+     *
+     * @param file Fichier du cache (config/aibrigade_skin_cache.json)
+     */
+    public static void loadPersistentCache(Path file) {
+        SkinProfileStore store = new SkinProfileStore(file);
+        SkinProfileStore.Snapshot snapshot = store.load();
+
+        int profiles = 0;
+        for (SkinProfileStore.ProfileEntry entry : snapshot.profiles) {
+            try {
+                UUID uuid = UUID.fromString(entry.uuid);
+                GameProfile profile = new GameProfile(uuid, entry.name);
+                if (entry.textureValue != null) {
+                    profile.getProperties().put("textures",
+                        new Property("textures", entry.textureValue, entry.textureSignature));
+                }
+                PROFILE_CACHE.put(uuid, profile);
+                CACHE_TIMESTAMP.put(uuid, entry.fetchedAt);
+                profiles++;
+            } catch (IllegalArgumentException e) {
+                // Entrée corrompue, ignorée
+            }
+        }
+
+        for (SkinProfileStore.NameEntry entry : snapshot.names) {
+            if (entry.name == null || entry.uuid == null) {
+                continue;
+            }
+            try {
+                UUID uuid = UUID.fromString(entry.uuid);
+                String key = entry.name.toLowerCase();
+                NAME_TO_UUID_CACHE.put(key, uuid);
+                NAME_FETCHED_AT.put(key, entry.fetchedAt);
+                VERIFIED_USERNAMES.add(entry.name);
+
+                // Joueur réutilisable pour les skins aléatoires si son profil a des textures
+                GameProfile profile = PROFILE_CACHE.get(uuid);
+                if (profile != null && profile.getProperties().containsKey("textures")
+                        && !VERIFIED_PLAYERS_WITH_SKINS.contains(entry.name)) {
+                    VERIFIED_PLAYERS_WITH_SKINS.add(entry.name);
+                }
+            } catch (IllegalArgumentException e) {
+                // Entrée corrompue, ignorée
+            }
+        }
+
+        for (SkinProfileStore.NameEntry entry : snapshot.missing) {
+            if (entry.name != null) {
+                NON_EXISTENT_USERNAMES.add(entry.name.toLowerCase());
+                NAME_FETCHED_AT.put(entry.name.toLowerCase(), entry.fetchedAt);
+            }
+        }
+
+        profileStore = store;
+        com.aibrigade.main.AIBrigadeMod.LOGGER.info(
+            "Skin cache loaded from {}: {} profiles, {} names ({} with skins), {} unknown names",
+            file, profiles, NAME_TO_UUID_CACHE.size(), VERIFIED_PLAYERS_WITH_SKINS.size(), NON_EXISTENT_USERNAMES.size());
+    }
+
+    /**
+     * Écrit les caches mémoire sur disque s'ils ont changé depuis la dernière sauvegarde
+     * Le snapshot est construit sur le thread appelant, l'écriture passe par PersistenceWriter.
+     */
+    public static void savePersistentCache() {
+        SkinProfileStore store = profileStore;
+        if (store == null || !persistentCacheDirty.getAndSet(false)) {
+            return;
+        }
+
+        SkinProfileStore.Snapshot snapshot = new SkinProfileStore.Snapshot();
+
+        PROFILE_CACHE.forEach((uuid, profile) -> {
+            SkinProfileStore.ProfileEntry entry = new SkinProfileStore.ProfileEntry();
+            entry.uuid = uuid.toString();
+            entry.name = profile.getName();
+            entry.fetchedAt = CACHE_TIMESTAMP.getOrDefault(uuid, 0L);
+            if (profile.getProperties().containsKey("textures")) {
+                Property textures = profile.getProperties().get("textures").iterator().next();
+                entry.textureValue = textures.getValue();
+                entry.textureSignature = textures.getSignature();
+            }
+            snapshot.profiles.add(entry);
+        });
+
+        // Nom d'origine (casse conservée) quand on le connaît
+        Map<String, String> displayNames = new HashMap<>();
+        VERIFIED_USERNAMES.forEach(name -> displayNames.put(name.toLowerCase(), name));
+
+        NAME_TO_UUID_CACHE.forEach((key, uuid) -> {
+            SkinProfileStore.NameEntry entry = new SkinProfileStore.NameEntry();
+            entry.name = displayNames.getOrDefault(key, key);
+            entry.uuid = uuid.toString();
+            entry.fetchedAt = NAME_FETCHED_AT.getOrDefault(key, 0L);
+            snapshot.names.add(entry);
+        });
+
+        NON_EXISTENT_USERNAMES.forEach(key -> {
+            SkinProfileStore.NameEntry entry = new SkinProfileStore.NameEntry();
+            entry.name = key;
+            entry.fetchedAt = NAME_FETCHED_AT.getOrDefault(key, 0L);
+            snapshot.missing.add(entry);
+        });
+
+        store.save(snapshot).exceptionally(error -> {
+            // Réessayer à la prochaine sauvegarde
+            persistentCacheDirty.set(true);
+            return null;
+        });
+    }
+
     /**
      * Applique un GameProfile à un BotEntity
      * Extrait les textures et les synchronise au client
@@ -429,8 +770,7 @@ public class MojangSkinFetcher {
             }
 
             // Appliquer les textures au bot (synchronisé au client)
-            bot.setSkinTextureValue(value);
-            bot.setSkinTextureSignature(signature);
+            bot.setSkinTextures(value, signature);
 
             com.aibrigade.main.AIBrigadeMod.LOGGER.info("✓ Skin textures applied to bot {} (UUID: {})",
                 profile.getName(), profile.getId());
@@ -442,8 +782,24 @@ public class MojangSkinFetcher {
     /**
      * Récupère et applique un skin aléatoire à un bot
      * Stratégie intelligente avec cache de joueurs vérifiés
+     * - pool pré-chargé : synchrone, aucun appel réseau (cas normal)
+     * - pool vide (cache froid) : recherche asynchrone comme avant
      */
     public static void applyRandomFamousSkin(BotEntity bot) {
+        // PERFORMANCE: skin pris immédiatement dans une source prête (pool Mojang, skins locaux...)
+        SkinSourceSelector sources = skinSources;
+        GameProfile readyProfile = sources.nextProfile();
+        if (readyProfile != null) {
+            applyProfileToBot(bot, readyProfile);
+            return;
+        }
+
+        // Serveur hors ligne (aucune source Mojang) : pas de recherche réseau, nom généré immédiatement
+        if (!sources.usesMojangApi()) {
+            applyFallbackIdentity(bot);
+            return;
+        }
+
         // Si on a des joueurs en cache, les utiliser en priorité
         if (!VERIFIED_PLAYERS_WITH_SKINS.isEmpty()) {
             // MAJOR FIX: Use AtomicInteger.getAndIncrement() for thread-safe counter access
@@ -460,17 +816,11 @@ public class MojangSkinFetcher {
         bot.setBotName("Searching...");
 
         // Chercher un joueur existant (max 50 tentatives pour augmenter les chances)
-        findRandomExistingPlayer(50).thenAccept(username -> {
+        findRandomExistingPlayer(50).exceptionally(error -> null).thenAccept(username -> {
             if (username == null) {
                 // Fallback : utiliser un nom généré
                 com.aibrigade.main.AIBrigadeMod.LOGGER.warn("Could not find player after 50 attempts, using fallback");
-                UUID fallbackUUID = UUID.randomUUID();
-                bot.setPlayerUUID(fallbackUUID);
-                bot.setBotName("Bot_" + fallbackUUID.toString().substring(0, 8));
-
-                if (!bot.level().isClientSide && bot.isAlive()) {
-                    bot.refreshDimensions();
-                }
+                applyFallbackIdentity(bot);
                 return;
             }
 
@@ -485,6 +835,19 @@ public class MojangSkinFetcher {
         });
     }
 
+    /**
+     * Nom généré et skin par défaut
+     */
+    private static void applyFallbackIdentity(BotEntity bot) {
+        UUID fallbackUUID = UUID.randomUUID();
+        bot.setPlayerUUID(fallbackUUID);
+        bot.setBotName("Bot_" + fallbackUUID.toString().substring(0, 8));
+
+        if (!bot.level().isClientSide && bot.isAlive()) {
+            bot.refreshDimensions();
+        }
+    }
+
     /**
      * Applique le skin d'un joueur spécifique à un bot
      */
@@ -541,5 +904,11 @@ public class MojangSkinFetcher {
         com.aibrigade.main.AIBrigadeMod.LOGGER.info("Success rate: {:.2f}%", successRate);
         com.aibrigade.main.AIBrigadeMod.LOGGER.info("Verified usernames cached: {}", VERIFIED_USERNAMES.size());
         com.aibrigade.main.AIBrigadeMod.LOGGER.info("Non-existent usernames cached: {}", NON_EXISTENT_USERNAMES.size());
+        com.aibrigade.main.AIBrigadeMod.LOGGER.info("Profiles cached: {}", PROFILE_CACHE.size());
+        com.aibrigade.main.AIBrigadeMod.LOGGER.info("Coalesced concurrent requests: {}", coalescedRequests.get());
+        com.aibrigade.main.AIBrigadeMod.LOGGER.info("Bulk username lookups: {}", bulkLookups.get());
+        com.aibrigade.main.AIBrigadeMod.LOGGER.info("Skin pool: {}", SKIN_POOL.getStats());
+        com.aibrigade.main.AIBrigadeMod.LOGGER.info("Skin sources: {}", skinSources.getStats());
+        com.aibrigade.main.AIBrigadeMod.LOGGER.info("Skin HTTP: {}", SkinHttpClient.getStats());
     }
 }
@@ -0,0 +1,34 @@
+package com.aibrigade.bots;
+
+import com.mojang.authlib.GameProfile;
+
+/**
+ * MojangSkinSource - Skins of real players, served from MojangSkinFetcher's pre-warmed pool
+ */
+public class MojangSkinSource implements SkinSource {
+
+    @Override
+    public String getName() {
+        return "mojang";
+    }
+
+    @Override
+    public GameProfile nextProfile() {
+        return MojangSkinFetcher.takePooledProfile();
+    }
+
+    @Override
+    public void prewarm() {
+        MojangSkinFetcher.prewarmSkinPool();
+    }
+
+    @Override
+    public boolean usesMojangApi() {
+        return true;
+    }
+
+    @Override
+    public String getStats() {
+        return "mojang(" + MojangSkinFetcher.getSkinPoolStats() + ")";
+    }
+}
@@ -0,0 +1,34 @@
+package com.aibrigade.bots;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * ProfileLookup - Resolves usernames to player UUIDs, several names per call
+ *
+ * Modelled on the Mojang bulk endpoint: one request carries up to
+ * {@link #maxBatchSize()} names and the answer only lists the names that exist.
+ * MojangSkinFetcher talks to this interface, so the default implementation
+ * ({@link MojangProfileLookup}) can be pointed at a local stand-in server or
+ * replaced entirely (see MojangSkinFetcher.setProfileLookup).
+ */
+public interface ProfileLookup {
+
+    /**
+     * Maximum number of names accepted by one {@link #lookupByNames} call
+     */
+    int maxBatchSize();
+
+    /**
+     * Resolve a batch of names (blocking, called from a background thread)
+     *
+     * @param names At most maxBatchSize() names
+     * @return Existing players only, keyed by their name as returned by the service
+     *         (correct case); names missing from the map do not exist
+     * @throws IOException if the service could not be reached or answered an error
+     *         (nothing is then known about the names)
+     */
+    Map<String, UUID> lookupByNames(List<String> names) throws IOException;
+}
@@ -0,0 +1,93 @@
+package com.aibrigade.bots;
+
+import com.aibrigade.network.AIBrigadeNetwork;
+import com.aibrigade.network.SkinDefinitionPacket;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SkinDictionary - Server side skin ids, each texture value sent once per connection
+ *
+ * A bot only syncs a compact skin id (entity data). The texture value (1 KB or more)
+ * goes to a client in a SkinDefinitionPacket the first time the player needs that id,
+ * then never again for that connection. 300 bots sharing 20 skins cost 20 definitions
+ * per player instead of 300 texture strings in spawn packets.
+ *
+ * Ids are valid for the server session (cleared on server stop), 0 = no skin.
+ */
+public final class SkinDictionary {
+
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static final Map<Integer, String> VALUES = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextId = new AtomicInteger(1);
+
+    // Skin ids already defined on each player's connection
+    private static final Map<UUID, Set<Integer>> SENT = new ConcurrentHashMap<>();
+
+    // Metrics
+    private static final AtomicLong definitionsSent = new AtomicLong();
+    private static final AtomicLong bytesSent = new AtomicLong();
+
+    private SkinDictionary() {
+    }
+
+    /**
+     * Id of a texture value, assigned on first use
+     */
+    public static int idFor(String textureValue) {
+        if (textureValue == null || textureValue.isEmpty()) {
+            return 0;
+        }
+        return IDS.computeIfAbsent(textureValue, value -> {
+            int id = nextId.getAndIncrement();
+            VALUES.put(id, value);
+            return id;
+        });
+    }
+
+    /**
+     * Send the definition of a skin id unless this connection already has it
+     */
+    public static void ensureSent(ServerPlayer player, int skinId) {
+        if (skinId == 0) {
+            return;
+        }
+        String value = VALUES.get(skinId);
+        if (value == null) {
+            return;
+        }
+
+        if (SENT.computeIfAbsent(player.getUUID(), uuid -> ConcurrentHashMap.newKeySet()).add(skinId)) {
+            AIBrigadeNetwork.sendTo(player, new SkinDefinitionPacket(skinId, value));
+            definitionsSent.incrementAndGet();
+            bytesSent.addAndGet(value.length());
+        }
+    }
+
+    /**
+     * Player disconnected: its client cache is gone
+     */
+    public static void forgetPlayer(UUID playerId) {
+        SENT.remove(playerId);
+    }
+
+    /**
+     * Server stopping: ids are only valid for the session
+     */
+    public static void clear() {
+        IDS.clear();
+        VALUES.clear();
+        SENT.clear();
+    }
+
+    public static String getStats() {
+        return String.format("skins=%d connections=%d definitionsSent=%d bytesSent=%d",
+            IDS.size(), SENT.size(), definitionsSent.get(), bytesSent.get());
+    }
+}
@@ -0,0 +1,240 @@
+package com.aibrigade.bots;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * SkinHttpClient - Network plumbing for skin and profile lookups, isolated from the game
+ *
+ * - one shared java.net.http.HttpClient: pooled keep-alive connections, HTTP/2 when the
+ *   server offers it, non-blocking sendAsync
+ * - a dedicated bounded executor for skin work (rate limiter waits, parsing, bulk lookups),
+ *   so it never occupies Util.backgroundExecutor() threads used by worldgen and IO
+ * - a concurrency limit per endpoint host, with a bounded queue of waiting requests
+ *
+ * Work beyond the queue bounds is rejected (failed future) instead of piling up.
+ */
+public final class SkinHttpClient {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+
+    // Skin work executor: small, bounded queue
+    private static final int WORKER_THREADS = 4;
+    private static final int WORKER_QUEUE_CAPACITY = 256;
+
+    // Requests in flight per host, and requests allowed to wait for a slot
+    private static final int DEFAULT_MAX_CONCURRENT = 2;
+    private static final int MAX_WAITING_PER_ENDPOINT = 128;
+    private static final Map<String, Integer> MAX_CONCURRENT_BY_HOST = Map.of(
+        "sessionserver.mojang.com", 4,
+        "api.mojang.com", 2,
+        "api.minecraftservices.com", 2,
+        "textures.minecraft.net", 4
+    );
+
+    private static final ThreadPoolExecutor WORKERS = new ThreadPoolExecutor(
+        WORKER_THREADS, WORKER_THREADS, 30, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(WORKER_QUEUE_CAPACITY), daemonThreads("AIBrigade-Skin"),
+        new ThreadPoolExecutor.AbortPolicy());
+
+    // Internal HttpClient callbacks only (short tasks), kept apart from the bounded workers
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_2)
+        .connectTimeout(CONNECT_TIMEOUT)
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .executor(Executors.newFixedThreadPool(2, daemonThreads("AIBrigade-SkinHttp")))
+        .build();
+
+    private static final Map<String, EndpointLimiter> LIMITERS = new ConcurrentHashMap<>();
+
+    private static final AtomicLong rejectedTasks = new AtomicLong();
+
+    static {
+        WORKERS.allowCoreThreadTimeOut(true);
+    }
+
+    private SkinHttpClient() {
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger(0);
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        };
+    }
+
+    /**
+     * Run skin work on the dedicated executor
+     *
+     * @return Future of the result, failed with RejectedExecutionException if the queue is full
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, WORKERS);
+        } catch (RejectedExecutionException e) {
+            rejectedTasks.incrementAndGet();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * GET request with the standard timeout
+     */
+    public static HttpRequest get(URI uri) {
+        return HttpRequest.newBuilder(uri)
+            .timeout(REQUEST_TIMEOUT)
+            .GET()
+            .build();
+    }
+
+    /**
+     * POST request with a JSON body and the standard timeout
+     */
+    public static HttpRequest postJson(URI uri, String body) {
+        return HttpRequest.newBuilder(uri)
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", "application/json")
+            .header("Accept", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    /**
+     * Send without blocking, within the concurrency limit of the request's host
+     */
+    public static CompletableFuture<HttpResponse<String>> sendAsync(HttpRequest request) {
+        return sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Send without blocking with a custom body handler (e.g. PNG bytes)
+     */
+    public static <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+                                                                   HttpResponse.BodyHandler<T> bodyHandler) {
+        return limiterFor(request.uri()).submit(() -> CLIENT.sendAsync(request, bodyHandler));
+    }
+
+    /**
+     * Blocking send, for callers already on a background thread (e.g. ProfileLookup)
+     */
+    public static HttpResponse<String> send(HttpRequest request) throws IOException {
+        try {
+            return sendAsync(request).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for " + request.uri(), e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static EndpointLimiter limiterFor(URI uri) {
+        String host = uri.getHost() == null ? "" : uri.getHost().toLowerCase();
+        return LIMITERS.computeIfAbsent(host,
+            h -> new EndpointLimiter(h, MAX_CONCURRENT_BY_HOST.getOrDefault(h, DEFAULT_MAX_CONCURRENT)));
+    }
+
+    /**
+     * At most maxConcurrent requests in flight for one host, the rest wait in a bounded queue
+     */
+    private static final class EndpointLimiter {
+        private final String host;
+        private final int maxConcurrent;
+        private final ArrayDeque<Runnable> waiting = new ArrayDeque<>();
+        private int active = 0;
+
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+
+        EndpointLimiter(String host, int maxConcurrent) {
+            this.host = host;
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            Runnable start = () -> {
+                sent.incrementAndGet();
+                CompletableFuture<T> response;
+                try {
+                    response = call.get();
+                } catch (Throwable t) {
+                    response = CompletableFuture.failedFuture(t);
+                }
+                response.whenComplete((value, error) -> {
+                    release();
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            };
+
+            synchronized (this) {
+                if (active >= maxConcurrent) {
+                    if (waiting.size() >= MAX_WAITING_PER_ENDPOINT) {
+                        rejected.incrementAndGet();
+                        return CompletableFuture.failedFuture(
+                            new RejectedExecutionException("Too many pending requests to " + host));
+                    }
+                    waiting.add(start);
+                    return result;
+                }
+                active++;
+            }
+
+            start.run();
+            return result;
+        }
+
+        private void release() {
+            Runnable next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    active--;
+                }
+            }
+            // The slot passes directly to the next waiting request
+            if (next != null) {
+                next.run();
+            }
+        }
+
+        synchronized String getStats() {
+            return String.format("%s(active=%d/%d waiting=%d sent=%d rejected=%d)",
+                host, active, maxConcurrent, waiting.size(), sent.get(), rejected.get());
+        }
+    }
+
+    // ==================== METRICS ====================
+
+    /**
+     * Worker pool load and per-host limiter counters (skin fetcher statistics log)
+     */
+    public static String getStats() {
+        StringBuilder stats = new StringBuilder(String.format("workers(active=%d queued=%d rejected=%d)",
+            WORKERS.getActiveCount(), WORKERS.getQueue().size(), rejectedTasks.get()));
+        LIMITERS.values().forEach(limiter -> stats.append(' ').append(limiter.getStats()));
+        return stats.toString();
+    }
+}
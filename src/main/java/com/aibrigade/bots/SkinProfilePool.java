@@ -0,0 +1,227 @@
+package com.aibrigade.bots;
+
+import com.aibrigade.main.AIBrigadeMod;
+import com.mojang.authlib.GameProfile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SkinProfilePool - Verified profiles with textures, ready before any bot asks for one
+ *
+ * A spawning bot takes the next profile round-robin: synchronous, no network.
+ * Profiles stay in the pool (several bots may share a skin) until their cache
+ * entry expires. When the pool drops below the low-water mark, a background
+ * thread refills it up to the target size, cheapest source first:
+ * 1. profiles already in the MojangSkinFetcher cache (memory / disk cache)
+ * 2. known players whose profile is missing or stale (one profile call each)
+ * 3. random usernames resolved in bulk, then their profiles
+ *
+ * The refill runs on its own thread so it can wait on fetches without holding
+ * an executor thread that other work needs.
+ */
+final class SkinProfilePool {
+
+    // Random search gives up after this many rounds without a new profile (10 names per round)
+    private static final int MAX_FAILED_ROUNDS = 5;
+
+    private final List<GameProfile> profiles = new CopyOnWriteArrayList<>();
+    private final Set<UUID> pooled = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextIndex = new AtomicInteger(0);
+    private final AtomicBoolean refilling = new AtomicBoolean(false);
+
+    private final ExecutorService refillThread = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "AIBrigade-SkinPool");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+
+    private volatile int targetSize;
+    private volatile int lowWaterMark;
+
+    // Metrics
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong refills = new AtomicLong();
+    private final AtomicLong profilesAdded = new AtomicLong();
+
+    SkinProfilePool(int targetSize) {
+        resize(targetSize);
+    }
+
+    /**
+     * Change the number of profiles kept ready (low-water mark = a quarter of it)
+     */
+    void resize(int targetSize) {
+        this.targetSize = Math.max(1, targetSize);
+        this.lowWaterMark = Math.max(1, this.targetSize / 4);
+    }
+
+    /**
+     * Next ready profile, round-robin (never blocks on the network)
+     *
+     * @return A profile with textures, or null if the pool is empty (cold cache)
+     */
+    GameProfile take() {
+        if (profiles.isEmpty()) {
+            // Memory only - a warm cache fills the pool without waiting for the refill thread
+            addCachedProfiles();
+        }
+
+        GameProfile profile = null;
+        while (profile == null && !profiles.isEmpty()) {
+            GameProfile[] snapshot = profiles.toArray(new GameProfile[0]);
+            if (snapshot.length == 0) {
+                break;
+            }
+
+            GameProfile candidate = snapshot[Math.floorMod(nextIndex.getAndIncrement(), snapshot.length)];
+            if (MojangSkinFetcher.isProfileFresh(candidate.getId())) {
+                profile = candidate;
+            } else {
+                // Expired: leaves the pool, the refill fetches it again
+                profiles.remove(candidate);
+                pooled.remove(candidate.getId());
+            }
+        }
+
+        if (profile != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+
+        if (profiles.size() < lowWaterMark) {
+            refillAsync();
+        }
+        return profile;
+    }
+
+    /**
+     * Start a background refill unless one is already running or the pool is full
+     */
+    void refillAsync() {
+        if (profiles.size() >= targetSize || !refilling.compareAndSet(false, true)) {
+            return;
+        }
+
+        refillThread.execute(() -> {
+            try {
+                refill();
+            } catch (Throwable t) {
+                AIBrigadeMod.LOGGER.error("Skin pool refill failed", t);
+            } finally {
+                refilling.set(false);
+            }
+        });
+    }
+
+    /**
+     * Executed on the refill thread
+     */
+    private void refill() {
+        refills.incrementAndGet();
+        int before = profiles.size();
+
+        // 1. Cache
+        addCachedProfiles();
+
+        // 2. Known players without a usable profile
+        for (UUID uuid : MojangSkinFetcher.getKnownPlayersWithoutProfile()) {
+            if (isFull()) {
+                break;
+            }
+            addFetched(uuid, null);
+        }
+
+        // 3. Random search, 10 names per bulk call
+        int failedRounds = 0;
+        while (!isFull() && failedRounds < MAX_FAILED_ROUNDS) {
+            int batchSize = Math.max(1, MojangSkinFetcher.getProfileLookup().maxBatchSize());
+            List<String> candidates = new ArrayList<>(batchSize);
+            for (int i = 0; i < batchSize; i++) {
+                candidates.add(RandomUsernameGenerator.generateValidMinecraftUsername());
+            }
+
+            int added = 0;
+            for (Map.Entry<String, UUID> found : MojangSkinFetcher.resolveUsernames(candidates).entrySet()) {
+                if (isFull()) {
+                    break;
+                }
+                if (addFetched(found.getValue(), found.getKey())) {
+                    added++;
+                }
+            }
+
+            if (added == 0) {
+                failedRounds++;
+            }
+        }
+
+        AIBrigadeMod.LOGGER.info("Skin pool refilled: {} -> {} profiles (target {})", before, profiles.size(), targetSize);
+    }
+
+    private boolean isFull() {
+        return profiles.size() >= targetSize;
+    }
+
+    private void addCachedProfiles() {
+        for (GameProfile profile : MojangSkinFetcher.getCachedProfilesWithTextures()) {
+            if (isFull()) {
+                break;
+            }
+            add(profile);
+        }
+    }
+
+    /**
+     * Fetch a profile (cache first) and pool it if it has textures
+     */
+    private boolean addFetched(UUID uuid, String username) {
+        if (pooled.contains(uuid)) {
+            return false;
+        }
+
+        GameProfile profile = MojangSkinFetcher.fetchProfileAsync(uuid).join();
+        if (!MojangSkinFetcher.hasTextures(profile) || !add(profile)) {
+            return false;
+        }
+
+        if (username != null) {
+            MojangSkinFetcher.addVerifiedPlayer(username);
+        }
+        return true;
+    }
+
+    private boolean add(GameProfile profile) {
+        if (!pooled.add(profile.getId())) {
+            return false;
+        }
+        profiles.add(profile);
+        profilesAdded.incrementAndGet();
+        return true;
+    }
+
+    int size() {
+        return profiles.size();
+    }
+
+    /**
+     * Pool size against its targets, hit/miss and refill counters
+     */
+    String getStats() {
+        return String.format("size=%d target=%d lowWater=%d hits=%d misses=%d refills=%d added=%d",
+            profiles.size(), targetSize, lowWaterMark, hits.get(), misses.get(), refills.get(), profilesAdded.get());
+    }
+}
@@ -0,0 +1,49 @@
+package com.aibrigade.bots;
+
+import com.mojang.authlib.GameProfile;
+
+/**
+ * SkinSource - Somewhere random bot skins come from
+ *
+ * Implementations:
+ * - MojangSkinSource : real players via the Mojang API (pre-warmed profile pool)
+ * - LocalSkinSource  : PNG skins from a directory or resource pack zip, plus an index file
+ * - HttpSkinSource   : the same index + PNG layout served by a local HTTP server
+ *
+ * Sources are combined by SkinSourceSelector (round-robin or weighted).
+ * {@link #nextProfile()} is called on the spawn path and must never wait on the network.
+ */
+public interface SkinSource {
+
+    /**
+     * Short name for logs and stats
+     */
+    String getName();
+
+    /**
+     * A profile whose "textures" property can be applied to a bot right away
+     *
+     * @return A ready profile, or null if this source has none available yet
+     */
+    GameProfile nextProfile();
+
+    /**
+     * Start loading in the background so profiles are ready before bots ask for them
+     */
+    default void prewarm() {
+    }
+
+    /**
+     * True if this source needs the Mojang API (unusable on offline servers)
+     */
+    default boolean usesMojangApi() {
+        return false;
+    }
+
+    /**
+     * Description in the skin sources log line; sources with counters append them
+     */
+    default String getStats() {
+        return getName();
+    }
+}
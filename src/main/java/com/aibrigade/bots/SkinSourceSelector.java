@@ -0,0 +1,189 @@
+package com.aibrigade.bots;
+
+import com.mojang.authlib.GameProfile;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * SkinSourceSelector - Picks the SkinSource of each new random skin
+ *
+ * Modes:
+ * - ROUND_ROBIN : sources in turn, a source of weight N getting N consecutive turns
+ * - WEIGHTED    : random source, with probability proportional to its weight
+ *
+ * If the chosen source has nothing ready, the others are tried in order, so a slow
+ * or empty source never leaves a bot without a skin while another one has some.
+ *
+ * Config format (skinSources), comma separated, optional "*weight":
+ * <pre>
+ * mojang
+ * local:config/aibrigade_skins*3, mojang*1
+ * http:http://127.0.0.1:8080/skins, local:resourcepacks/bot_skins.zip
+ * </pre>
+ */
+public class SkinSourceSelector {
+
+    public enum Mode {
+        ROUND_ROBIN,
+        WEIGHTED
+    }
+
+    private record WeightedSource(SkinSource source, int weight) {
+    }
+
+    private final List<WeightedSource> sources;
+    private final Mode mode;
+    private final int totalWeight;
+
+    // Round-robin: each source repeated "weight" times
+    private final SkinSource[] turns;
+    private final AtomicInteger nextTurn = new AtomicInteger(0);
+
+    private SkinSourceSelector(List<WeightedSource> sources, Mode mode) {
+        this.sources = List.copyOf(sources);
+        this.mode = mode;
+        this.totalWeight = sources.stream().mapToInt(WeightedSource::weight).sum();
+
+        List<SkinSource> expanded = new ArrayList<>();
+        for (WeightedSource entry : sources) {
+            for (int i = 0; i < entry.weight(); i++) {
+                expanded.add(entry.source());
+            }
+        }
+        this.turns = expanded.toArray(new SkinSource[0]);
+    }
+
+    /**
+     * Mojang only (previous behavior)
+     */
+    public static SkinSourceSelector mojangOnly() {
+        return new SkinSourceSelector(List.of(new WeightedSource(new MojangSkinSource(), 1)), Mode.ROUND_ROBIN);
+    }
+
+    /**
+     * Build a selector from the config values
+     *
+     * @param spec Sources, see class comment
+     * @param mode "round_robin" or "weighted"
+     * @throws IllegalArgumentException if a value is invalid
+     */
+    public static SkinSourceSelector parse(String spec, String mode) {
+        Mode selectionMode;
+        try {
+            selectionMode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown skin source selection '" + mode + "'");
+        }
+
+        List<WeightedSource> sources = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String entry = part.trim();
+            if (entry.isEmpty()) {
+                continue;
+            }
+
+            int weight = 1;
+            int star = entry.lastIndexOf('*');
+            if (star > 0) {
+                try {
+                    weight = Integer.parseInt(entry.substring(star + 1).trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid weight in skin source '" + entry + "'");
+                }
+                entry = entry.substring(0, star).trim();
+            }
+            if (weight <= 0) {
+                continue;
+            }
+
+            sources.add(new WeightedSource(createSource(entry), weight));
+        }
+
+        if (sources.isEmpty()) {
+            throw new IllegalArgumentException("No skin source configured");
+        }
+        return new SkinSourceSelector(sources, selectionMode);
+    }
+
+    private static SkinSource createSource(String entry) {
+        int colon = entry.indexOf(':');
+        String type = (colon < 0 ? entry : entry.substring(0, colon)).toLowerCase(Locale.ROOT);
+        String location = colon < 0 ? "" : entry.substring(colon + 1).trim();
+
+        return switch (type) {
+            case "mojang" -> new MojangSkinSource();
+            case "local" -> {
+                if (location.isEmpty()) {
+                    throw new IllegalArgumentException("local skin source needs a path (local:<dir or zip>)");
+                }
+                yield new LocalSkinSource(Paths.get(location));
+            }
+            case "http" -> {
+                if (location.isEmpty()) {
+                    throw new IllegalArgumentException("http skin source needs a URL (http:<base url>)");
+                }
+                yield new HttpSkinSource(location);
+            }
+            default -> throw new IllegalArgumentException("Unknown skin source type '" + type + "'");
+        };
+    }
+
+    /**
+     * Next ready profile (never waits on the network)
+     *
+     * @return A profile, or null if no source has one ready
+     */
+    public GameProfile nextProfile() {
+        SkinSource first = mode == Mode.WEIGHTED ? pickWeighted() : turns[Math.floorMod(nextTurn.getAndIncrement(), turns.length)];
+
+        GameProfile profile = first.nextProfile();
+        if (profile != null) {
+            return profile;
+        }
+
+        // Fallback: any other source with a skin ready
+        for (WeightedSource entry : sources) {
+            if (entry.source() != first) {
+                profile = entry.source().nextProfile();
+                if (profile != null) {
+                    return profile;
+                }
+            }
+        }
+        return null;
+    }
+
+    private SkinSource pickWeighted() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (WeightedSource entry : sources) {
+            roll -= entry.weight();
+            if (roll < 0) {
+                return entry.source();
+            }
+        }
+        return sources.get(sources.size() - 1).source();
+    }
+
+    public void prewarm() {
+        sources.forEach(entry -> entry.source().prewarm());
+    }
+
+    /**
+     * False on offline setups: nothing may fall back to the Mojang API
+     */
+    public boolean usesMojangApi() {
+        return sources.stream().anyMatch(entry -> entry.source().usesMojangApi());
+    }
+
+    public String getStats() {
+        return mode.name().toLowerCase(Locale.ROOT) + " " + sources.stream()
+            .map(entry -> entry.source().getStats() + "*" + entry.weight())
+            .collect(Collectors.joining(", "));
+    }
+}
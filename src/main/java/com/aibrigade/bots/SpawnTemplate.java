@@ -0,0 +1,254 @@
+package com.aibrigade.bots;
+
+import com.aibrigade.main.AIBrigadeMod;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.mojang.serialization.JsonOps;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.EquipmentSlot;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+import java.util.*;
+
+/**
+ * SpawnTemplate - A bot preset compiled once, then stamped onto every bot of a group spawn
+ *
+ * Compiling parses the preset JSON a single time:
+ * - behavior, radius, static/hostile flags, role and building toggle as typed values
+ * - behavior config as a prebuilt NBT image (loaded into each bot, no per-bot parsing)
+ * - equipment as ItemStack prototypes (each bot gets a copy)
+ * - skin usernames, assigned round-robin
+ *
+ * The leader is resolved once per spawn by BotManager, not once per bot.
+ * Parts the preset leaves out fall back to the per-bot defaults
+ * (random famous skin, RandomEquipment).
+ *
+ * Preset format (presets.json, see PersistenceManager):
+ * <pre>
+ * "guards": {
+ *   "leader": "Steve",            // player or bot name, "none" for no leader
+ *   "behavior": "guard",
+ *   "radius": 12.0,
+ *   "static": false,
+ *   "hostile": false,
+ *   "canPlaceBlocks": true,
+ *   "role": "GUARD",
+ *   "config": "patrol",           // bodyguard | soldier | leader | patrol, or an object of overrides
+ *   "mainHand": "iron_sword",
+ *   "offHand": "shield",
+ *   "armor": { "head": "iron_helmet", "chest": "iron_chestplate" },
+ *   "skins": [ "Notch", "jeb_" ]
+ * }
+ * </pre>
+ */
+public class SpawnTemplate {
+
+    private static final String NO_LEADER = "none";
+
+    private final String name;
+    private final String leaderName;
+    private final String behavior;
+    private final float followRadius;
+    private final boolean isStatic;
+    private final boolean hostile;
+    private final boolean canPlaceBlocks;
+    private final BotEntity.BotRole role;
+    private final CompoundTag behaviorConfigImage;
+    private final Map<EquipmentSlot, ItemStack> equipment;
+    private final List<String> skins;
+
+    private SpawnTemplate(String name, String leaderName, String behavior, float followRadius,
+                          boolean isStatic, boolean hostile, boolean canPlaceBlocks, BotEntity.BotRole role,
+                          CompoundTag behaviorConfigImage, Map<EquipmentSlot, ItemStack> equipment,
+                          List<String> skins) {
+        this.name = name;
+        this.leaderName = leaderName;
+        this.behavior = behavior;
+        this.followRadius = followRadius;
+        this.isStatic = isStatic;
+        this.hostile = hostile;
+        this.canPlaceBlocks = canPlaceBlocks;
+        this.role = role;
+        this.behaviorConfigImage = behaviorConfigImage;
+        this.equipment = equipment;
+        this.skins = skins;
+    }
+
+    /**
+     * Template for the plain "/aibrigade spawn group" arguments (no preset)
+     * Skins and equipment stay random per bot.
+     */
+    public static SpawnTemplate of(String leaderName, String behavior, float followRadius, boolean isStatic) {
+        return new SpawnTemplate("<command>", leaderName, behavior, followRadius, isStatic, false, true,
+            BotEntity.BotRole.SOLDIER, BotBehaviorConfig.createSoldier().saveToNBT(),
+            Collections.emptyMap(), Collections.emptyList());
+    }
+
+    /**
+     * Compile a preset
+     *
+     * @throws IllegalArgumentException if a value of the preset is invalid
+     */
+    public static SpawnTemplate compile(String name, JsonObject preset) {
+        String leaderName = getString(preset, "leader", NO_LEADER);
+        String behavior = getString(preset, "behavior", "follow");
+        float radius = preset.has("radius") ? preset.get("radius").getAsFloat() : 10.0f;
+        boolean isStatic = preset.has("static") && preset.get("static").getAsBoolean();
+        boolean hostile = preset.has("hostile") && preset.get("hostile").getAsBoolean();
+        boolean canPlaceBlocks = !preset.has("canPlaceBlocks") || preset.get("canPlaceBlocks").getAsBoolean();
+
+        BotEntity.BotRole role;
+        try {
+            role = BotEntity.BotRole.valueOf(getString(preset, "role", "SOLDIER").toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown role '" + preset.get("role").getAsString() + "'");
+        }
+
+        Map<EquipmentSlot, ItemStack> equipment = new EnumMap<>(EquipmentSlot.class);
+        if (preset.has("mainHand")) {
+            equipment.put(EquipmentSlot.MAINHAND, parseItem(preset.get("mainHand").getAsString()));
+        }
+        if (preset.has("offHand")) {
+            equipment.put(EquipmentSlot.OFFHAND, parseItem(preset.get("offHand").getAsString()));
+        }
+        if (preset.has("armor")) {
+            for (Map.Entry<String, JsonElement> entry : preset.getAsJsonObject("armor").entrySet()) {
+                equipment.put(parseArmorSlot(entry.getKey()), parseItem(entry.getValue().getAsString()));
+            }
+        }
+
+        List<String> skins = new ArrayList<>();
+        if (preset.has("skins")) {
+            JsonArray array = preset.getAsJsonArray("skins");
+            array.forEach(element -> skins.add(element.getAsString()));
+        }
+
+        return new SpawnTemplate(name, leaderName, behavior, radius, isStatic, hostile, canPlaceBlocks, role,
+            compileBehaviorConfig(preset.get("config")), equipment, List.copyOf(skins));
+    }
+
+    /**
+     * Behavior config: named preset, or overrides on top of the soldier preset
+     */
+    private static CompoundTag compileBehaviorConfig(JsonElement config) {
+        if (config == null || config.isJsonNull()) {
+            return BotBehaviorConfig.createSoldier().saveToNBT();
+        }
+
+        if (config.isJsonPrimitive()) {
+            return switch (config.getAsString().toLowerCase(Locale.ROOT)) {
+                case "bodyguard" -> BotBehaviorConfig.createBodyguard().saveToNBT();
+                case "soldier" -> BotBehaviorConfig.createSoldier().saveToNBT();
+                case "leader" -> BotBehaviorConfig.createLeader().saveToNBT();
+                case "patrol" -> BotBehaviorConfig.createPatrol().saveToNBT();
+                default -> throw new IllegalArgumentException("Unknown behavior config '" + config.getAsString() + "'");
+            };
+        }
+
+        Tag overrides = JsonOps.INSTANCE.convertTo(NbtOps.INSTANCE, config);
+        if (!(overrides instanceof CompoundTag overrideTag)) {
+            throw new IllegalArgumentException("Behavior config must be a name or an object");
+        }
+        BotBehaviorConfig base = BotBehaviorConfig.createSoldier();
+        base.loadFromNBT(overrideTag);
+        return base.saveToNBT();
+    }
+
+    /**
+     * "iron_sword" or "minecraft:iron_sword"; "empty" leaves the slot empty
+     */
+    private static ItemStack parseItem(String id) {
+        if ("empty".equalsIgnoreCase(id) || "air".equalsIgnoreCase(id)) {
+            return ItemStack.EMPTY;
+        }
+
+        ResourceLocation itemId = ResourceLocation.tryParse(id.toLowerCase(Locale.ROOT));
+        Item item = itemId != null ? BuiltInRegistries.ITEM.get(itemId) : Items.AIR;
+        if (item == Items.AIR) {
+            throw new IllegalArgumentException("Unknown item '" + id + "'");
+        }
+        return new ItemStack(item);
+    }
+
+    private static EquipmentSlot parseArmorSlot(String slot) {
+        return switch (slot.toLowerCase(Locale.ROOT)) {
+            case "head", "helmet" -> EquipmentSlot.HEAD;
+            case "chest", "chestplate" -> EquipmentSlot.CHEST;
+            case "legs", "leggings" -> EquipmentSlot.LEGS;
+            case "feet", "boots" -> EquipmentSlot.FEET;
+            default -> throw new IllegalArgumentException("Unknown armor slot '" + slot + "'");
+        };
+    }
+
+    private static String getString(JsonObject object, String key, String fallback) {
+        return object.has(key) && !object.get(key).isJsonNull() ? object.get(key).getAsString() : fallback;
+    }
+
+    /**
+     * Stamp the template onto a freshly created bot (before it is added to the world)
+     *
+     * @param bot Bot created without random appearance (see BotEntity constructor)
+     * @param groupName Group the bot joins
+     * @param leaderId Leader resolved once for the whole spawn, or null
+     * @param index Position of the bot in the spawn (round-robin skin selection)
+     */
+    public void applyTo(BotEntity bot, String groupName, UUID leaderId, int index) {
+        bot.setBehaviorType(behavior);
+        bot.setFollowRadius(followRadius);
+        bot.setStatic(isStatic);
+        bot.setHostile(hostile);
+        bot.setCanPlaceBlocks(canPlaceBlocks);
+        bot.setRole(role);
+        bot.setBotGroup(groupName);
+
+        BotBehaviorConfig config = new BotBehaviorConfig();
+        config.loadFromNBT(behaviorConfigImage);
+        bot.setBehaviorConfig(config);
+
+        if (leaderId != null) {
+            bot.setLeaderId(leaderId);
+            bot.setFollowingLeader(true);
+        }
+
+        // Skin: preset usernames (served from the skin caches), otherwise a random famous player
+        if (!skins.isEmpty()) {
+            MojangSkinFetcher.applyPlayerSkin(bot, skins.get(index % skins.size()));
+        } else {
+            MojangSkinFetcher.applyRandomFamousSkin(bot);
+        }
+
+        if (equipment.isEmpty()) {
+            RandomEquipment.equipRandomItem(bot);
+        } else {
+            equipment.forEach((slot, prototype) -> bot.setItemSlot(slot, prototype.copy()));
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Leader name, or null if the preset has no leader
+     */
+    public String getLeaderName() {
+        return NO_LEADER.equalsIgnoreCase(leaderName) ? null : leaderName;
+    }
+
+    public float getFollowRadius() {
+        return followRadius;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (behavior=" + behavior + ", radius=" + followRadius + ", leader=" + leaderName
+            + ", skins=" + skins.size() + ", equipment=" + equipment.size() + " slots)";
+    }
+}
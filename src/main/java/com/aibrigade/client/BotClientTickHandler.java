@@ -0,0 +1,48 @@
+package com.aibrigade.client;
+
+import com.aibrigade.bots.BotClientOptimizer;
+import com.aibrigade.main.AIBrigadeMod;
+import com.aibrigade.network.ClientGroupStates;
+import com.aibrigade.network.ClientSkinCache;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.player.LocalPlayer;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+/**
+ * BotClientTickHandler - Client tick and connection hooks for bots
+ *
+ * - publishes the local player position to BotClientOptimizer before entities tick,
+ *   so BotEntity can pick its lightweight client tick without touching client classes
+ * - drops the per-connection skin dictionary and group states on logout
+ */
+@Mod.EventBusSubscriber(modid = AIBrigadeMod.MOD_ID, bus = Mod.EventBusSubscriber.Bus.FORGE, value = Dist.CLIENT)
+public final class BotClientTickHandler {
+
+    private BotClientTickHandler() {
+    }
+
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.START) {
+            return;
+        }
+
+        LocalPlayer player = Minecraft.getInstance().player;
+        if (player != null) {
+            BotClientOptimizer.updateViewer(true, player.getX(), player.getY(), player.getZ());
+        } else {
+            BotClientOptimizer.updateViewer(false, 0.0, 0.0, 0.0);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        // Skin ids are per connection
+        ClientSkinCache.clear();
+        ClientGroupStates.clear();
+    }
+}
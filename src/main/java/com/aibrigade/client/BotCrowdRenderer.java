@@ -0,0 +1,216 @@
+package com.aibrigade.client;
+
+import com.aibrigade.bots.BotEntity;
+import com.aibrigade.main.AIBrigadeMod;
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import com.mojang.math.Axis;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.model.HumanoidModel;
+import net.minecraft.client.model.PlayerModel;
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.texture.OverlayTexture;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.RenderLevelStageEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.*;
+
+/**
+ * BotCrowdRenderer - Mid-range bots drawn as a crowd, grouped by skin and walk phase
+ *
+ * Instead of the full LivingEntityRenderer path per bot (render events, layers, name tag,
+ * model pose), the bot renderer only records mid-range bots. After the entities:
+ * - bots are grouped by skin texture: one buffer (draw call) per skin
+ * - inside a skin, by quantized walk phase: the model is posed once per phase and
+ *   reused for every bot of the group
+ * - each bot only adds its transform (position, body rotation) and light
+ *
+ * Bots that need more than a walking body (hurt, dying, glowing, targeted, special
+ * poses) stay on the normal renderer, like nearby bots.
+ *
+ * Vanilla has no hardware instancing for entity models: "instances" share the posed
+ * model and the buffer, vertices are still written per bot.
+ * Render thread only.
+ */
+@Mod.EventBusSubscriber(modid = AIBrigadeMod.MOD_ID, bus = Mod.EventBusSubscriber.Bus.FORGE, value = Dist.CLIENT)
+public final class BotCrowdRenderer {
+
+    // Walk cycle of HumanoidModel: cos(limbSwing * 0.6662)
+    private static final float WALK_PERIOD = Mth.TWO_PI / 0.6662F;
+    private static final int PHASE_BUCKETS = 8;
+    private static final int SPEED_BUCKETS = 4;
+
+    private static final float MODEL_SCALE = 0.9375F;
+
+    /**
+     * One recorded bot (pooled, reused every frame)
+     */
+    private static final class Instance {
+        double x;
+        double y;
+        double z;
+        float bodyYaw;
+        int phase;
+        int light;
+    }
+
+    private static final Map<ResourceLocation, List<Instance>> GROUPS = new HashMap<>();
+    private static final List<Instance> POOL = new ArrayList<>();
+    private static final Comparator<Instance> BY_PHASE = Comparator.comparingInt(instance -> instance.phase);
+    private static int used = 0;
+
+    private static PlayerModel<BotEntity> model;
+    private static BotEntity representative;
+
+
+    private BotCrowdRenderer() {
+    }
+
+    /**
+     * True if the bot must go through the normal renderer (hurt, dying, special pose...)
+     */
+    public static boolean needsFullRenderer(BotEntity bot) {
+        return bot.hurtTime > 0
+            || bot.deathTime > 0
+            || bot.swinging
+            || bot.isCurrentlyGlowing()
+            || bot.isInvisible()
+            || bot.isPassenger()
+            || bot.isSleeping()
+            || bot.isFallFlying()
+            || bot.isVisuallySwimming()
+            || bot.isCrouching()
+            || Minecraft.getInstance().crosshairPickEntity == bot;
+    }
+
+    /**
+     * Record a mid-range bot for this frame
+     *
+     * @param botModel Model of the bot renderer (posed once per phase group)
+     * @param skin Texture the bot is rendered with
+     */
+    public static void add(PlayerModel<BotEntity> botModel, BotEntity bot, ResourceLocation skin,
+                           float partialTicks, int packedLight) {
+        model = botModel;
+        if (representative == null) {
+            representative = bot;
+        }
+
+        Instance instance;
+        if (used < POOL.size()) {
+            instance = POOL.get(used);
+        } else {
+            instance = new Instance();
+            POOL.add(instance);
+        }
+        used++;
+
+        instance.x = Mth.lerp(partialTicks, bot.xo, bot.getX());
+        instance.y = Mth.lerp(partialTicks, bot.yo, bot.getY());
+        instance.z = Mth.lerp(partialTicks, bot.zo, bot.getZ());
+        instance.bodyYaw = Mth.rotLerp(partialTicks, bot.yBodyRotO, bot.yBodyRot);
+        instance.phase = walkPhase(bot.walkAnimation.position(partialTicks), bot.walkAnimation.speed(partialTicks));
+        instance.light = packedLight;
+
+        GROUPS.computeIfAbsent(skin, key -> new ArrayList<>()).add(instance);
+    }
+
+    /**
+     * Quantized (position in the walk cycle, stride amplitude); 0 when standing still
+     */
+    private static int walkPhase(float position, float speed) {
+        int speedBucket = Math.min(SPEED_BUCKETS - 1, Math.round(Mth.clamp(speed, 0.0F, 1.0F) * (SPEED_BUCKETS - 1)));
+        if (speedBucket == 0) {
+            return 0;
+        }
+        int phaseBucket = (int) (Mth.positiveModulo(position, WALK_PERIOD) / WALK_PERIOD * PHASE_BUCKETS) % PHASE_BUCKETS;
+        return phaseBucket * SPEED_BUCKETS + speedBucket;
+    }
+
+    @SubscribeEvent
+    public static void onRenderLevelStage(RenderLevelStageEvent event) {
+        if (event.getStage() != RenderLevelStageEvent.Stage.AFTER_ENTITIES) {
+            return;
+        }
+        if (used == 0) {
+            return;
+        }
+
+        Vec3 camera = event.getCamera().getPosition();
+        PoseStack poseStack = event.getPoseStack();
+        MultiBufferSource.BufferSource buffers = Minecraft.getInstance().renderBuffers().bufferSource();
+
+        prepareModel();
+
+        for (Map.Entry<ResourceLocation, List<Instance>> group : GROUPS.entrySet()) {
+            List<Instance> instances = group.getValue();
+            if (instances.isEmpty()) {
+                continue;
+            }
+            instances.sort(BY_PHASE);
+
+            VertexConsumer consumer = buffers.getBuffer(RenderType.entityCutoutNoCull(group.getKey()));
+            int posedPhase = -1;
+
+            for (Instance instance : instances) {
+                if (instance.phase != posedPhase) {
+                    pose(instance.phase);
+                    posedPhase = instance.phase;
+                }
+
+                // Same transforms as LivingEntityRenderer (rotation, flip, scale, model offset)
+                poseStack.pushPose();
+                poseStack.translate(instance.x - camera.x, instance.y - camera.y, instance.z - camera.z);
+                poseStack.mulPose(Axis.YP.rotationDegrees(180.0F - instance.bodyYaw));
+                poseStack.scale(-1.0F, -1.0F, 1.0F);
+                poseStack.scale(MODEL_SCALE, MODEL_SCALE, MODEL_SCALE);
+                poseStack.translate(0.0F, -1.501F, 0.0F);
+                model.renderToBuffer(poseStack, consumer, instance.light, OverlayTexture.NO_OVERLAY,
+                    1.0F, 1.0F, 1.0F, 1.0F);
+                poseStack.popPose();
+            }
+            instances.clear();
+        }
+        buffers.endLastBatch();
+
+        // Skins not seen this frame stop being tracked
+        GROUPS.values().removeIf(List::isEmpty);
+
+        used = 0;
+        representative = null;
+    }
+
+    /**
+     * Crowd bots: plain walking body, no overlay parts
+     */
+    private static void prepareModel() {
+        model.attackTime = 0.0F;
+        model.riding = false;
+        model.young = false;
+        model.crouching = false;
+        model.swimAmount = 0.0F;
+        model.leftArmPose = HumanoidModel.ArmPose.EMPTY;
+        model.rightArmPose = HumanoidModel.ArmPose.EMPTY;
+        model.setAllVisible(true);
+        model.hat.visible = false;
+        model.jacket.visible = false;
+        model.leftSleeve.visible = false;
+        model.rightSleeve.visible = false;
+        model.leftPants.visible = false;
+        model.rightPants.visible = false;
+    }
+
+    private static void pose(int phase) {
+        int speedBucket = phase % SPEED_BUCKETS;
+        int phaseBucket = phase / SPEED_BUCKETS;
+        float limbSwing = (phaseBucket + 0.5F) * WALK_PERIOD / PHASE_BUCKETS;
+        float limbSwingAmount = speedBucket / (float) (SPEED_BUCKETS - 1);
+        model.setupAnim(representative, limbSwing, limbSwingAmount, 0.0F, 0.0F, 0.0F);
+    }
+}
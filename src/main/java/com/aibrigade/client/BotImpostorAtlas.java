@@ -0,0 +1,241 @@
+package com.aibrigade.client;
+
+import com.aibrigade.main.AIBrigadeMod;
+import com.mojang.blaze3d.platform.NativeImage;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.texture.AbstractTexture;
+import net.minecraft.client.renderer.texture.DynamicTexture;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * BotImpostorAtlas - Front-view sprites of bot skins, packed in one texture
+ *
+ * Each sprite (16x32) is composed once from the skin pixels: head, body, arms and legs
+ * front faces with their overlay parts. All sprites share a single atlas, so every
+ * distant bot can be drawn with one texture and one draw call.
+ *
+ * - skins uploaded by BotSkinTextureManager: pixels read from their DynamicTexture
+ * - default skins: read once from the resources, never evicted
+ * - skins without CPU pixels (vanilla downloads): no sprite, the caller falls back
+ *
+ * When the atlas is full, the least recently drawn sprite is replaced.
+ * Render thread only.
+ */
+public final class BotImpostorAtlas {
+
+    public static final ResourceLocation LOCATION = new ResourceLocation(AIBrigadeMod.MOD_ID, "bot_impostors");
+
+    private static final int ATLAS_SIZE = 512;
+    private static final int SPRITE_WIDTH = 16;
+    private static final int SPRITE_HEIGHT = 32;
+    private static final int COLUMNS = ATLAS_SIZE / SPRITE_WIDTH;
+    private static final int SLOTS = COLUMNS * (ATLAS_SIZE / SPRITE_HEIGHT);
+
+    /**
+     * Sprite position in the atlas
+     */
+    public static final class Sprite {
+        final ResourceLocation skin;
+        final int slot;
+        final boolean pinned;
+        public final float u0;
+        public final float v0;
+        public final float u1;
+        public final float v1;
+        long lastUsedFrame;
+
+        Sprite(ResourceLocation skin, int slot, boolean pinned) {
+            this.skin = skin;
+            this.slot = slot;
+            this.pinned = pinned;
+            this.u0 = slotX(slot) / (float) ATLAS_SIZE;
+            this.v0 = slotY(slot) / (float) ATLAS_SIZE;
+            this.u1 = (slotX(slot) + SPRITE_WIDTH) / (float) ATLAS_SIZE;
+            this.v1 = (slotY(slot) + SPRITE_HEIGHT) / (float) ATLAS_SIZE;
+        }
+    }
+
+    private static final Map<ResourceLocation, Sprite> SPRITES = new HashMap<>();
+    private static final Set<ResourceLocation> UNAVAILABLE = new HashSet<>();
+    private static final ArrayDeque<Integer> FREE_SLOTS = new ArrayDeque<>();
+    private static final Sprite[] BY_SLOT = new Sprite[SLOTS];
+
+    private static NativeImage atlasImage;
+    private static DynamicTexture atlasTexture;
+    private static int nextSlot = 0;
+
+    private BotImpostorAtlas() {
+    }
+
+    /**
+     * Sprite of a skin texture, composed on first use
+     *
+     * @return The sprite, or null if the skin pixels are not available
+     */
+    public static Sprite getSprite(ResourceLocation skin, long frame) {
+        Sprite sprite = SPRITES.get(skin);
+        if (sprite == null) {
+            if (UNAVAILABLE.contains(skin)) {
+                return null;
+            }
+            sprite = createSprite(skin, frame);
+            if (sprite == null) {
+                UNAVAILABLE.add(skin);
+                return null;
+            }
+        }
+        sprite.lastUsedFrame = frame;
+        return sprite;
+    }
+
+    /**
+     * Forget a skin texture (released by BotSkinTextureManager)
+     */
+    public static void release(ResourceLocation skin) {
+        UNAVAILABLE.remove(skin);
+        Sprite sprite = SPRITES.remove(skin);
+        if (sprite != null) {
+            BY_SLOT[sprite.slot] = null;
+            FREE_SLOTS.add(sprite.slot);
+        }
+    }
+
+    private static Sprite createSprite(ResourceLocation skin, long frame) {
+        boolean fromResources = false;
+        NativeImage pixels = null;
+
+        AbstractTexture texture = Minecraft.getInstance().getTextureManager().getTexture(skin, null);
+        if (texture instanceof DynamicTexture dynamic) {
+            pixels = dynamic.getPixels();
+        } else if ("minecraft".equals(skin.getNamespace())) {
+            pixels = readResource(skin);
+            fromResources = true;
+        }
+
+        if (pixels == null) {
+            return null;
+        }
+
+        try {
+            if (pixels.getWidth() != 64 || pixels.getHeight() != 64) {
+                return null;
+            }
+
+            int slot = allocateSlot(frame);
+            if (slot < 0) {
+                return null;
+            }
+
+            ensureAtlas();
+            compose(pixels, slotX(slot), slotY(slot));
+            atlasTexture.bind();
+            atlasImage.upload(0, slotX(slot), slotY(slot), slotX(slot), slotY(slot),
+                SPRITE_WIDTH, SPRITE_HEIGHT, false, false);
+
+            Sprite sprite = new Sprite(skin, slot, fromResources);
+            BY_SLOT[slot] = sprite;
+            SPRITES.put(skin, sprite);
+            return sprite;
+        } finally {
+            if (fromResources) {
+                pixels.close();
+            }
+        }
+    }
+
+    private static NativeImage readResource(ResourceLocation location) {
+        Optional<Resource> resource = Minecraft.getInstance().getResourceManager().getResource(location);
+        if (resource.isEmpty()) {
+            return null;
+        }
+        try (InputStream in = resource.get().open()) {
+            return NativeImage.read(in);
+        } catch (IOException e) {
+            AIBrigadeMod.LOGGER.warn("[BotImpostorAtlas] Could not read {}: {}", location, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Free slot, or the least recently drawn sprite (not drawn this frame)
+     */
+    private static int allocateSlot(long frame) {
+        if (!FREE_SLOTS.isEmpty()) {
+            return FREE_SLOTS.poll();
+        }
+        if (nextSlot < SLOTS) {
+            return nextSlot++;
+        }
+
+        Sprite oldest = null;
+        for (Sprite sprite : BY_SLOT) {
+            if (sprite != null && !sprite.pinned && sprite.lastUsedFrame < frame
+                && (oldest == null || sprite.lastUsedFrame < oldest.lastUsedFrame)) {
+                oldest = sprite;
+            }
+        }
+        if (oldest == null) {
+            return -1;
+        }
+
+        SPRITES.remove(oldest.skin);
+        BY_SLOT[oldest.slot] = null;
+        return oldest.slot;
+    }
+
+    private static void ensureAtlas() {
+        if (atlasTexture == null) {
+            atlasImage = new NativeImage(ATLAS_SIZE, ATLAS_SIZE, true);
+            atlasTexture = new DynamicTexture(atlasImage);
+            Minecraft.getInstance().getTextureManager().register(LOCATION, atlasTexture);
+        }
+    }
+
+    /**
+     * Front faces of a 64x64 skin, base then overlay, at (x, y) in the atlas
+     */
+    private static void compose(NativeImage skin, int x, int y) {
+        atlasImage.fillRect(x, y, SPRITE_WIDTH, SPRITE_HEIGHT, 0);
+
+        // Head
+        copy(skin, 8, 8, 8, 8, x + 4, y, false);
+        copy(skin, 40, 8, 8, 8, x + 4, y, true);
+        // Body
+        copy(skin, 20, 20, 8, 12, x + 4, y + 8, false);
+        copy(skin, 20, 36, 8, 12, x + 4, y + 8, true);
+        // Right arm (viewer's left), left arm
+        copy(skin, 44, 20, 4, 12, x, y + 8, false);
+        copy(skin, 44, 36, 4, 12, x, y + 8, true);
+        copy(skin, 36, 52, 4, 12, x + 12, y + 8, false);
+        copy(skin, 52, 52, 4, 12, x + 12, y + 8, true);
+        // Right leg, left leg
+        copy(skin, 4, 20, 4, 12, x + 4, y + 20, false);
+        copy(skin, 4, 36, 4, 12, x + 4, y + 20, true);
+        copy(skin, 20, 52, 4, 12, x + 8, y + 20, false);
+        copy(skin, 4, 52, 4, 12, x + 8, y + 20, true);
+    }
+
+    private static void copy(NativeImage skin, int sx, int sy, int width, int height, int dx, int dy, boolean overlay) {
+        for (int i = 0; i < width; i++) {
+            for (int j = 0; j < height; j++) {
+                int pixel = skin.getPixelRGBA(sx + i, sy + j);
+                if (!overlay || (pixel >>> 24) != 0) {
+                    atlasImage.setPixelRGBA(dx + i, dy + j, pixel);
+                }
+            }
+        }
+    }
+
+    private static int slotX(int slot) {
+        return (slot % COLUMNS) * SPRITE_WIDTH;
+    }
+
+    private static int slotY(int slot) {
+        return (slot / COLUMNS) * SPRITE_HEIGHT;
+    }
+}
@@ -0,0 +1,149 @@
+package com.aibrigade.client;
+
+import com.aibrigade.bots.BotEntity;
+import com.aibrigade.main.AIBrigadeMod;
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.texture.OverlayTexture;
+import net.minecraft.client.resources.DefaultPlayerSkin;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.RenderLevelStageEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.joml.Matrix3f;
+import org.joml.Matrix4f;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * BotImpostorRenderer - Distant bots drawn as camera-facing sprites, in one batch
+ *
+ * The bot renderer only records distant bots (position, sprite, light) during entity
+ * rendering. After the entities, every recorded bot becomes one quad of the impostor
+ * atlas, all submitted with a single render type: one draw call for the whole crowd.
+ *
+ * Render thread only.
+ */
+@Mod.EventBusSubscriber(modid = AIBrigadeMod.MOD_ID, bus = Mod.EventBusSubscriber.Bus.FORGE, value = Dist.CLIENT)
+public final class BotImpostorRenderer {
+
+    // Same size as the scaled bot model (0.9375 * player size)
+    private static final float HALF_WIDTH = 0.45F * 0.9375F;
+    private static final float HEIGHT = 1.8F * 0.9375F;
+
+    private static final RenderType RENDER_TYPE = RenderType.entityCutoutNoCull(BotImpostorAtlas.LOCATION);
+
+    // Impostors of the current frame (parallel arrays, reused)
+    private static double[] xs = new double[256];
+    private static double[] ys = new double[256];
+    private static double[] zs = new double[256];
+    private static BotImpostorAtlas.Sprite[] sprites = new BotImpostorAtlas.Sprite[256];
+    private static int[] lights = new int[256];
+    private static int count = 0;
+
+    private static long frame = 0;
+
+    private BotImpostorRenderer() {
+    }
+
+    /**
+     * Record a distant bot for this frame's batch
+     *
+     * @param skin Texture the bot would be rendered with
+     */
+    public static void add(BotEntity bot, ResourceLocation skin, float partialTicks, int packedLight) {
+        if (bot.isInvisible()) {
+            return;
+        }
+
+        BotImpostorAtlas.Sprite sprite = BotImpostorAtlas.getSprite(skin, frame);
+        if (sprite == null) {
+            // Skin without sprite (still loading, legacy download...): default skin of the UUID
+            UUID playerUUID = bot.getPlayerUUID();
+            ResourceLocation fallback = playerUUID != null
+                ? DefaultPlayerSkin.getDefaultSkin(playerUUID) : DefaultPlayerSkin.getDefaultSkin();
+            sprite = BotImpostorAtlas.getSprite(fallback, frame);
+            if (sprite == null) {
+                return;
+            }
+        }
+
+        if (count == xs.length) {
+            int capacity = count * 2;
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            zs = Arrays.copyOf(zs, capacity);
+            sprites = Arrays.copyOf(sprites, capacity);
+            lights = Arrays.copyOf(lights, capacity);
+        }
+
+        xs[count] = Mth.lerp(partialTicks, bot.xo, bot.getX());
+        ys[count] = Mth.lerp(partialTicks, bot.yo, bot.getY());
+        zs[count] = Mth.lerp(partialTicks, bot.zo, bot.getZ());
+        sprites[count] = sprite;
+        lights[count] = packedLight;
+        count++;
+    }
+
+    @SubscribeEvent
+    public static void onRenderLevelStage(RenderLevelStageEvent event) {
+        if (event.getStage() != RenderLevelStageEvent.Stage.AFTER_ENTITIES) {
+            return;
+        }
+        frame++;
+        if (count == 0) {
+            return;
+        }
+
+        Vec3 camera = event.getCamera().getPosition();
+        float yaw = event.getCamera().getYRot() * Mth.DEG_TO_RAD;
+        // Horizontal right vector of the camera, and the quad normal facing it
+        float rightX = -Mth.cos(yaw) * HALF_WIDTH;
+        float rightZ = -Mth.sin(yaw) * HALF_WIDTH;
+        float normalX = Mth.sin(yaw);
+        float normalZ = -Mth.cos(yaw);
+
+        PoseStack.Pose last = event.getPoseStack().last();
+        Matrix4f pose = last.pose();
+        Matrix3f normal = last.normal();
+
+        MultiBufferSource.BufferSource buffers = Minecraft.getInstance().renderBuffers().bufferSource();
+        VertexConsumer consumer = buffers.getBuffer(RENDER_TYPE);
+
+        for (int i = 0; i < count; i++) {
+            float x = (float) (xs[i] - camera.x);
+            float y = (float) (ys[i] - camera.y);
+            float z = (float) (zs[i] - camera.z);
+            BotImpostorAtlas.Sprite sprite = sprites[i];
+            int light = lights[i];
+
+            vertex(consumer, pose, normal, x - rightX, y, z - rightZ, sprite.u0, sprite.v1, light, normalX, normalZ);
+            vertex(consumer, pose, normal, x + rightX, y, z + rightZ, sprite.u1, sprite.v1, light, normalX, normalZ);
+            vertex(consumer, pose, normal, x + rightX, y + HEIGHT, z + rightZ, sprite.u1, sprite.v0, light, normalX, normalZ);
+            vertex(consumer, pose, normal, x - rightX, y + HEIGHT, z - rightZ, sprite.u0, sprite.v0, light, normalX, normalZ);
+            sprites[i] = null;
+        }
+
+        buffers.endBatch(RENDER_TYPE);
+        count = 0;
+    }
+
+    private static void vertex(VertexConsumer consumer, Matrix4f pose, Matrix3f normal,
+                               float x, float y, float z, float u, float v, int light,
+                               float normalX, float normalZ) {
+        consumer.vertex(pose, x, y, z)
+            .color(255, 255, 255, 255)
+            .uv(u, v)
+            .overlayCoords(OverlayTexture.NO_OVERLAY)
+            .uv2(light)
+            .normal(normal, normalX, 0.0F, normalZ)
+            .endVertex();
+    }
+}
@@ -2,9 +2,6 @@ package com.aibrigade.client;
 
 import com.aibrigade.bots.BotEntity;
 import com.aibrigade.bots.BotClientOptimizer;
-import com.aibrigade.main.AIBrigadeMod;
-import com.mojang.authlib.GameProfile;
-import com.mojang.authlib.properties.Property;
 import com.mojang.blaze3d.vertex.PoseStack;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.model.HumanoidModel;
@@ -17,9 +14,7 @@ import net.minecraft.client.renderer.entity.layers.*;
 import net.minecraft.client.resources.DefaultPlayerSkin;
 import net.minecraft.resources.ResourceLocation;
 
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * BotPlayerSkinRenderer - Renderer personnalisé qui affiche les vrais skins Mojang
@@ -30,81 +25,78 @@ import java.util.concurrent.ConcurrentHashMap;
 public class BotPlayerSkinRenderer extends LivingEntityRenderer<BotEntity, PlayerModel<BotEntity>> {
 
     private static final ResourceLocation DEFAULT_STEVE_SKIN = DefaultPlayerSkin.getDefaultSkin();
+    private static final float SHADOW_RADIUS = 0.5F;
 
-    // Cache pour éviter de télécharger les skins constamment
-    private static final Map<UUID, Boolean> SKIN_LOAD_INITIATED = new ConcurrentHashMap<>();
+    // Niveau de détail du bot en cours de rendu (thread de rendu uniquement)
+    private int currentLod = BotClientOptimizer.LOD_FULL;
 
     public BotPlayerSkinRenderer(EntityRendererProvider.Context context) {
-        super(context, new PlayerModel<>(context.bakeLayer(ModelLayers.PLAYER), false), 0.5F);
+        super(context, new PlayerModel<>(context.bakeLayer(ModelLayers.PLAYER), false), SHADOW_RADIUS);
 
-        // Ajouter les couches de rendu comme pour un joueur
-        this.addLayer(new HumanoidArmorLayer<>(this,
+        // Ajouter les couches de rendu comme pour un joueur (pleine résolution uniquement)
+        this.addFullDetailLayer(new HumanoidArmorLayer<>(this,
             new HumanoidModel<>(context.bakeLayer(ModelLayers.PLAYER_INNER_ARMOR)),
             new HumanoidModel<>(context.bakeLayer(ModelLayers.PLAYER_OUTER_ARMOR)),
             context.getModelManager()));
 
-        this.addLayer(new ItemInHandLayer<>(this, context.getItemInHandRenderer()));
-        this.addLayer(new ArrowLayer<>(context, this));
-        this.addLayer(new CustomHeadLayer<>(this, context.getModelSet(), context.getItemInHandRenderer()));
-        this.addLayer(new ElytraLayer<>(this, context.getModelSet()));
+        this.addFullDetailLayer(new ItemInHandLayer<>(this, context.getItemInHandRenderer()));
+        this.addFullDetailLayer(new ArrowLayer<>(context, this));
+        this.addFullDetailLayer(new CustomHeadLayer<>(this, context.getModelSet(), context.getItemInHandRenderer()));
+        this.addFullDetailLayer(new ElytraLayer<>(this, context.getModelSet()));
+    }
+
+    private void addFullDetailLayer(RenderLayer<BotEntity, PlayerModel<BotEntity>> layer) {
+        this.addLayer(new FullDetailLayer(this, layer));
+    }
+
+    /**
+     * Couche rendue seulement en LOD_FULL (armure, objets en main... ignorés à mi-distance)
+     */
+    private static final class FullDetailLayer extends RenderLayer<BotEntity, PlayerModel<BotEntity>> {
+        private final BotPlayerSkinRenderer renderer;
+        private final RenderLayer<BotEntity, PlayerModel<BotEntity>> delegate;
+
+        FullDetailLayer(BotPlayerSkinRenderer renderer, RenderLayer<BotEntity, PlayerModel<BotEntity>> delegate) {
+            super(renderer);
+            this.renderer = renderer;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void render(PoseStack poseStack, MultiBufferSource bufferSource, int packedLight, BotEntity bot,
+                           float limbSwing, float limbSwingAmount, float partialTicks, float ageInTicks,
+                           float netHeadYaw, float headPitch) {
+            if (renderer.currentLod == BotClientOptimizer.LOD_FULL) {
+                delegate.render(poseStack, bufferSource, packedLight, bot, limbSwing, limbSwingAmount,
+                    partialTicks, ageInTicks, netHeadYaw, headPitch);
+            }
+        }
     }
 
     /**
      * Récupère la texture (skin) pour ce bot
      * Utilise les textures synchronisées depuis le serveur
      * OPTIMIZED: Removed excessive logging for better performance with 200+ bots
+     * PERFORMANCE: textures partagées entre bots et budgétées par BotSkinTextureManager -
+     * une seule texture par skin distinct, chargée hors du thread de rendu, skin par
+     * défaut de l'UUID en attendant
      */
     @Override
     public ResourceLocation getTextureLocation(BotEntity bot) {
         UUID playerUUID = bot.getPlayerUUID();
-        String botName = bot.getBotName();
-        String textureValue = bot.getSkinTextureValue();
-        String textureSignature = bot.getSkinTextureSignature();
 
         // Si pas d'UUID, retourner le skin par défaut
         if (playerUUID == null) {
             return DEFAULT_STEVE_SKIN;
         }
 
-        try {
-            final String finalBotName = (botName == null || botName.isEmpty()) ? "Bot" : botName;
-            Minecraft minecraft = Minecraft.getInstance();
-
-            // Créer le GameProfile avec les textures
-            GameProfile profile = new GameProfile(playerUUID, finalBotName);
-
-            // Si on a les textures synchronisées du serveur, les ajouter au profil
-            if (textureValue != null && !textureValue.isEmpty()) {
-                // Ajouter la property "textures" avec value et signature
-                Property textureProperty;
-                if (textureSignature != null && !textureSignature.isEmpty()) {
-                    textureProperty = new Property("textures", textureValue, textureSignature);
-                } else {
-                    textureProperty = new Property("textures", textureValue);
-                }
-                profile.getProperties().put("textures", textureProperty);
-
-                // Enregistrer le profil avec le SkinManager pour charger la texture (une seule fois)
-                if (!SKIN_LOAD_INITIATED.containsKey(playerUUID)) {
-                    SKIN_LOAD_INITIATED.put(playerUUID, true);
-                    minecraft.getSkinManager().registerSkins(profile, (type, location, profileTexture) -> {
-                        // Skin loaded callback - force re-render
-                        if (minecraft.level != null && bot.isAlive()) {
-                            bot.refreshDimensions();
-                        }
-                    }, true);
-                }
-            }
-
-            // Retourner la texture depuis le skin manager
-            return minecraft.getSkinManager().getInsecureSkinLocation(profile);
-
-        } catch (Exception e) {
-            // Log errors only (not every texture lookup)
-            AIBrigadeMod.LOGGER.error("[BotSkinRenderer] Error loading skin for {}: {}",
-                (botName != null ? botName : "Unknown"), e.getMessage());
-            return DEFAULT_STEVE_SKIN;
+        // Pas de textures synchronisées : skin par défaut de l'UUID (comme le SkinManager)
+        String textureValue = bot.getSkinTextureValue();
+        if (textureValue == null || textureValue.isEmpty()) {
+            return DefaultPlayerSkin.getDefaultSkin(playerUUID);
         }
+
+        return BotSkinTextureManager.getTexture(bot.getId(), playerUUID, textureValue);
     }
 
     @Override
@@ -113,6 +105,7 @@ public class BotPlayerSkinRenderer extends LivingEntityRenderer<BotEntity, Playe
 
         // CLIENT OPTIMIZATION: Minimal distance check only
         // All game logic is handled server-side
+        int lod = BotClientOptimizer.LOD_FULL;
         Minecraft minecraft = Minecraft.getInstance();
         if (minecraft.player != null) {
             double distanceSqr = minecraft.player.distanceToSqr(bot);
@@ -122,20 +115,48 @@ public class BotPlayerSkinRenderer extends LivingEntityRenderer<BotEntity, Playe
                 return;
             }
 
-            // Simple LOD - skip very distant bots
-            int lod = BotClientOptimizer.getSimpleLOD(distanceSqr);
-            if (lod >= 1) {
-                // Distant bots: skip rendering to save client FPS
-                return;
-            }
+            lod = BotClientOptimizer.getLOD(distanceSqr);
+        }
+
+        // PERFORMANCE: l'ombre est dessinée par le dispatcher juste après render(),
+        // avec le rayon du renderer - pas d'ombre hors pleine résolution
+        this.shadowRadius = lod == BotClientOptimizer.LOD_FULL ? SHADOW_RADIUS : 0.0F;
+
+        if (lod == BotClientOptimizer.LOD_IMPOSTOR) {
+            // Loin : sprite du skin, dessiné avec tous les autres en un seul lot après les entités
+            BotImpostorRenderer.add(bot, getTextureLocation(bot), partialTicks, packedLight);
+            return;
+        }
+
+        if (lod == BotClientOptimizer.LOD_REDUCED && !BotCrowdRenderer.needsFullRenderer(bot)) {
+            // Mi-distance : rendu en foule, groupé par skin et phase de marche
+            BotCrowdRenderer.add(getModel(), bot, getTextureLocation(bot), partialTicks, packedLight);
+            return;
         }
 
+        // Mi-distance (bots mis en évidence) : corps seul, sans les parties superposées (chapeau, veste, manches, pantalon)
+        this.currentLod = lod;
+        boolean overlays = lod == BotClientOptimizer.LOD_FULL;
+        PlayerModel<BotEntity> model = getModel();
+        model.hat.visible = overlays;
+        model.jacket.visible = overlays;
+        model.leftSleeve.visible = overlays;
+        model.rightSleeve.visible = overlays;
+        model.leftPants.visible = overlays;
+        model.rightPants.visible = overlays;
+
         // Render the bot - all AI/pathfinding is server-side
         poseStack.pushPose();
         super.render(bot, entityYaw, partialTicks, poseStack, bufferSource, packedLight);
         poseStack.popPose();
     }
 
+    @Override
+    protected boolean shouldShowName(BotEntity bot) {
+        // Pas de nom au-delà de la pleine résolution
+        return currentLod == BotClientOptimizer.LOD_FULL && super.shouldShowName(bot);
+    }
+
     @Override
     protected void scale(BotEntity bot, PoseStack poseStack, float partialTicks) {
         // Taille normale (comme un joueur)
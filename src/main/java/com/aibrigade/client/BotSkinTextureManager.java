@@ -0,0 +1,348 @@
+package com.aibrigade.client;
+
+import com.aibrigade.bots.BotEntity;
+import com.aibrigade.bots.EmbeddedSkin;
+import com.aibrigade.bots.SkinHttpClient;
+import com.aibrigade.main.AIBrigadeMod;
+import com.aibrigade.utils.ConfigManager;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mojang.authlib.GameProfile;
+import com.mojang.authlib.properties.Property;
+import com.mojang.blaze3d.platform.NativeImage;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.texture.DynamicTexture;
+import net.minecraft.client.resources.DefaultPlayerSkin;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * BotSkinTextureManager - Client skin textures, shared by every bot wearing the same skin
+ *
+ * - one texture per distinct texture value, whatever the number of bots using it
+ * - reference-counted per loaded bot (released when the bot leaves the level)
+ * - download and PNG decoding off the render thread (skin executor), GPU uploads
+ *   deferred and spread over frames (UPLOADS_PER_FRAME)
+ * - unused textures are evicted least recently used first once the count or memory
+ *   budget is exceeded (skinTextureCacheSize / skinTextureMemoryMB in the config)
+ *
+ * Until its texture is uploaded, a bot shows the default skin of its UUID. A failed
+ * load is retried after RETRY_DELAY_MS if a bot still uses the skin.
+ * Only Mojang-hosted texture URLs are downloaded; legacy 64x32 skins are left to the
+ * vanilla SkinManager, which converts them.
+ *
+ * Everything except loading runs on the render thread.
+ */
+@Mod.EventBusSubscriber(modid = AIBrigadeMod.MOD_ID, bus = Mod.EventBusSubscriber.Bus.FORGE, value = Dist.CLIENT)
+public final class BotSkinTextureManager {
+
+    private static final int UPLOADS_PER_FRAME = 4;
+    private static final int EVICTION_INTERVAL_FRAMES = 20;
+    private static final long TEXTURE_BYTES = 64L * 64L * 4L;
+    private static final long RETRY_DELAY_MS = 30_000;
+
+    private static final int DEFAULT_MAX_TEXTURES = 256;
+    private static final int DEFAULT_MAX_MEMORY_MB = 32;
+
+    private enum State {
+        LOADING,
+        READY,
+        FAILED
+    }
+
+    private static final class SkinTexture {
+        final String textureValue;
+        final ResourceLocation location;
+        final ResourceLocation fallback;
+        final UUID profileId;
+
+        State state = State.LOADING;
+        ResourceLocation readyLocation;
+        boolean owned; // uploaded by us: counts towards the budget, released on eviction
+        int refCount;
+        long lastUsedFrame;
+        long retryAt; // FAILED: time of the next load attempt
+
+        SkinTexture(String textureValue, ResourceLocation location, UUID profileId) {
+            this.textureValue = textureValue;
+            this.location = location;
+            this.fallback = DefaultPlayerSkin.getDefaultSkin(profileId);
+            this.profileId = profileId;
+        }
+    }
+
+    /**
+     * Skin currently held by a bot (textureValue is the bot's synced instance)
+     */
+    private record BotSkin(String textureValue, SkinTexture texture) {
+    }
+
+    /**
+     * Result of an off-thread load, applied on the render thread
+     * image == null: failed, or legacy skin when legacy is true
+     */
+    private record Loaded(SkinTexture texture, NativeImage image, boolean legacy) {
+    }
+
+    private static final Map<String, SkinTexture> TEXTURES = new HashMap<>();
+    private static final Int2ObjectOpenHashMap<BotSkin> BOT_SKINS = new Int2ObjectOpenHashMap<>();
+    private static final Queue<Loaded> LOADED = new ConcurrentLinkedQueue<>();
+
+    private static long frame = 0;
+    private static int nextTextureId = 0;
+    private static int ownedTextures = 0;
+
+    private BotSkinTextureManager() {
+    }
+
+    /**
+     * Texture for a bot (render thread)
+     *
+     * @param botId Entity id of the bot (reference held until it leaves the level)
+     * @param playerUUID Skin owner, used for the default skin while loading
+     * @param textureValue Synced texture value (not empty)
+     */
+    public static ResourceLocation getTexture(int botId, UUID playerUUID, String textureValue) {
+        BotSkin held = BOT_SKINS.get(botId);
+
+        if (held == null || held.textureValue() != textureValue) {
+            if (held != null && held.textureValue().equals(textureValue)) {
+                // Same skin re-synced as a new string: keep the texture, remember the new instance
+                held = new BotSkin(textureValue, held.texture());
+                BOT_SKINS.put(botId, held);
+            } else {
+                held = bind(botId, playerUUID, textureValue, held);
+            }
+        }
+
+        SkinTexture texture = held.texture();
+        texture.lastUsedFrame = frame;
+        if (texture.state == State.FAILED && System.currentTimeMillis() >= texture.retryAt) {
+            texture.state = State.LOADING;
+            startLoad(texture);
+        }
+        return texture.state == State.READY ? texture.readyLocation : texture.fallback;
+    }
+
+    private static BotSkin bind(int botId, UUID playerUUID, String textureValue, BotSkin previous) {
+        if (previous != null) {
+            previous.texture().refCount--;
+        }
+
+        SkinTexture texture = TEXTURES.get(textureValue);
+        if (texture == null) {
+            ResourceLocation location = new ResourceLocation(AIBrigadeMod.MOD_ID, "bot_skins/" + nextTextureId++);
+            texture = new SkinTexture(textureValue, location, playerUUID);
+            TEXTURES.put(textureValue, texture);
+            startLoad(texture);
+        }
+        texture.refCount++;
+
+        BotSkin held = new BotSkin(textureValue, texture);
+        BOT_SKINS.put(botId, held);
+        return held;
+    }
+
+    /**
+     * Download (Mojang skins) and decode on the skin executor, then queue for upload
+     */
+    private static void startLoad(SkinTexture texture) {
+        String textureValue = texture.textureValue;
+
+        CompletableFuture<byte[]> png = SkinHttpClient.supplyAsync(() ->
+                EmbeddedSkin.isEmbedded(textureValue) ? null : textureUrl(textureValue))
+            .thenCompose(uri -> uri == null
+                ? CompletableFuture.completedFuture(EmbeddedSkin.decode(textureValue))
+                : SkinHttpClient.sendAsync(SkinHttpClient.get(uri), HttpResponse.BodyHandlers.ofByteArray())
+                    .thenApply(response -> {
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException("HTTP " + response.statusCode() + " for " + uri);
+                        }
+                        return response.body();
+                    }));
+
+        png.thenApply(BotSkinTextureManager::decode).whenComplete((image, error) -> {
+            if (error != null) {
+                AIBrigadeMod.LOGGER.warn("[BotSkinTextures] Could not load skin: {}", error.getMessage());
+                LOADED.add(new Loaded(texture, null, false));
+            } else if (image.getHeight() != 64) {
+                image.close();
+                LOADED.add(new Loaded(texture, null, true));
+            } else {
+                LOADED.add(new Loaded(texture, image, false));
+            }
+        });
+    }
+
+    /**
+     * Skin URL from a Mojang texture value (base64 JSON), Mojang hosts only
+     */
+    private static URI textureUrl(String textureValue) {
+        String json = new String(Base64.getDecoder().decode(textureValue), StandardCharsets.UTF_8);
+        JsonObject textures = JsonParser.parseString(json).getAsJsonObject().getAsJsonObject("textures");
+        if (textures == null || !textures.has("SKIN")) {
+            throw new IllegalArgumentException("No skin in texture value");
+        }
+
+        URI uri = URI.create(textures.getAsJsonObject("SKIN").get("url").getAsString());
+        String host = uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT);
+        if (!host.endsWith(".minecraft.net") && !host.endsWith(".mojang.com")) {
+            throw new IllegalArgumentException("Texture host not allowed: " + host);
+        }
+        return uri;
+    }
+
+    /**
+     * Decode off-thread; base layers made opaque like vanilla skins
+     */
+    private static NativeImage decode(byte[] png) {
+        NativeImage image;
+        try {
+            image = NativeImage.read(new ByteArrayInputStream(png));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (image.getWidth() != 64 || (image.getHeight() != 64 && image.getHeight() != 32)) {
+            int width = image.getWidth();
+            int height = image.getHeight();
+            image.close();
+            throw new IllegalArgumentException("Unsupported skin size " + width + "x" + height);
+        }
+
+        if (image.getHeight() == 64) {
+            setOpaque(image, 0, 0, 32, 16);
+            setOpaque(image, 0, 16, 64, 32);
+            setOpaque(image, 16, 48, 48, 64);
+        }
+        return image;
+    }
+
+    private static void setOpaque(NativeImage image, int x0, int y0, int x1, int y1) {
+        for (int x = x0; x < x1; x++) {
+            for (int y = y0; y < y1; y++) {
+                image.setPixelRGBA(x, y, image.getPixelRGBA(x, y) | 0xFF000000);
+            }
+        }
+    }
+
+    // ==================== RENDER THREAD EVENTS ====================
+
+    @SubscribeEvent
+    public static void onRenderTick(TickEvent.RenderTickEvent event) {
+        if (event.phase != TickEvent.Phase.START) {
+            return;
+        }
+        frame++;
+
+        // Deferred uploads, a few per frame
+        Loaded loaded;
+        for (int i = 0; i < UPLOADS_PER_FRAME && (loaded = LOADED.poll()) != null; i++) {
+            apply(loaded);
+        }
+
+        if (frame % EVICTION_INTERVAL_FRAMES == 0) {
+            evict();
+        }
+    }
+
+    private static void apply(Loaded loaded) {
+        SkinTexture texture = loaded.texture();
+        if (TEXTURES.get(texture.textureValue) != texture) {
+            // Evicted meanwhile
+            if (loaded.image() != null) {
+                loaded.image().close();
+            }
+            return;
+        }
+
+        if (loaded.image() != null) {
+            Minecraft.getInstance().getTextureManager().register(texture.location, new DynamicTexture(loaded.image()));
+            texture.readyLocation = texture.location;
+            texture.owned = true;
+            texture.state = State.READY;
+            ownedTextures++;
+        } else if (loaded.legacy()) {
+            // Vanilla converts the old 64x32 layout
+            GameProfile profile = new GameProfile(texture.profileId, "Bot");
+            profile.getProperties().put("textures", new Property("textures", texture.textureValue));
+            texture.readyLocation = Minecraft.getInstance().getSkinManager().getInsecureSkinLocation(profile);
+            texture.state = State.READY;
+        } else {
+            texture.state = State.FAILED;
+            texture.retryAt = System.currentTimeMillis() + RETRY_DELAY_MS;
+        }
+    }
+
+    /**
+     * Release unused textures, least recently used first, until within budget
+     */
+    private static void evict() {
+        int maxTextures = DEFAULT_MAX_TEXTURES;
+        long maxBytes = DEFAULT_MAX_MEMORY_MB * 1024L * 1024L;
+        ConfigManager config = AIBrigadeMod.getConfigManager();
+        if (config != null) {
+            maxTextures = config.getSkinTextureCacheSize();
+            maxBytes = config.getSkinTextureMemoryMB() * 1024L * 1024L;
+        }
+
+        if (TEXTURES.size() <= maxTextures && ownedTextures * TEXTURE_BYTES <= maxBytes) {
+            return;
+        }
+
+        List<SkinTexture> unused = new ArrayList<>();
+        for (SkinTexture texture : TEXTURES.values()) {
+            if (texture.refCount <= 0 && texture.state != State.LOADING) {
+                unused.add(texture);
+            }
+        }
+        unused.sort(Comparator.comparingLong(texture -> texture.lastUsedFrame));
+
+        for (SkinTexture texture : unused) {
+            if (TEXTURES.size() <= maxTextures && ownedTextures * TEXTURE_BYTES <= maxBytes) {
+                break;
+            }
+            TEXTURES.remove(texture.textureValue);
+            if (texture.readyLocation != null) {
+                BotImpostorAtlas.release(texture.readyLocation);
+            }
+            if (texture.owned) {
+                Minecraft.getInstance().getTextureManager().release(texture.location);
+                ownedTextures--;
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onEntityLeave(EntityLeaveLevelEvent event) {
+        if (event.getLevel().isClientSide() && event.getEntity() instanceof BotEntity bot) {
+            BotSkin held = BOT_SKINS.remove(bot.getId());
+            if (held != null) {
+                held.texture().refCount--;
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        // Entity ids are per connection: drop every reference, textures stay cached for LRU
+        BOT_SKINS.values().forEach(held -> held.texture().refCount--);
+        BOT_SKINS.clear();
+    }
+}
@@ -2,7 +2,10 @@ package com.aibrigade.commands;
 
 import com.aibrigade.main.AIBrigadeMod;
 import com.aibrigade.bots.BotManager;
+import com.aibrigade.bots.SpawnTemplate;
 import com.aibrigade.ai.AIManager;
+import com.aibrigade.persistence.BotDatabase;
+import com.aibrigade.persistence.PersistenceWriter;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.arguments.IntegerArgumentType;
@@ -17,11 +20,15 @@ import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.core.BlockPos;
 
+import java.nio.file.Path;
+
 /**
  * BotCommandHandler - Handles all /aibrigade commands
  *
  * Available commands:
  * - /aibrigade spawn <solo|group> <number> [options...]
+ * - /aibrigade spawn group <count> preset <presetName> <groupName>
+ * - /aibrigade preset <list|reload>
  * - /aibrigade assignleader <groupName> <leaderName>
  * - /aibrigade hostile <groupName1> <groupName2>
  * - /aibrigade givearmor <target> <full|partial> <materials>
@@ -37,6 +44,8 @@ import net.minecraft.core.BlockPos;
  * - /aibrigade groupinfo <groupName>
  * - /aibrigade listbots
  * - /aibrigade listgroups
+ * - /aibrigade database export
+ * - /aibrigade database stats
  *
  * All commands require operator permission level 2
  */
@@ -60,6 +69,10 @@ public class BotCommandHandler {
                                         .executes(BotCommandHandler::spawnSoloBot)))))))
                 .then(Commands.literal("group")
                     .then(Commands.argument("count", IntegerArgumentType.integer(1, 300))
+                        .then(Commands.literal("preset")
+                            .then(Commands.argument("preset", StringArgumentType.string())
+                                .then(Commands.argument("groupName", StringArgumentType.string())
+                                    .executes(BotCommandHandler::spawnPresetGroup))))
                         .then(Commands.argument("leader", StringArgumentType.string())
                             .then(Commands.argument("behavior", StringArgumentType.string())
                                 .then(Commands.argument("radius", FloatArgumentType.floatArg(1.0f, 100.0f))
@@ -149,6 +162,18 @@ public class BotCommandHandler {
             .then(Commands.literal("listgroups")
                 .executes(BotCommandHandler::listGroups))
 
+            .then(Commands.literal("preset")
+                .then(Commands.literal("list")
+                    .executes(BotCommandHandler::listPresets))
+                .then(Commands.literal("reload")
+                    .executes(BotCommandHandler::reloadPresets)))
+
+            .then(Commands.literal("database")
+                .then(Commands.literal("export")
+                    .executes(BotCommandHandler::exportDatabase))
+                .then(Commands.literal("stats")
+                    .executes(BotCommandHandler::databaseStats)))
+
             .then(Commands.literal("help")
                 .executes(BotCommandHandler::showHelp))
         );
@@ -261,6 +286,102 @@ public class BotCommandHandler {
         }
     }
 
+    /**
+     * Command: /aibrigade spawn group <count> preset <presetName> <groupName>
+     * Spawns a group stamped from a compiled preset template
+     */
+    private static int spawnPresetGroup(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
+        try {
+            ServerPlayer player = context.getSource().getPlayerOrException();
+
+            // CRITICAL FIX: Null check on level
+            if (player.level() == null) {
+                AIBrigadeMod.LOGGER.error("Player level is null in spawnPresetGroup");
+                context.getSource().sendFailure(Component.literal("Error: Invalid player level"));
+                return 0;
+            }
+
+            ServerLevel level = (ServerLevel) player.level();
+            BlockPos pos = player.blockPosition();
+
+            int count = IntegerArgumentType.getInteger(context, "count");
+            String presetName = StringArgumentType.getString(context, "preset");
+            String groupName = StringArgumentType.getString(context, "groupName");
+
+            BotManager botManager = AIBrigadeMod.getBotManager();
+            if (botManager == null) {
+                AIBrigadeMod.LOGGER.error("Bot manager not initialized in spawnPresetGroup");
+                context.getSource().sendFailure(Component.literal("Bot manager not initialized"));
+                return 0;
+            }
+
+            SpawnTemplate template = botManager.getSpawnTemplate(presetName);
+            if (template == null) {
+                context.getSource().sendFailure(Component.literal("Unknown preset '" + presetName +
+                    "' (see /aibrigade preset list)"));
+                return 0;
+            }
+
+            int spawned = botManager.spawnBotGroup(level, pos, count, template, groupName);
+
+            context.getSource().sendSuccess(() ->
+                Component.literal("Spawned " + spawned + "/" + count + " bots in group '" + groupName +
+                    "' from preset '" + template.getName() + "'"),
+                true);
+
+            return spawned;
+        } catch (CommandSyntaxException e) {
+            throw e;
+        } catch (Exception e) {
+            AIBrigadeMod.LOGGER.error("Unexpected error in spawnPresetGroup command", e);
+            context.getSource().sendFailure(Component.literal("Error spawning preset group: " + e.getMessage()));
+            return 0;
+        }
+    }
+
+    /**
+     * Command: /aibrigade preset list
+     * Lists the compiled presets
+     */
+    private static int listPresets(CommandContext<CommandSourceStack> context) {
+        BotManager botManager = AIBrigadeMod.getBotManager();
+        if (botManager == null) {
+            context.getSource().sendFailure(Component.literal("Bot manager not initialized"));
+            return 0;
+        }
+
+        StringBuilder message = new StringBuilder("=== Presets ===\n");
+        for (SpawnTemplate template : botManager.getSpawnTemplates()) {
+            message.append("  - ").append(template).append("\n");
+        }
+        int count = botManager.getSpawnTemplates().size();
+        if (count == 0) {
+            message.append("No presets (edit aibrigade/presets.json, then /aibrigade preset reload)");
+        }
+
+        String finalMessage = message.toString();
+        context.getSource().sendSuccess(() -> Component.literal(finalMessage), false);
+        return count;
+    }
+
+    /**
+     * Command: /aibrigade preset reload
+     * Re-reads presets.json and recompiles the spawn templates
+     */
+    private static int reloadPresets(CommandContext<CommandSourceStack> context) {
+        BotManager botManager = AIBrigadeMod.getBotManager();
+        if (botManager == null) {
+            context.getSource().sendFailure(Component.literal("Bot manager not initialized"));
+            return 0;
+        }
+
+        int count = botManager.reloadPresets();
+        context.getSource().sendSuccess(() ->
+            Component.literal("Compiled " + count + " presets"),
+            true);
+        return count;
+    }
+
     /**
      * Command: /aibrigade assignleader
      * Assigns a new leader to a group
@@ -762,6 +883,46 @@ public class BotCommandHandler {
         }
     }
 
+    /**
+     * Command: /aibrigade database export
+     * Dumps the binary bot database to a readable JSON file for debugging
+     */
+    private static int exportDatabase(CommandContext<CommandSourceStack> context) {
+        try {
+            Path exported = BotDatabase.exportJson(null);
+            int count = BotDatabase.getAllBots().size();
+
+            context.getSource().sendSuccess(() ->
+                Component.literal("Exported " + count + " bot entries to " + exported.getFileName()),
+                true);
+
+            return count;
+        } catch (Exception e) {
+            AIBrigadeMod.LOGGER.error("Failed to export bot database", e);
+            context.getSource().sendFailure(Component.literal("Error exporting database: " + e.getMessage()));
+            return 0;
+        }
+    }
+
+    /**
+     * Command: /aibrigade database stats
+     * Shows background save metrics (writes, coalesced saves, latency)
+     * and record changes by field group
+     */
+    private static int databaseStats(CommandContext<CommandSourceStack> context) {
+        PersistenceWriter writer = PersistenceWriter.getInstance();
+        String message = "Bot database: " + BotDatabase.getAllBots().size() + " entries" +
+            (BotDatabase.isDirty() ? " (unsaved changes)" : "") + "\n" +
+            "Changes: " + BotDatabase.getChangeFeed().getStats() + "\n" +
+            "Save IO: " + writer.getStats();
+
+        context.getSource().sendSuccess(() ->
+            Component.literal(message),
+            false);
+
+        return (int) writer.getWritesCompleted();
+    }
+
     /**
      * Command: /aibrigade help
      * Shows help information
@@ -771,6 +932,7 @@ public class BotCommandHandler {
             === AIBrigade Commands ===
             /aibrigade spawn solo <leader> <behavior> <radius> <static> <groupName>
             /aibrigade spawn group <count> <leader> <behavior> <radius> <static> <groupName>
+            /aibrigade spawn group <count> preset <presetName> <groupName>
             /aibrigade assignleader <groupName> <leaderName>
             /aibrigade followleader <groupName> <true/false> <radius>
               -> 5/6 bots follow in radius, 1/6 follow actively
@@ -799,6 +961,10 @@ public class BotCommandHandler {
             /aibrigade listbots - Show active bot count
             /aibrigade cleanupbots - Manually remove dead bots
             /aibrigade listgroups
+            /aibrigade preset list - Show compiled presets
+            /aibrigade preset reload - Reload aibrigade/presets.json
+            /aibrigade database export - Dump bot database to JSON
+            /aibrigade database stats - Show save metrics
 
             Behaviors: follow, patrol, raid, guard
             Armor materials: diamond, iron, chainmail, leather, gold, netherite
@@ -1,8 +1,11 @@
 package com.aibrigade.commands;
 
 import com.aibrigade.bots.BotEntity;
+import com.aibrigade.bots.BotGroupStates;
 import com.aibrigade.bots.BotManager;
 import com.aibrigade.bots.MojangSkinFetcher;
+import com.aibrigade.bots.BotTrackingCadence;
+import com.aibrigade.bots.SkinDictionary;
 import com.aibrigade.main.AIBrigadeMod;
 import com.aibrigade.persistence.BotDatabase;
 import com.mojang.authlib.GameProfile;
@@ -34,7 +37,7 @@ import java.util.*;
  * - /bot test gaze - Test active gaze behavior
  * - /bot test building - Test building toggle
  * - /bot test database - Test persistence
- * - /bot test sync - Test client-server synchronization
+ * - /bot test sync - Test client-server synchronization (and report network sync counters)
  *
  * All tests generate detailed logs in logs/aibrigade_tests_[timestamp].log
  */
@@ -623,6 +626,11 @@ public class BotDebugCommands {
             log(source, "✓ EntityDataAccessors properly defined in BotEntity");
             recordSuccess("EntityDataAccessor registration");
 
+            // Network sync counters (movement cadence, skin ids, group states)
+            log(source, "Tracking cadence: " + BotTrackingCadence.getStats());
+            log(source, "Skin dictionary: " + SkinDictionary.getStats());
+            log(source, "Group states: " + BotGroupStates.getStats());
+
             // Cleanup
             bot.discard();
             log(source, "✓ Test bot cleaned up");
@@ -2,17 +2,27 @@ package com.aibrigade.main;
 
 import com.aibrigade.bots.BotEntity;
 import com.aibrigade.bots.BotManager;
+import com.aibrigade.bots.MojangProfileLookup;
+import com.aibrigade.bots.MojangSkinFetcher;
+import com.aibrigade.bots.BotGroupStates;
+import com.aibrigade.bots.SkinDictionary;
+import com.aibrigade.bots.SkinSourceSelector;
 import com.aibrigade.ai.AIManager;
 import com.aibrigade.commands.BotCommandHandler;
 import com.aibrigade.commands.BotBuildingCommands;
 import com.aibrigade.commands.BotDebugCommands;
+import com.aibrigade.network.AIBrigadeNetwork;
 import com.aibrigade.persistence.BotDatabase;
+import com.aibrigade.persistence.PersistenceWriter;
 import com.aibrigade.registry.ModEntities;
 import com.aibrigade.utils.ConfigManager;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.RegisterCommandsEvent;
 import net.minecraftforge.event.entity.EntityAttributeCreationEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.level.LevelEvent;
 import net.minecraftforge.event.server.ServerStartingEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
 import net.minecraftforge.event.server.ServerStoppingEvent;
 import net.minecraftforge.eventbus.api.IEventBus;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
@@ -55,6 +65,12 @@ public class AIBrigadeMod {
     // Logger for mod events and debugging
     public static final Logger LOGGER = LoggerFactory.getLogger(MOD_NAME);
 
+    // Bot database regions (32x32 chunks) loaded around spawn and each player, in regions
+    private static final int SHARD_LOAD_RADIUS = 1;
+
+    // Disk cache of Mojang skin profiles, shared by every world (config directory)
+    private static final String SKIN_CACHE_FILE = "aibrigade_skin_cache.json";
+
     // Core managers
     // MAJOR FIX: Added volatile for thread-safe visibility across threads
     // These managers are initialized in enqueueWork() (separate thread)
@@ -107,12 +123,26 @@ public class AIBrigadeMod {
     private void setup(final FMLCommonSetupEvent event) {
         LOGGER.info("Starting AIBrigade common setup");
 
+        // Network channel (skin dictionary)
+        AIBrigadeNetwork.register();
+
         event.enqueueWork(() -> {
             // Initialize configuration manager
             configManager = new ConfigManager();
             configManager.loadConfiguration();
             LOGGER.info("Configuration loaded successfully");
 
+            // Load cached skin profiles before any bot is created (warm cache = no Mojang API calls)
+            MojangSkinFetcher.loadPersistentCache(java.nio.file.Paths.get("config", SKIN_CACHE_FILE));
+            MojangSkinFetcher.setProfileLookup(new MojangProfileLookup(configManager.getProfileLookupUrl()));
+            MojangSkinFetcher.configureSkinPool(configManager.getSkinPoolSize());
+            try {
+                MojangSkinFetcher.configureSkinSources(SkinSourceSelector.parse(
+                    configManager.getSkinSources(), configManager.getSkinSourceSelection()));
+            } catch (IllegalArgumentException e) {
+                LOGGER.error("Invalid skin source configuration, using Mojang skins: {}", e.getMessage());
+            }
+
             // Initialize bot manager
             botManager = new BotManager();
             LOGGER.info("Bot manager initialized");
@@ -159,9 +189,19 @@ public class AIBrigadeMod {
         BotDatabase.initialize(worldPath);
         LOGGER.info("BotDatabase initialized at: {}", worldPath);
 
+        // Only bot regions around spawn are read now - the rest follows players or is loaded on demand
+        var overworld = event.getServer().overworld();
+        var spawn = overworld.getSharedSpawnPos();
+        int spawnBots = BotDatabase.loadShardsAround(overworld.dimension().location().toString(),
+            spawn.getX(), spawn.getZ(), SHARD_LOAD_RADIUS);
+        LOGGER.info("Loaded {} bot records around spawn", spawnBots);
+
         // Load persistent bot and group data
         botManager.loadPersistentData(event.getServer());
 
+        // Skins ready before the first spawn command (no network if the skin cache is warm)
+        MojangSkinFetcher.prewarmSkinSources();
+
         // Initialize AI tick handler
         aiManager.startAITicking(event.getServer());
 
@@ -197,9 +237,104 @@ public class AIBrigadeMod {
             LOGGER.error("AIManager not initialized - cannot stop AI ticking properly.");
         }
 
+        // Skin profiles fetched this session
+        MojangSkinFetcher.savePersistentCache();
+        LOGGER.info("Skin dictionary stats: {}", SkinDictionary.getStats());
+        SkinDictionary.clear();
+        LOGGER.info("Group state stats: {}", BotGroupStates.getStats());
+        BotGroupStates.clear();
+
         LOGGER.info("AIBrigade data saved and cleanup complete");
     }
 
+    /**
+     * Server stopped event handler
+     * Vanilla saves all levels after ServerStoppingEvent: the last onLevelSave snapshots
+     * are queued on the background IO thread, so they are flushed here.
+     *
+     * @param event The server stopped event
+     */
+    @SubscribeEvent
+    public void onServerStopped(ServerStoppedEvent event) {
+        // Saves are written in the background - make sure they reach disk before shutdown
+        PersistenceWriter writer = PersistenceWriter.getInstance();
+        writer.flush(10000);
+        LOGGER.info("AIBrigade IO stats: {}", writer.getStats());
+
+        // Last: marks the crash-recovery checkpoint as a clean shutdown
+        if (botManager != null) {
+            botManager.closeCheckpointFile();
+        }
+    }
+
+    /**
+     * Level save event handler
+     * Appends pending group/relationship changes to the state journal and queues a
+     * BotDatabase snapshot on every world save (autosave and /save-all).
+     * Only reacts to the overworld to save once per cycle.
+     *
+     * @param event The level save event
+     */
+    @SubscribeEvent
+    public void onLevelSave(LevelEvent.Save event) {
+        if (!(event.getLevel() instanceof net.minecraft.server.level.ServerLevel level)
+                || level.dimension() != net.minecraft.world.level.Level.OVERWORLD) {
+            return;
+        }
+
+        if (botManager != null) {
+            botManager.savePersistentData(level.getServer());
+        }
+
+        // Snapshot only - serialization and disk IO run on the AIBrigade-IO thread
+        BotDatabase.autoSave();
+        MojangSkinFetcher.savePersistentCache();
+    }
+
+    /**
+     * Player login event handler
+     * Loads the bot database regions around the player and sends the group states
+     *
+     * @param event The player logged in event
+     */
+    @SubscribeEvent
+    public void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        loadBotShardsAround(event.getEntity());
+        if (event.getEntity() instanceof net.minecraft.server.level.ServerPlayer serverPlayer) {
+            BotGroupStates.sendAll(serverPlayer);
+        }
+    }
+
+    /**
+     * Player logout event handler
+     * Its client skin cache is gone: definitions will be sent again on reconnect
+     *
+     * @param event The player logged out event
+     */
+    @SubscribeEvent
+    public void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        SkinDictionary.forgetPlayer(event.getEntity().getUUID());
+    }
+
+    /**
+     * Player dimension change event handler
+     * Loads the bot database regions around the player in the new dimension
+     *
+     * @param event The player changed dimension event
+     */
+    @SubscribeEvent
+    public void onPlayerChangedDimension(PlayerEvent.PlayerChangedDimensionEvent event) {
+        loadBotShardsAround(event.getEntity());
+    }
+
+    private void loadBotShardsAround(net.minecraft.world.entity.player.Player player) {
+        if (player.level().isClientSide()) {
+            return;
+        }
+        BotDatabase.loadShardsAround(player.level().dimension().location().toString(),
+            player.getX(), player.getZ(), SHARD_LOAD_RADIUS);
+    }
+
     /**
      * Register commands event handler
      * Registers all AIBrigade commands
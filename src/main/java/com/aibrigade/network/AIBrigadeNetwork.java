@@ -0,0 +1,58 @@
+package com.aibrigade.network;
+
+import com.aibrigade.main.AIBrigadeMod;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.network.NetworkDirection;
+import net.minecraftforge.network.NetworkRegistry;
+import net.minecraftforge.network.PacketDistributor;
+import net.minecraftforge.network.simple.SimpleChannel;
+
+/**
+ * AIBrigadeNetwork - Mod network channel
+ *
+ * Messages (server -> client):
+ * - SkinDefinitionPacket : texture value of a skin id, sent once per connection
+ * - GroupStatePacket     : group-wide bot state, one packet per group change
+ *
+ * The mod must be present on both sides (same protocol version).
+ */
+public final class AIBrigadeNetwork {
+
+    private static final String PROTOCOL_VERSION = "3";
+
+    public static final SimpleChannel CHANNEL = NetworkRegistry.newSimpleChannel(
+        new ResourceLocation(AIBrigadeMod.MOD_ID, "main"),
+        () -> PROTOCOL_VERSION,
+        PROTOCOL_VERSION::equals,
+        PROTOCOL_VERSION::equals);
+
+    private static int nextMessageId = 0;
+
+    private AIBrigadeNetwork() {
+    }
+
+    /**
+     * Register the messages (common setup)
+     */
+    public static void register() {
+        CHANNEL.messageBuilder(SkinDefinitionPacket.class, nextMessageId++, NetworkDirection.PLAY_TO_CLIENT)
+            .encoder(SkinDefinitionPacket::encode)
+            .decoder(SkinDefinitionPacket::decode)
+            .consumerMainThread(SkinDefinitionPacket::handle)
+            .add();
+        CHANNEL.messageBuilder(GroupStatePacket.class, nextMessageId++, NetworkDirection.PLAY_TO_CLIENT)
+            .encoder(GroupStatePacket::encode)
+            .decoder(GroupStatePacket::decode)
+            .consumerMainThread(GroupStatePacket::handle)
+            .add();
+    }
+
+    public static void sendTo(ServerPlayer player, Object message) {
+        CHANNEL.send(PacketDistributor.PLAYER.with(() -> player), message);
+    }
+
+    public static void sendToAll(Object message) {
+        CHANNEL.send(PacketDistributor.ALL.noArg(), message);
+    }
+}
@@ -0,0 +1,36 @@
+package com.aibrigade.network;
+
+import com.aibrigade.bots.BotGroupState;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ClientGroupStates - Group name -> group state, received from the server
+ *
+ * Bots without a state override read their values here (see BotEntity getters).
+ * Cleared on logout. Client main thread only.
+ */
+public final class ClientGroupStates {
+
+    private static final Map<String, BotGroupState> STATES = new HashMap<>();
+
+    private ClientGroupStates() {
+    }
+
+    static void put(String groupName, BotGroupState state) {
+        STATES.put(groupName, state);
+    }
+
+    /**
+     * @return The group state, or BotGroupState.DEFAULT if not received
+     */
+    public static BotGroupState get(String groupName) {
+        BotGroupState state = STATES.get(groupName);
+        return state != null ? state : BotGroupState.DEFAULT;
+    }
+
+    public static void clear() {
+        STATES.clear();
+    }
+}
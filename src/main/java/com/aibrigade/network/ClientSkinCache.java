@@ -0,0 +1,37 @@
+package com.aibrigade.network;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+
+/**
+ * ClientSkinCache - Skin id -> texture value, received from the server
+ *
+ * One entry per distinct skin for the whole connection (cleared on logout).
+ * Values are kept as single instances, shared by every bot wearing the skin.
+ * Client main thread only.
+ */
+public final class ClientSkinCache {
+
+    private static final Int2ObjectOpenHashMap<String> VALUES = new Int2ObjectOpenHashMap<>();
+
+    private ClientSkinCache() {
+    }
+
+    static void put(int skinId, String textureValue) {
+        VALUES.put(skinId, textureValue);
+    }
+
+    /**
+     * @return The texture value, or empty string if unknown (not received yet)
+     */
+    public static String getValue(int skinId) {
+        if (skinId == 0) {
+            return "";
+        }
+        String value = VALUES.get(skinId);
+        return value != null ? value : "";
+    }
+
+    public static void clear() {
+        VALUES.clear();
+    }
+}
@@ -0,0 +1,38 @@
+package com.aibrigade.network;
+
+import com.aibrigade.bots.BotGroupState;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * GroupStatePacket - Group-wide bot state (server -> client)
+ *
+ * Replaces one entity data update per bot when a whole group changes.
+ * The client keeps the values in ClientGroupStates.
+ */
+public record GroupStatePacket(String groupName, BotGroupState state) {
+
+    public static void encode(GroupStatePacket packet, FriendlyByteBuf buffer) {
+        BotGroupState state = packet.state();
+        buffer.writeUtf(packet.groupName());
+        buffer.writeUtf(state.behaviorType());
+        buffer.writeBoolean(state.isStatic());
+        buffer.writeFloat(state.followRadius());
+        buffer.writeBoolean(state.hostile());
+        buffer.writeBoolean(state.followingLeader());
+        buffer.writeNullable(state.leaderId(), FriendlyByteBuf::writeUUID);
+    }
+
+    public static GroupStatePacket decode(FriendlyByteBuf buffer) {
+        String groupName = buffer.readUtf();
+        BotGroupState state = new BotGroupState(buffer.readUtf(), buffer.readBoolean(),
+            buffer.readFloat(), buffer.readBoolean(), buffer.readBoolean(), buffer.readNullable(FriendlyByteBuf::readUUID));
+        return new GroupStatePacket(groupName, state);
+    }
+
+    public static void handle(GroupStatePacket packet, Supplier<NetworkEvent.Context> context) {
+        ClientGroupStates.put(packet.groupName(), packet.state());
+    }
+}
@@ -0,0 +1,28 @@
+package com.aibrigade.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * SkinDefinitionPacket - Texture value of a skin id (server -> client)
+ *
+ * Bots only sync the id; the client keeps the values in ClientSkinCache.
+ * The signature is not sent: the client never verifies it.
+ */
+public record SkinDefinitionPacket(int skinId, String textureValue) {
+
+    public static void encode(SkinDefinitionPacket packet, FriendlyByteBuf buffer) {
+        buffer.writeVarInt(packet.skinId());
+        buffer.writeUtf(packet.textureValue());
+    }
+
+    public static SkinDefinitionPacket decode(FriendlyByteBuf buffer) {
+        return new SkinDefinitionPacket(buffer.readVarInt(), buffer.readUtf());
+    }
+
+    public static void handle(SkinDefinitionPacket packet, Supplier<NetworkEvent.Context> context) {
+        ClientSkinCache.put(packet.skinId(), packet.textureValue());
+    }
+}
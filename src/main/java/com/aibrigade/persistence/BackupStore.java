@@ -0,0 +1,315 @@
+package com.aibrigade.persistence;
+
+import com.aibrigade.main.AIBrigadeMod;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * BackupStore - Content-addressed, deduplicated backups
+ *
+ * Layout (under the backup directory):
+ * - objects/<xx>/<sha256>.z      : deflate-compressed chunk, stored once whatever the number of backups using it
+ * - manifests/backup_<time>.json : list of files, each as an ordered list of chunk hashes
+ *
+ * Files are split with content-defined chunking (gear rolling hash), so inserting or
+ * removing a bot in the middle of a JSON file only changes the chunks around the edit.
+ * A new backup therefore only stores the chunks that actually changed since the last one.
+ *
+ * Retention: manifests beyond the newest maxCount, or older than maxAge, are deleted
+ * (the newest backup is always kept); chunks no longer referenced by any manifest are
+ * then garbage-collected.
+ */
+public class BackupStore {
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private static final String OBJECTS_DIR = "objects";
+    private static final String MANIFESTS_DIR = "manifests";
+    private static final String MANIFEST_PREFIX = "backup_";
+
+    // Content-defined chunking: ~8 KB average, bounded between 2 KB and 64 KB
+    private static final int MIN_CHUNK = 2 * 1024;
+    private static final int MAX_CHUNK = 64 * 1024;
+    private static final long CHUNK_MASK = (1L << 13) - 1;
+
+    // Gear table for the rolling hash (fixed seed: chunk boundaries must be stable across runs)
+    private static final long[] GEAR = new long[256];
+
+    static {
+        Random random = new Random(0x41494252L);
+        for (int i = 0; i < GEAR.length; i++) {
+            GEAR[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * One backed-up file
+     */
+    public static class FileEntry {
+        public long size;
+        public List<String> chunks = new ArrayList<>();
+    }
+
+    /**
+     * A backup: file name -> chunks
+     */
+    public static class Manifest {
+        public int version = 1;
+        public long timestamp;
+        public Map<String, FileEntry> files = new LinkedHashMap<>();
+    }
+
+    /**
+     * Outcome of a backup, for logs
+     */
+    public static class Result {
+        public String backupId;
+        public int files;
+        public int chunks;
+        public int newChunks;
+        public long bytes;
+        public long storedBytes;
+    }
+
+    private final Path objectsDir;
+    private final Path manifestsDir;
+
+    public BackupStore(Path backupDir) {
+        this.objectsDir = backupDir.resolve(OBJECTS_DIR);
+        this.manifestsDir = backupDir.resolve(MANIFESTS_DIR);
+    }
+
+    /**
+     * Back up the given files (missing files are skipped)
+     */
+    public Result backup(List<Path> files) throws IOException {
+        Files.createDirectories(objectsDir);
+        Files.createDirectories(manifestsDir);
+
+        Manifest manifest = new Manifest();
+        manifest.timestamp = System.currentTimeMillis();
+
+        Result result = new Result();
+        result.backupId = MANIFEST_PREFIX + manifest.timestamp;
+
+        for (Path file : files) {
+            if (!Files.exists(file)) {
+                continue;
+            }
+
+            FileEntry entry = new FileEntry();
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 64 * 1024)) {
+                ByteArrayOutputStream chunk = new ByteArrayOutputStream(MAX_CHUNK);
+                long hash = 0;
+                int b;
+
+                while ((b = in.read()) != -1) {
+                    chunk.write(b);
+                    hash = (hash << 1) + GEAR[b];
+
+                    int size = chunk.size();
+                    if ((size >= MIN_CHUNK && (hash & CHUNK_MASK) == 0) || size >= MAX_CHUNK) {
+                        storeChunk(chunk.toByteArray(), entry, result);
+                        chunk.reset();
+                        hash = 0;
+                    }
+                }
+                if (chunk.size() > 0) {
+                    storeChunk(chunk.toByteArray(), entry, result);
+                }
+            }
+
+            manifest.files.put(file.getFileName().toString(), entry);
+            result.files++;
+        }
+
+        // Manifest last: a backup only exists once all of its chunks are stored
+        Path manifestFile = manifestsDir.resolve(result.backupId + ".json");
+        Path tempFile = manifestFile.resolveSibling(manifestFile.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            GSON.toJson(manifest, writer);
+        }
+        Files.move(tempFile, manifestFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        return result;
+    }
+
+    private void storeChunk(byte[] data, FileEntry entry, Result result) throws IOException {
+        String hash = sha256(data);
+        entry.chunks.add(hash);
+        entry.size += data.length;
+        result.chunks++;
+        result.bytes += data.length;
+
+        Path object = objectPath(hash);
+        if (Files.exists(object)) {
+            return;
+        }
+
+        Files.createDirectories(object.getParent());
+        Path tempFile = object.resolveSibling(hash + ".tmp");
+        try (OutputStream out = new DeflaterOutputStream(Files.newOutputStream(tempFile), new Deflater(Deflater.BEST_COMPRESSION))) {
+            out.write(data);
+        }
+        Files.move(tempFile, object, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        result.newChunks++;
+        result.storedBytes += Files.size(object);
+    }
+
+    /**
+     * Rebuild the files of a backup into a directory
+     *
+     * @return Number of files restored
+     */
+    public int restore(String backupId, Path targetDir) throws IOException {
+        Manifest manifest = readManifest(manifestsDir.resolve(backupId + ".json"));
+        if (manifest == null) {
+            throw new FileNotFoundException("Unknown backup: " + backupId);
+        }
+
+        Files.createDirectories(targetDir);
+        for (Map.Entry<String, FileEntry> file : manifest.files.entrySet()) {
+            Path target = targetDir.resolve(file.getKey());
+            Path tempFile = target.resolveSibling(file.getKey() + ".restore");
+
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempFile), 64 * 1024)) {
+                for (String hash : file.getValue().chunks) {
+                    byte[] data;
+                    try (InputStream in = new InflaterInputStream(Files.newInputStream(objectPath(hash)))) {
+                        data = in.readAllBytes();
+                    }
+                    if (!hash.equals(sha256(data))) {
+                        throw new IOException("Corrupted backup chunk " + hash);
+                    }
+                    out.write(data);
+                }
+            }
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        return manifest.files.size();
+    }
+
+    /**
+     * Backup ids, newest first
+     */
+    public List<String> listBackups() throws IOException {
+        List<String> ids = new ArrayList<>();
+        if (!Files.isDirectory(manifestsDir)) {
+            return ids;
+        }
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(manifestsDir, MANIFEST_PREFIX + "*.json")) {
+            for (Path entry : stream) {
+                String name = entry.getFileName().toString();
+                ids.add(name.substring(0, name.length() - ".json".length()));
+            }
+        }
+
+        ids.sort(Comparator.comparingLong(BackupStore::timestampOf).reversed());
+        return ids;
+    }
+
+    /**
+     * Apply retention and delete chunks no longer referenced
+     *
+     * @param maxCount Maximum number of backups kept
+     * @param maxAgeMs Backups older than this are deleted
+     * @return Number of backups deleted
+     */
+    public int prune(int maxCount, long maxAgeMs) throws IOException {
+        List<String> backups = listBackups();
+        long now = System.currentTimeMillis();
+        int deleted = 0;
+
+        // Index 0 (newest) is always kept
+        for (int i = 1; i < backups.size(); i++) {
+            String id = backups.get(i);
+            if (i >= maxCount || now - timestampOf(id) > maxAgeMs) {
+                Files.deleteIfExists(manifestsDir.resolve(id + ".json"));
+                deleted++;
+            }
+        }
+
+        if (deleted > 0) {
+            int removedChunks = collectGarbage();
+            AIBrigadeMod.LOGGER.info("Pruned {} old backups ({} unreferenced chunks removed)", deleted, removedChunks);
+        }
+        return deleted;
+    }
+
+    /**
+     * Delete every chunk that no remaining manifest references
+     */
+    private int collectGarbage() throws IOException {
+        Set<String> referenced = new HashSet<>();
+        for (String id : listBackups()) {
+            Manifest manifest = readManifest(manifestsDir.resolve(id + ".json"));
+            if (manifest == null) {
+                // Unreadable manifest: keep every chunk rather than risk deleting live data
+                return 0;
+            }
+            manifest.files.values().forEach(file -> referenced.addAll(file.chunks));
+        }
+
+        List<Path> unreferenced;
+        try (Stream<Path> walk = Files.walk(objectsDir, 2)) {
+            unreferenced = walk.filter(Files::isRegularFile)
+                .filter(p -> {
+                    String name = p.getFileName().toString();
+                    return !name.endsWith(".z") || !referenced.contains(name.substring(0, name.length() - 2));
+                })
+                .toList();
+        }
+
+        for (Path object : unreferenced) {
+            Files.deleteIfExists(object);
+        }
+        return unreferenced.size();
+    }
+
+    private Manifest readManifest(Path file) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return GSON.fromJson(reader, Manifest.class);
+        } catch (IOException | JsonParseException e) {
+            AIBrigadeMod.LOGGER.error("Failed to read backup manifest: " + file, e);
+            return null;
+        }
+    }
+
+    private Path objectPath(String hash) {
+        return objectsDir.resolve(hash.substring(0, 2)).resolve(hash + ".z");
+    }
+
+    private static long timestampOf(String backupId) {
+        try {
+            return Long.parseLong(backupId.substring(MANIFEST_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.aibrigade.persistence;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * BotChangeFeed - Lock-free feed of BotDatabase record changes
+ *
+ * Every real change to a record (fields that actually differ, registration, removal)
+ * is published once, with the bitmask of the field groups that changed
+ * (see BotDatabase.BotData.FIELD_*). Each consumer owns a subscription:
+ * - the save path drains it to know which records and shards to rewrite
+ * - other consumers (journal, metrics, debug tools) can subscribe the same way
+ *
+ * Publishing never blocks: each subscription is a ConcurrentLinkedQueue and the
+ * subscriber list is copy-on-write (subscriptions are rare, publications frequent).
+ * A subscription that is never drained grows without bound, so close it when done.
+ */
+public final class BotChangeFeed {
+
+    /**
+     * One change to one record
+     *
+     * @param botUUID Bot whose record changed
+     * @param fields Bitmask of BotData.FIELD_* groups that changed
+     * @param removed True if the record was deleted
+     */
+    public record Change(UUID botUUID, int fields, boolean removed) {
+    }
+
+    /**
+     * A consumer's private queue of changes
+     */
+    public final class Subscription {
+        private final String name;
+        private final ConcurrentLinkedQueue<Change> queue = new ConcurrentLinkedQueue<>();
+
+        private Subscription(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Hand every queued change to the consumer, oldest first
+         *
+         * @return Number of changes drained
+         */
+        public int drain(Consumer<Change> consumer) {
+            int drained = 0;
+            Change change;
+            while ((change = queue.poll()) != null) {
+                consumer.accept(change);
+                drained++;
+            }
+            return drained;
+        }
+
+        public boolean isEmpty() {
+            return queue.isEmpty();
+        }
+
+        /**
+         * Drop queued changes without processing them
+         */
+        public void clear() {
+            queue.clear();
+        }
+
+        /**
+         * Stop receiving changes
+         */
+        public void close() {
+            subscriptions.remove(this);
+            queue.clear();
+        }
+    }
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    // Metrics: changes published, and how often each field group changed
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong removals = new AtomicLong();
+    private final AtomicLongArray fieldCounts = new AtomicLongArray(Integer.SIZE);
+
+    /**
+     * Register a new consumer (only sees changes published from now on)
+     */
+    public Subscription subscribe(String name) {
+        Subscription subscription = new Subscription(name);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Publish a change to every subscription
+     * Callers only publish when something actually changed (fields != 0 or removal).
+     */
+    public void publish(UUID botUUID, int fields, boolean removed) {
+        Change change = new Change(botUUID, fields, removed);
+        for (Subscription subscription : subscriptions) {
+            subscription.queue.offer(change);
+        }
+
+        published.incrementAndGet();
+        if (removed) {
+            removals.incrementAndGet();
+        }
+        for (int bits = fields; bits != 0; bits &= bits - 1) {
+            fieldCounts.incrementAndGet(Integer.numberOfTrailingZeros(bits));
+        }
+    }
+
+    /**
+     * Drop every queued change (e.g. when another world is loaded)
+     */
+    public void clearAll() {
+        subscriptions.forEach(Subscription::clear);
+    }
+
+    // ==================== METRICS ====================
+
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    public long getRemovalCount() {
+        return removals.get();
+    }
+
+    /**
+     * Number of published changes that touched the given field group
+     *
+     * @param field A single BotData.FIELD_* bit
+     */
+    public long getFieldChangeCount(int field) {
+        return field == 0 ? 0 : fieldCounts.get(Integer.numberOfTrailingZeros(field));
+    }
+
+    /**
+     * Change counters per field group, shown by /aibrigade database stats
+     */
+    public String getStats() {
+        return String.format("changes=%d removals=%d identity=%d group=%d position=%d dimension=%d state=%d config=%d activity=%d subscribers=%d",
+            published.get(), removals.get(),
+            getFieldChangeCount(BotDatabase.BotData.FIELD_IDENTITY),
+            getFieldChangeCount(BotDatabase.BotData.FIELD_GROUP),
+            getFieldChangeCount(BotDatabase.BotData.FIELD_POSITION),
+            getFieldChangeCount(BotDatabase.BotData.FIELD_DIMENSION),
+            getFieldChangeCount(BotDatabase.BotData.FIELD_STATE),
+            getFieldChangeCount(BotDatabase.BotData.FIELD_CONFIG),
+            getFieldChangeCount(BotDatabase.BotData.FIELD_ACTIVITY),
+            subscriptions.size());
+    }
+}
@@ -0,0 +1,390 @@
+package com.aibrigade.persistence;
+
+import com.aibrigade.main.AIBrigadeMod;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * BotCheckpointFile - Memory-mapped crash-recovery checkpoint of live bot state
+ *
+ * Every bot owns a fixed-size slot in a memory-mapped file. A checkpoint compares the
+ * live values with what is already in the slot and only writes the fields that changed,
+ * so the cost is a handful of memory writes per bot - no serialization, no syscall.
+ * The OS flushes the mapped pages on its own, so the data survives a JVM crash.
+ *
+ * File layout:
+ * - Header (HEADER_SIZE bytes): magic, version, record size, capacity, clean-shutdown flag,
+ *   time of the last checkpoint
+ * - Slots (RECORD_SIZE bytes each):
+ *     0  long   bot UUID (most significant bits)   - 0/0 = free slot
+ *     8  long   bot UUID (least significant bits)
+ *     16 double x
+ *     24 double y
+ *     32 double z
+ *     40 float  health
+ *     44 int    flags (FLAG_*)
+ *     48 int    group id (hash of the group name, 0 = none)
+ *     52 int    dimension id (hash of the dimension key)
+ *     56 long   leader UUID (most significant bits)
+ *     64 long   leader UUID (least significant bits)
+ *     72 int    reserved
+ *     76 int    reserved
+ *
+ * The clean-shutdown flag is cleared while the server runs and set again by {@link #close()}.
+ * Finding it cleared on open means the previous run crashed: the slots then hold the
+ * bot state of the last checkpoint, exposed through {@link #takeRecovered(UUID)}.
+ */
+public class BotCheckpointFile implements AutoCloseable {
+
+    private static final int MAGIC = 0x41494243; // "AIBC"
+    private static final int VERSION = 1;
+
+    public static final int HEADER_SIZE = 64;
+    public static final int RECORD_SIZE = 80;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Header offsets
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_RECORD_SIZE = 8;
+    private static final int H_CAPACITY = 12;
+    private static final int H_CLEAN_SHUTDOWN = 16;
+    private static final int H_LAST_CHECKPOINT = 24;
+
+    // Record offsets
+    private static final int R_UUID_MOST = 0;
+    private static final int R_UUID_LEAST = 8;
+    private static final int R_X = 16;
+    private static final int R_Y = 24;
+    private static final int R_Z = 32;
+    private static final int R_HEALTH = 40;
+    private static final int R_FLAGS = 44;
+    private static final int R_GROUP = 48;
+    private static final int R_DIMENSION = 52;
+    private static final int R_LEADER_MOST = 56;
+    private static final int R_LEADER_LEAST = 64;
+
+    // Flag bits
+    public static final int FLAG_STATIC = 1;
+    public static final int FLAG_HOSTILE = 1 << 1;
+    public static final int FLAG_FOLLOWING_LEADER = 1 << 2;
+    public static final int FLAG_CAN_PLACE_BLOCKS = 1 << 3;
+    public static final int FLAG_HAS_LEADER = 1 << 4;
+
+    /**
+     * State of one bot as found in the checkpoint after a crash
+     */
+    public static class Record {
+        public UUID botUUID;
+        public double x, y, z;
+        public float health;
+        public int flags;
+        public int groupId;
+        public int dimensionId;
+        public UUID leaderUUID;
+
+        public boolean hasFlag(int flag) {
+            return (flags & flag) != 0;
+        }
+    }
+
+    private final Path file;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int capacity;
+
+    private final Map<UUID, Integer> slots = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    // State left by a crashed run, consumed as bots load
+    private final Map<UUID, Record> recovered = new HashMap<>();
+    private long recoveredCheckpointTime = 0;
+
+    private long fieldWrites = 0;
+
+    /**
+     * Open (or create) the checkpoint file and recover state if the last run crashed
+     */
+    public BotCheckpointFile(Path file) throws IOException {
+        this.file = file;
+        Files.createDirectories(file.getParent());
+
+        boolean existed = Files.exists(file) && Files.size(file) >= HEADER_SIZE;
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        int existingCapacity = existed ? readExistingCapacity() : -1;
+        if (existingCapacity < 0) {
+            map(INITIAL_CAPACITY);
+            initHeader();
+        } else {
+            map(existingCapacity);
+            boolean clean = buffer.getInt(H_CLEAN_SHUTDOWN) != 0;
+            scanSlots(!clean);
+            if (!clean) {
+                recoveredCheckpointTime = buffer.getLong(H_LAST_CHECKPOINT);
+                AIBrigadeMod.LOGGER.warn("Previous run did not shut down cleanly - {} bot checkpoints available for recovery",
+                    recovered.size());
+            }
+        }
+
+        // Running: a crash from now on leaves the flag cleared
+        buffer.putInt(H_CLEAN_SHUTDOWN, 0);
+        buffer.force();
+    }
+
+    /**
+     * Validates the header of an existing file
+     *
+     * @return Capacity in slots, or -1 if the file must be recreated
+     */
+    private int readExistingCapacity() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        header.flip();
+
+        if (header.getInt(H_MAGIC) != MAGIC || header.getInt(H_VERSION) != VERSION
+                || header.getInt(H_RECORD_SIZE) != RECORD_SIZE) {
+            AIBrigadeMod.LOGGER.warn("Bot checkpoint file has an unknown layout, recreating it");
+            channel.truncate(0);
+            return -1;
+        }
+
+        int existingCapacity = header.getInt(H_CAPACITY);
+        long expectedSize = HEADER_SIZE + (long) existingCapacity * RECORD_SIZE;
+        if (existingCapacity <= 0 || channel.size() < expectedSize) {
+            AIBrigadeMod.LOGGER.warn("Bot checkpoint file is truncated, recreating it");
+            channel.truncate(0);
+            return -1;
+        }
+        return existingCapacity;
+    }
+
+    private void map(int newCapacity) throws IOException {
+        this.capacity = newCapacity;
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) newCapacity * RECORD_SIZE);
+        buffer.putInt(H_CAPACITY, newCapacity);
+    }
+
+    private void initHeader() {
+        buffer.putInt(H_MAGIC, MAGIC);
+        buffer.putInt(H_VERSION, VERSION);
+        buffer.putInt(H_RECORD_SIZE, RECORD_SIZE);
+        buffer.putInt(H_CAPACITY, capacity);
+        buffer.putInt(H_CLEAN_SHUTDOWN, 1);
+        buffer.putLong(H_LAST_CHECKPOINT, 0L);
+        for (int slot = 0; slot < capacity; slot++) {
+            freeSlots.add(slot);
+        }
+    }
+
+    /**
+     * Rebuild the slot table from the file (and the recovery set after a crash)
+     */
+    private void scanSlots(boolean recover) {
+        for (int slot = 0; slot < capacity; slot++) {
+            int base = offset(slot);
+            long most = buffer.getLong(base + R_UUID_MOST);
+            long least = buffer.getLong(base + R_UUID_LEAST);
+
+            if (most == 0L && least == 0L) {
+                freeSlots.add(slot);
+                continue;
+            }
+
+            UUID uuid = new UUID(most, least);
+            slots.put(uuid, slot);
+
+            if (recover) {
+                recovered.put(uuid, readRecord(uuid, base));
+            }
+        }
+    }
+
+    private Record readRecord(UUID uuid, int base) {
+        Record record = new Record();
+        record.botUUID = uuid;
+        record.x = buffer.getDouble(base + R_X);
+        record.y = buffer.getDouble(base + R_Y);
+        record.z = buffer.getDouble(base + R_Z);
+        record.health = buffer.getFloat(base + R_HEALTH);
+        record.flags = buffer.getInt(base + R_FLAGS);
+        record.groupId = buffer.getInt(base + R_GROUP);
+        record.dimensionId = buffer.getInt(base + R_DIMENSION);
+        record.leaderUUID = record.hasFlag(FLAG_HAS_LEADER)
+            ? new UUID(buffer.getLong(base + R_LEADER_MOST), buffer.getLong(base + R_LEADER_LEAST))
+            : null;
+        return record;
+    }
+
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+
+    // ==================== CHECKPOINT ====================
+
+    /**
+     * Write the state of one bot into its slot, touching only the fields that changed
+     *
+     * @param groupId {@link #idOf(String)} of the group name
+     * @param dimensionId {@link #idOf(String)} of the dimension key
+     * @return Number of fields written
+     */
+    public synchronized int write(UUID botUUID, double x, double y, double z, float health, int flags,
+                                  int groupId, int dimensionId, UUID leaderUUID) {
+        Integer slot = slots.get(botUUID);
+        if (slot == null) {
+            slot = allocate(botUUID);
+            if (slot == null) {
+                return 0;
+            }
+        }
+
+        int base = offset(slot);
+        int written = 0;
+
+        if (leaderUUID != null) {
+            flags |= FLAG_HAS_LEADER;
+        }
+
+        if (buffer.getDouble(base + R_X) != x) { buffer.putDouble(base + R_X, x); written++; }
+        if (buffer.getDouble(base + R_Y) != y) { buffer.putDouble(base + R_Y, y); written++; }
+        if (buffer.getDouble(base + R_Z) != z) { buffer.putDouble(base + R_Z, z); written++; }
+        if (buffer.getFloat(base + R_HEALTH) != health) { buffer.putFloat(base + R_HEALTH, health); written++; }
+        if (buffer.getInt(base + R_FLAGS) != flags) { buffer.putInt(base + R_FLAGS, flags); written++; }
+
+        if (buffer.getInt(base + R_GROUP) != groupId) { buffer.putInt(base + R_GROUP, groupId); written++; }
+
+        if (buffer.getInt(base + R_DIMENSION) != dimensionId) { buffer.putInt(base + R_DIMENSION, dimensionId); written++; }
+
+        long leaderMost = leaderUUID != null ? leaderUUID.getMostSignificantBits() : 0L;
+        long leaderLeast = leaderUUID != null ? leaderUUID.getLeastSignificantBits() : 0L;
+        if (buffer.getLong(base + R_LEADER_MOST) != leaderMost || buffer.getLong(base + R_LEADER_LEAST) != leaderLeast) {
+            buffer.putLong(base + R_LEADER_MOST, leaderMost);
+            buffer.putLong(base + R_LEADER_LEAST, leaderLeast);
+            written++;
+        }
+
+        fieldWrites += written;
+        return written;
+    }
+
+    /**
+     * Mark the end of a checkpoint pass
+     */
+    public synchronized void markCheckpoint() {
+        buffer.putLong(H_LAST_CHECKPOINT, System.currentTimeMillis());
+    }
+
+    /**
+     * Release the slot of a bot that no longer exists
+     */
+    public synchronized void remove(UUID botUUID) {
+        Integer slot = slots.remove(botUUID);
+        if (slot == null) {
+            return;
+        }
+
+        int base = offset(slot);
+        for (int i = 0; i < RECORD_SIZE; i += 8) {
+            buffer.putLong(base + i, 0L);
+        }
+        freeSlots.add(slot);
+    }
+
+    private Integer allocate(UUID botUUID) {
+        if (freeSlots.isEmpty()) {
+            try {
+                grow();
+            } catch (IOException e) {
+                AIBrigadeMod.LOGGER.error("Failed to grow bot checkpoint file", e);
+                return null;
+            }
+        }
+
+        int slot = freeSlots.poll();
+        int base = offset(slot);
+        buffer.putLong(base + R_UUID_MOST, botUUID.getMostSignificantBits());
+        buffer.putLong(base + R_UUID_LEAST, botUUID.getLeastSignificantBits());
+        slots.put(botUUID, slot);
+        return slot;
+    }
+
+    /**
+     * Double the number of slots (remaps the file)
+     */
+    private void grow() throws IOException {
+        int oldCapacity = capacity;
+        map(oldCapacity * 2);
+        for (int slot = oldCapacity; slot < capacity; slot++) {
+            freeSlots.add(slot);
+        }
+        AIBrigadeMod.LOGGER.info("Bot checkpoint file grown to {} slots", capacity);
+    }
+
+    // ==================== RECOVERY ====================
+
+    /**
+     * Checkpointed state of a bot from a crashed run (returned once, then forgotten)
+     */
+    public synchronized Record takeRecovered(UUID botUUID) {
+        return recovered.remove(botUUID);
+    }
+
+    public synchronized boolean hasRecoveredState() {
+        return !recovered.isEmpty();
+    }
+
+    /**
+     * Time of the last checkpoint of the crashed run (0 if the last shutdown was clean)
+     */
+    public long getRecoveredCheckpointTime() {
+        return recoveredCheckpointTime;
+    }
+
+    /**
+     * Stable id used for group names and dimension keys in slots
+     */
+    public static int idOf(String value) {
+        return value == null || value.isEmpty() ? 0 : value.hashCode();
+    }
+
+    // ==================== LIFECYCLE ====================
+
+    public synchronized int getBotCount() {
+        return slots.size();
+    }
+
+    public synchronized long getFieldWrites() {
+        return fieldWrites;
+    }
+
+    /**
+     * Flush the mapping and mark the shutdown as clean
+     */
+    @Override
+    public synchronized void close() {
+        if (channel == null) {
+            return;
+        }
+
+        try {
+            markCheckpoint();
+            buffer.putInt(H_CLEAN_SHUTDOWN, 1);
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            AIBrigadeMod.LOGGER.error("Failed to close bot checkpoint file " + file, e);
+        } finally {
+            channel = null;
+            recovered.clear();
+        }
+    }
+}
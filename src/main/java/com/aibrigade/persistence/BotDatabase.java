@@ -1,9 +1,13 @@
 package com.aibrigade.persistence;
 
 import com.aibrigade.bots.BotEntity;
+import com.aibrigade.main.AIBrigadeMod;
+import com.aibrigade.utils.ConfigManager;
 import com.google.gson.*;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
 
 import java.io.*;
 import java.nio.file.Files;
@@ -11,7 +15,9 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * BotDatabase - Système de persistance complet pour les bots
@@ -23,7 +29,22 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Position de spawn et home
  * - Statistiques et configuration
  *
- * Format: JSON pour lisibilité et extensibilité
+ * Stockage par régions (voir BotRegionStore) :
+ * - Un fichier par dimension et région de 32x32 chunks, plus un index UUID -> région
+ * - Au démarrage seul l'index est lu; les régions sont chargées autour du spawn et des
+ *   joueurs, les autres à la demande
+ *
+ * Format: binaire compact et versionné (voir BotDatabaseCodec)
+ * - Chaînes répétées (skins, groupes, noms) stockées une seule fois dans un dictionnaire
+ * - Enregistrements à taille fixe, lus en flux
+ * - Corps compressé (deflate) optionnel
+ * - Export JSON disponible pour le debug (/aibrigade database export)
+ * - Écriture hors du thread serveur (PersistenceWriter), seuls les bots modifiés sont recopiés
+ *
+ * Suivi des modifications :
+ * - Chaque enregistrement porte un bitset des groupes de champs modifiés (BotData.FIELD_*)
+ * - Chaque modification réelle est publiée dans un flux sans verrou (BotChangeFeed)
+ *   que le save et d'autres consommateurs (métriques, outils) vident à leur rythme
  */
 public class BotDatabase {
 
@@ -31,19 +52,79 @@ public class BotDatabase {
             .setPrettyPrinting()
             .create();
 
+    // Fichiers de sauvegarde
+    private static final String DATABASE_FILE = "bot_database.bin";
+    private static final String LEGACY_JSON_FILE = "bot_database.json";
+    private static final String EXPORT_JSON_FILE = "bot_database_export.json";
+
     // Chemin de sauvegarde
-    private static Path DATABASE_PATH = Paths.get("world", "data", "aibrigade", "bot_database.json");
+    private static Path DATABASE_PATH = Paths.get("world", "data", "aibrigade", DATABASE_FILE);
+    private static Path LEGACY_JSON_PATH = Paths.get("world", "data", "aibrigade", LEGACY_JSON_FILE);
 
     // Base de données en mémoire (UUID du bot -> Données)
     private static final Map<UUID, BotData> BOT_DATABASE = new ConcurrentHashMap<>();
 
-    // Indicateur de modification (pour auto-save)
-    private static boolean isDirty = false;
+    // Flux des modifications (sans verrou) : le save, les métriques ou d'autres consommateurs s'y abonnent
+    private static final BotChangeFeed CHANGE_FEED = new BotChangeFeed();
+
+    // Bots modifiés depuis la dernière sauvegarde (copiés dans SNAPSHOT au prochain save)
+    // Remplace l'ancien booléen statique isDirty, non volatile et partagé entre threads
+    private static final BotChangeFeed.Subscription SAVE_CHANGES = CHANGE_FEED.subscribe("save");
+
+    // Nom des dimensions (évite un toString() de ResourceLocation à chaque mise à jour)
+    private static final Map<ResourceKey<Level>, String> DIMENSION_NAMES = new ConcurrentHashMap<>();
+
+    // Copies figées des enregistrements telles qu'écrites au dernier save
+    // Les copies ne sont jamais modifiées après insertion : le thread IO peut les lire sans verrou
+    private static final Map<UUID, BotData> SNAPSHOT = new HashMap<>();
+
+    // Stockage par régions (dimension + 32x32 chunks)
+    private static BotRegionStore regionStore;
+
+    // Index complet UUID -> shard, y compris les bots dont le shard n'est pas chargé
+    private static final Map<UUID, BotRegionStore.ShardKey> INDEX = new ConcurrentHashMap<>();
+
+    // Shards déjà lus depuis le disque
+    private static final Set<BotRegionStore.ShardKey> LOADED_SHARDS = ConcurrentHashMap.newKeySet();
+
+    // Shards à réécrire au prochain save même sans bot modifié (copies périmées à nettoyer)
+    private static final Set<BotRegionStore.ShardKey> PENDING_SHARDS = ConcurrentHashMap.newKeySet();
+    private static volatile boolean pendingIndexWrite = false;
+
+    // Données importées d'un ancien fichier unique, à convertir en shards
+    private static volatile boolean migrateLegacy = false;
+
+    // lastActive n'avance (et le bot n'est republié) qu'une fois par minute au plus
+    private static final long ACTIVITY_GRANULARITY_MS = 60_000L;
+
+    // Index secondaire trié par dernière activité réelle (tas min, suppression paresseuse) :
+    // une entrée dont la date ne correspond plus à lastActive est périmée et ignorée
+    private static final PriorityQueue<ActivityEntry> ACTIVITY_HEAP =
+        new PriorityQueue<>(Comparator.comparingLong(ActivityEntry::lastActive));
+
+    private record ActivityEntry(UUID botUUID, long lastActive) {
+    }
+
+    // Activité signalée pour des bots dont le shard n'est pas chargé (appliquée au chargement du shard)
+    private static final Map<UUID, Long> PENDING_ACTIVITY = new ConcurrentHashMap<>();
 
     /**
      * Classe représentant toutes les données d'un bot
      */
     public static class BotData {
+        // Groupes de champs pour les bitsets de modification (voir dirtyFields et BotChangeFeed)
+        public static final int FIELD_IDENTITY = 1;       // playerUUID, skin, nom
+        public static final int FIELD_GROUP = 1 << 1;     // groupe, leader, suivi
+        public static final int FIELD_POSITION = 1 << 2;  // position, home
+        public static final int FIELD_DIMENSION = 1 << 3;
+        public static final int FIELD_STATE = 1 << 4;     // état IA, rôle, comportement
+        public static final int FIELD_CONFIG = 1 << 5;    // construction, vitesse
+        public static final int FIELD_ACTIVITY = 1 << 6;  // lastActive
+        public static final int FIELD_ALL = (1 << 7) - 1;
+
+        // Groupes modifiés depuis la dernière sauvegarde (non sérialisé)
+        public final transient AtomicInteger dirtyFields = new AtomicInteger();
+
         // Identité
         public UUID botUUID;              // UUID unique du bot
         public UUID playerUUID;           // UUID du joueur Minecraft (pour skin)
@@ -100,51 +181,140 @@ public class BotDatabase {
             this.lookAroundChance = 0.33f; // 2/6 = 1/3
             this.lookAroundInterval = 40; // 2 secondes
         }
+
+        /**
+         * Copie indépendante (utilisée pour les snapshots de sauvegarde)
+         */
+        public BotData copy() {
+            BotData copy = new BotData();
+            copy.botUUID = botUUID;
+            copy.playerUUID = playerUUID;
+            copy.skinTextureValue = skinTextureValue;
+            copy.skinTextureSignature = skinTextureSignature;
+            copy.botName = botName;
+            copy.botSkin = botSkin;
+            copy.creationTime = creationTime;
+            copy.lastActive = lastActive;
+            copy.groupId = groupId;
+            copy.leaderUUID = leaderUUID;
+            copy.isFollowingLeader = isFollowingLeader;
+            copy.posX = posX;
+            copy.posY = posY;
+            copy.posZ = posZ;
+            copy.homeX = homeX;
+            copy.homeY = homeY;
+            copy.homeZ = homeZ;
+            copy.dimension = dimension;
+            copy.aiState = aiState;
+            copy.role = role;
+            copy.behaviorType = behaviorType;
+            copy.isStatic = isStatic;
+            copy.followRadius = followRadius;
+            copy.isHostile = isHostile;
+            copy.mainHandItem = mainHandItem;
+            copy.offHandItem = offHandItem;
+            copy.armorSlots = armorSlots != null ? armorSlots.clone() : new String[4];
+            copy.canPlaceBlocks = canPlaceBlocks;
+            copy.movementSpeed = movementSpeed;
+            copy.chaseChance = chaseChance;
+            copy.lookAroundChance = lookAroundChance;
+            copy.lookAroundInterval = lookAroundInterval;
+            copy.blocksPlaced = blocksPlaced;
+            copy.distanceTraveled = distanceTraveled;
+            copy.enemiesKilled = enemiesKilled;
+            return copy;
+        }
     }
 
     /**
      * Initialise la base de données
+     * Ne lit que l'index des shards : les bots eux-mêmes sont chargés par région
+     * (voir loadShardsAround) ou à la demande (getBotData)
      */
     public static void initialize(Path worldPath) {
-        DATABASE_PATH = worldPath.resolve("data").resolve("aibrigade").resolve("bot_database.json");
+        Path dataDir = worldPath.resolve("data").resolve("aibrigade");
+        DATABASE_PATH = dataDir.resolve(DATABASE_FILE);
+        LEGACY_JSON_PATH = dataDir.resolve(LEGACY_JSON_FILE);
+        regionStore = new BotRegionStore(dataDir);
 
         try {
             Files.createDirectories(DATABASE_PATH.getParent());
-            System.out.println("[BotDatabase] Chemin de base de données: " + DATABASE_PATH);
+            System.out.println("[BotDatabase] Chemin de base de données: " + regionStore.getRoot());
         } catch (IOException e) {
             System.err.println("[BotDatabase] Erreur lors de la création du dossier: " + e.getMessage());
         }
 
+        // L'état statique survit à un changement de monde en solo
+        synchronized (SNAPSHOT) {
+            BOT_DATABASE.clear();
+            SNAPSHOT.clear();
+            INDEX.clear();
+            LOADED_SHARDS.clear();
+            PENDING_SHARDS.clear();
+            PENDING_ACTIVITY.clear();
+            CHANGE_FEED.clearAll();
+            synchronized (ACTIVITY_HEAP) {
+                ACTIVITY_HEAP.clear();
+            }
+            pendingIndexWrite = false;
+            migrateLegacy = false;
+        }
+
         loadDatabase();
     }
 
     /**
-     * Charge la base de données depuis le fichier JSON
+     * Charge la base de données
+     * - Format par régions : seul l'index (UUID -> shard) est lu
+     * - Sinon, import de l'ancien fichier unique (bot_database.bin ou bot_database.json),
+     *   converti en shards au prochain save
      */
     public static void loadDatabase() {
-        if (!Files.exists(DATABASE_PATH)) {
+        if (regionStore.hasIndex() || regionStore.hasShards()) {
+            loadIndex();
+        } else if (Files.exists(DATABASE_PATH)) {
+            loadBinary();
+        } else if (Files.exists(LEGACY_JSON_PATH)) {
+            loadLegacyJson();
+        } else {
             System.out.println("[BotDatabase] Aucune base de données existante, création d'une nouvelle");
-            return;
         }
+    }
 
+    /**
+     * Charge l'index des shards (reconstruit depuis les shards s'il est absent ou corrompu)
+     */
+    private static void loadIndex() {
+        Map<UUID, BotRegionStore.ShardKey> index;
         try {
-            String jsonContent = Files.readString(DATABASE_PATH);
-            JsonObject root = JsonParser.parseString(jsonContent).getAsJsonObject();
-            JsonArray bots = root.getAsJsonArray("bots");
-
-            int loadedCount = 0;
-            for (JsonElement element : bots) {
-                JsonObject botJson = element.getAsJsonObject();
-                BotData data = GSON.fromJson(botJson, BotData.class);
-
-                if (data != null && data.botUUID != null) {
-                    BOT_DATABASE.put(data.botUUID, data);
-                    loadedCount++;
-                }
+            index = regionStore.readIndex();
+        } catch (Exception e) {
+            System.err.println("[BotDatabase] Index des shards illisible (" + e.getMessage() + "), reconstruction...");
+            try {
+                index = regionStore.rebuildIndex();
+            } catch (IOException rebuildEx) {
+                System.err.println("[BotDatabase] Erreur lors de la reconstruction de l'index: " + rebuildEx.getMessage());
+                return;
             }
+            // Réécrire l'index au prochain save
+            pendingIndexWrite = true;
+        }
+
+        INDEX.putAll(index);
+        System.out.println("[BotDatabase] Index chargé: " + INDEX.size() + " bots dans "
+            + new HashSet<>(INDEX.values()).size() + " régions");
+    }
 
-            System.out.println("[BotDatabase] Chargé " + loadedCount + " bots depuis la base de données");
-            isDirty = false;
+    /**
+     * Charge l'ancien fichier binaire unique (migration vers les shards)
+     */
+    private static void loadBinary() {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(DATABASE_PATH), 64 * 1024)) {
+            BotDatabaseCodec.Header header = BotDatabaseCodec.read(in, BotDatabase::importLegacyRecord);
+
+            System.out.println("[BotDatabase] Chargé " + header.recordCount + " bots depuis l'ancien fichier unique (v"
+                + header.version + ", " + header.dictionarySize + " chaînes"
+                + (header.compressed ? ", compressé" : "") + "), conversion en régions au prochain save");
 
         } catch (Exception e) {
             System.err.println("[BotDatabase] Erreur lors du chargement: " + e.getMessage());
@@ -153,53 +323,310 @@ public class BotDatabase {
     }
 
     /**
-     * Sauvegarde la base de données dans le fichier JSON
-     * Uses atomic write pattern to prevent corruption if server crashes during save
+     * Charge l'ancien format JSON (migration)
      */
-    public static void saveDatabase() {
-        // Create temp file path in the same directory for atomic move
-        Path tempPath = DATABASE_PATH.getParent().resolve(DATABASE_PATH.getFileName() + ".tmp");
-
+    private static void loadLegacyJson() {
         try {
-            JsonObject root = new JsonObject();
-            JsonArray botsArray = new JsonArray();
+            // Lecture en flux (JsonReader) avec décodage parallèle par blocs
+            int loadedCount = StreamingJsonLoader.load(LEGACY_JSON_PATH, "bots", GSON, BotData.class,
+                BotDatabase::importLegacyRecord);
 
-            BOT_DATABASE.values().forEach(data -> {
-                data.lastActive = System.currentTimeMillis();
-                JsonElement botJson = GSON.toJsonTree(data);
-                botsArray.add(botJson);
-            });
+            System.out.println("[BotDatabase] Chargé " + loadedCount + " bots depuis l'ancien format JSON (conversion au prochain save)");
 
-            root.add("bots", botsArray);
-            root.addProperty("version", "1.0");
-            root.addProperty("lastSaved", System.currentTimeMillis());
+        } catch (Exception e) {
+            System.err.println("[BotDatabase] Erreur lors du chargement: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
 
-            String json = GSON.toJson(root);
+    /**
+     * Ajoute un enregistrement d'un ancien fichier unique : toutes ses régions sont
+     * considérées comme chargées et le bot sera écrit dans son shard au prochain save
+     */
+    private static void importLegacyRecord(BotData data) {
+        if (data.botUUID == null) {
+            return;
+        }
+        BotRegionStore.ShardKey key = BotRegionStore.ShardKey.of(data);
+        BOT_DATABASE.put(data.botUUID, data);
+        LOADED_SHARDS.add(key);
+        trackActivity(data);
+        markDirty(data, BotData.FIELD_ALL);
+        migrateLegacy = true;
+    }
 
-            // ATOMIC WRITE PATTERN:
-            // 1. Write to temporary file
-            Files.writeString(tempPath, json);
+    // ==================== RÉGIONS ====================
 
-            // 2. Atomic move (replace) - Guarantees either old file exists or new file exists, never corrupted
-            // ATOMIC_MOVE ensures that the operation is atomic at filesystem level
-            Files.move(tempPath, DATABASE_PATH, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    /**
+     * Charge les shards autour d'une position (spawn, joueur qui se connecte...)
+     *
+     * @param dimension Dimension ("minecraft:overworld")
+     * @param x Position X en blocs
+     * @param z Position Z en blocs
+     * @param radiusRegions Rayon en régions (1 = la région et ses 8 voisines)
+     * @return Nombre de bots chargés
+     */
+    public static int loadShardsAround(String dimension, double x, double z, int radiusRegions) {
+        if (regionStore == null) {
+            return 0;
+        }
 
-            System.out.println("[BotDatabase] Sauvegardé " + BOT_DATABASE.size() + " bots (atomic write)");
-            isDirty = false;
+        BotRegionStore.ShardKey center = BotRegionStore.ShardKey.of(dimension, x, z);
+        int loaded = 0;
+        for (int dx = -radiusRegions; dx <= radiusRegions; dx++) {
+            for (int dz = -radiusRegions; dz <= radiusRegions; dz++) {
+                loaded += loadShard(new BotRegionStore.ShardKey(center.dimension(),
+                    center.regionX() + dx, center.regionZ() + dz));
+            }
+        }
+        return loaded;
+    }
 
-        } catch (Exception e) {
-            System.err.println("[BotDatabase] Erreur lors de la sauvegarde: " + e.getMessage());
-            e.printStackTrace();
+    /**
+     * Charge un shard s'il ne l'est pas déjà
+     * Un bot déjà présent en mémoire n'est jamais écrasé par sa version sur disque.
+     *
+     * @return Nombre de bots ajoutés
+     */
+    private static int loadShard(BotRegionStore.ShardKey key) {
+        synchronized (SNAPSHOT) {
+            if (!LOADED_SHARDS.add(key)) {
+                return 0;
+            }
+
+            List<BotData> records;
+            try {
+                records = regionStore.readShard(key);
+            } catch (Exception e) {
+                System.err.println("[BotDatabase] Erreur lors du chargement du shard " + key + ": " + e.getMessage());
+                return 0;
+            }
+
+            int added = 0;
+            for (BotData data : records) {
+                if (data.botUUID == null) {
+                    continue;
+                }
+
+                BotRegionStore.ShardKey indexed = INDEX.get(data.botUUID);
+                if (indexed != null && !indexed.equals(key) && !LOADED_SHARDS.contains(indexed)) {
+                    // Copie périmée (crash entre l'écriture d'un shard et celle de l'index) :
+                    // l'index fait foi, ce shard sera réécrit sans ce bot
+                    PENDING_SHARDS.add(key);
+                    continue;
+                }
+
+                if (BOT_DATABASE.putIfAbsent(data.botUUID, data) == null) {
+                    SNAPSHOT.put(data.botUUID, data.copy());
+                    Long pendingActivity = PENDING_ACTIVITY.remove(data.botUUID);
+                    if (pendingActivity != null && pendingActivity > data.lastActive) {
+                        data.lastActive = pendingActivity;
+                        markDirty(data, BotData.FIELD_ACTIVITY);
+                    }
+                    trackActivity(data);
+                    if (!key.equals(indexed)) {
+                        INDEX.put(data.botUUID, key);
+                        pendingIndexWrite = true;
+                    }
+                    added++;
+                }
+            }
+
+            if (added > 0) {
+                System.out.println("[BotDatabase] Shard " + key + " chargé: " + added + " bots");
+            }
+            return added;
+        }
+    }
+
+    /**
+     * Charge le shard d'un bot connu de l'index mais pas encore en mémoire
+     */
+    private static void ensureLoaded(UUID botUUID) {
+        if (botUUID == null || BOT_DATABASE.containsKey(botUUID)) {
+            return;
+        }
+        BotRegionStore.ShardKey key = INDEX.get(botUUID);
+        if (key != null) {
+            loadShard(key);
+        }
+    }
+
+    /**
+     * Charge tous les shards (export complet)
+     */
+    public static void loadAllShards() {
+        for (BotRegionStore.ShardKey key : new HashSet<>(INDEX.values())) {
+            loadShard(key);
+        }
+    }
+
+    /**
+     * Sauvegarde la base de données (shards modifiés + index)
+     *
+     * Le thread appelant (thread serveur) ne fait que copier les enregistrements modifiés
+     * dans le snapshot; la sérialisation, le fsync et le renommage atomique sont faits
+     * par le thread IO de PersistenceWriter. Les sauvegardes rapprochées sont fusionnées.
+     *
+     * Seuls les shards contenant un bot modifié (ou qu'un bot a quitté) sont réécrits.
+     * L'index est écrit après les shards.
+     *
+     * @return Future complété quand les fichiers sont écrits sur disque
+     */
+    public static CompletableFuture<Void> saveDatabase() {
+        if (regionStore == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        boolean compress = isCompressionEnabled();
+        PersistenceWriter writer = PersistenceWriter.getInstance();
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        Set<BotRegionStore.ShardKey> dirtyShards = new HashSet<>();
+        int copied = 0;
+        int shardCount;
+
+        synchronized (SNAPSHOT) {
+            dirtyShards.addAll(PENDING_SHARDS);
+            PENDING_SHARDS.removeAll(dirtyShards);
+
+            // Un bot modifié plusieurs fois depuis le dernier save n'est copié qu'une fois
+            Set<UUID> changed = new LinkedHashSet<>();
+            SAVE_CHANGES.drain(change -> changed.add(change.botUUID()));
+
+            for (UUID uuid : changed) {
+                BotRegionStore.ShardKey previous = INDEX.get(uuid);
+                BotData live = BOT_DATABASE.get(uuid);
+                if (live == null) {
+                    SNAPSHOT.remove(uuid);
+                    INDEX.remove(uuid);
+                } else {
+                    // Remise à zéro avant la copie : une modification concurrente republie le bot
+                    int fields = live.dirtyFields.getAndSet(0);
+                    // Ni position ni dimension modifiées : le bot reste dans son shard
+                    BotRegionStore.ShardKey key = previous != null
+                        && (fields & (BotData.FIELD_POSITION | BotData.FIELD_DIMENSION)) == 0
+                        ? previous : BotRegionStore.ShardKey.of(live);
+                    SNAPSHOT.put(uuid, live.copy());
+                    INDEX.put(uuid, key);
+                    dirtyShards.add(key);
+                    copied++;
+                }
+
+                if (previous != null) {
+                    dirtyShards.add(previous);
+                }
+            }
+
+            // Un shard réécrit doit contenir aussi ses bots encore sur disque
+            for (BotRegionStore.ShardKey key : dirtyShards) {
+                loadShard(key);
+            }
 
-            // Clean up temp file if it exists
+            // Répartition du snapshot par shard (uniquement les shards à réécrire)
+            Map<BotRegionStore.ShardKey, List<BotData>> shardRecords = new HashMap<>();
+            for (BotRegionStore.ShardKey key : dirtyShards) {
+                shardRecords.put(key, new ArrayList<>());
+            }
+            for (BotData data : SNAPSHOT.values()) {
+                List<BotData> records = shardRecords.get(INDEX.get(data.botUUID));
+                if (records != null) {
+                    records.add(data);
+                }
+            }
+
+            for (Map.Entry<BotRegionStore.ShardKey, List<BotData>> entry : shardRecords.entrySet()) {
+                List<BotData> records = entry.getValue();
+                try {
+                    regionStore.ensureDirectory(entry.getKey());
+                } catch (IOException e) {
+                    System.err.println("[BotDatabase] Erreur lors de la création du dossier: " + e.getMessage());
+                }
+                writes.add(writer.submit(regionStore.getShardPath(entry.getKey()),
+                    out -> BotDatabaseCodec.write(out, records, compress)));
+            }
+            shardCount = shardRecords.size();
+
+            // Index en dernier (file unique du thread IO : écrit après les shards)
+            if (shardCount > 0 || pendingIndexWrite) {
+                Map<UUID, BotRegionStore.ShardKey> index = new HashMap<>(INDEX);
+                writes.add(writer.submit(regionStore.getIndexPath(),
+                    out -> BotRegionStore.writeIndex(out, index)));
+                pendingIndexWrite = false;
+            }
+        }
+
+        int copiedCount = copied;
+        boolean migrated = migrateLegacy;
+
+        return CompletableFuture.allOf(writes.toArray(new CompletableFuture[0]))
+            .whenComplete((result, error) -> {
+                if (error == null) {
+                    System.out.println("[BotDatabase] Sauvegardé " + copiedCount + " bots modifiés dans "
+                        + shardCount + " régions (écriture en arrière-plan)");
+                    if (migrated) {
+                        finishLegacyMigration();
+                    }
+                } else {
+                    // Le snapshot est déjà à jour : la prochaine sauvegarde réécrira ces shards
+                    System.err.println("[BotDatabase] Erreur lors de la sauvegarde: " + error.getMessage());
+                    PENDING_SHARDS.addAll(dirtyShards);
+                    pendingIndexWrite = true;
+                }
+            });
+    }
+
+    /**
+     * Les shards et l'index sont sur disque : l'ancien fichier unique n'est plus utilisé
+     */
+    private static void finishLegacyMigration() {
+        migrateLegacy = false;
+        for (Path legacy : List.of(DATABASE_PATH, LEGACY_JSON_PATH)) {
             try {
-                if (Files.exists(tempPath)) {
-                    Files.delete(tempPath);
+                if (Files.exists(legacy)) {
+                    Files.move(legacy, legacy.resolveSibling(legacy.getFileName() + ".migrated"),
+                        StandardCopyOption.REPLACE_EXISTING);
                 }
-            } catch (IOException cleanupEx) {
-                // Ignore cleanup errors
+            } catch (IOException e) {
+                System.err.println("[BotDatabase] Impossible de renommer " + legacy + ": " + e.getMessage());
             }
         }
+        System.out.println("[BotDatabase] Migration vers le stockage par régions terminée");
+    }
+
+    /**
+     * Exporte la base de données en JSON lisible (debug / inspection)
+     * Le fichier produit utilise l'ancien format et peut être réimporté
+     * en le renommant bot_database.json (si aucun stockage par régions n'existe)
+     * Toutes les régions sont chargées avant l'export
+     *
+     * @param target Fichier de destination, ou null pour bot_database_export.json à côté de la base
+     * @return Le fichier écrit
+     */
+    public static Path exportJson(Path target) throws IOException {
+        Path exportPath = target != null ? target : DATABASE_PATH.resolveSibling(EXPORT_JSON_FILE);
+        loadAllShards();
+
+        JsonObject root = new JsonObject();
+        JsonArray botsArray = new JsonArray();
+        BOT_DATABASE.values().forEach(data -> botsArray.add(GSON.toJsonTree(data)));
+
+        root.add("bots", botsArray);
+        root.addProperty("version", "1.0");
+        root.addProperty("lastSaved", System.currentTimeMillis());
+
+        Files.createDirectories(exportPath.toAbsolutePath().getParent());
+        Files.writeString(exportPath, GSON.toJson(root));
+
+        System.out.println("[BotDatabase] Exporté " + botsArray.size() + " bots en JSON: " + exportPath);
+        return exportPath;
+    }
+
+    /**
+     * Compression deflate du fichier binaire (configurable, activée par défaut)
+     */
+    private static boolean isCompressionEnabled() {
+        ConfigManager config = AIBrigadeMod.getConfigManager();
+        return config == null || config.isBotDatabaseCompressed();
     }
 
     /**
@@ -216,19 +643,30 @@ public class BotDatabase {
         data.botUUID = bot.getUUID();
 
         // Récupérer toutes les données du bot
-        updateBotData(data, bot);
+        updateBotData(data, bot, BotData.FIELD_ALL);
 
         BOT_DATABASE.put(data.botUUID, data);
-        isDirty = true;
+        trackActivity(data);
+        markDirty(data, BotData.FIELD_ALL);
 
         System.out.println("[BotDatabase] Bot enregistré: " + data.botName + " (" + data.botUUID + ")");
         return data;
     }
 
     /**
-     * Met à jour les données d'un bot existant
+     * Met à jour toutes les données d'un bot existant
      */
     public static void updateBot(BotEntity bot) {
+        updateBot(bot, BotData.FIELD_ALL);
+    }
+
+    /**
+     * Met à jour certains groupes de champs d'un bot existant
+     * Le bot n'est marqué modifié (et publié dans le flux) que si une valeur a réellement changé.
+     *
+     * @param fields Groupes à relire depuis l'entité (BotData.FIELD_*)
+     */
+    public static void updateBot(BotEntity bot, int fields) {
         // MAJOR FIX #37: Add null check on bot parameter
         if (bot == null) {
             System.err.println("[BotDatabase] Cannot update bot - bot entity is null");
@@ -236,63 +674,202 @@ public class BotDatabase {
         }
 
         UUID uuid = bot.getUUID();
+        ensureLoaded(uuid);
         BotData data = BOT_DATABASE.get(uuid);
 
         if (data == null) {
             // Si le bot n'existe pas, l'enregistrer
-            data = registerBot(bot);
+            registerBot(bot);
         } else {
             // Sinon, mettre à jour ses données
-            updateBotData(data, bot);
-            isDirty = true;
+            int changed = updateBotData(data, bot, fields);
+            // Déplacement ou changement d'état : activité réelle du bot
+            if ((changed & (BotData.FIELD_POSITION | BotData.FIELD_DIMENSION | BotData.FIELD_STATE)) != 0
+                    && touch(data)) {
+                changed |= BotData.FIELD_ACTIVITY;
+            }
+            if (changed != 0) {
+                markDirty(data, changed);
+            }
         }
     }
 
+    /**
+     * Signale une activité réelle du bot (déplacement, combat, changement d'état...)
+     * Sans effet pour un bot absent de la base; limité à une mise à jour par minute.
+     * Appelé depuis le tick serveur : un shard non chargé n'est jamais lu ici, l'activité
+     * est retenue et appliquée quand le shard est chargé.
+     */
+    public static void markActive(UUID botUUID) {
+        if (botUUID == null) {
+            return;
+        }
+        BotData data = BOT_DATABASE.get(botUUID);
+        if (data == null) {
+            if (INDEX.containsKey(botUUID)) {
+                PENDING_ACTIVITY.put(botUUID, System.currentTimeMillis());
+            }
+            return;
+        }
+        if (touch(data)) {
+            markDirty(data, BotData.FIELD_ACTIVITY);
+        }
+    }
+
+    /**
+     * Avance lastActive et réindexe le bot dans le tas d'activité
+     *
+     * @return false si la dernière activité est trop récente pour être enregistrée
+     */
+    private static boolean touch(BotData data) {
+        long now = System.currentTimeMillis();
+        if (now - data.lastActive < ACTIVITY_GRANULARITY_MS) {
+            return false;
+        }
+        data.lastActive = now;
+        trackActivity(data);
+        return true;
+    }
+
+    /**
+     * Ajoute l'entrée courante du bot au tas d'activité
+     * Les anciennes entrées restent jusqu'à être dépilées ou compactées.
+     */
+    private static void trackActivity(BotData data) {
+        synchronized (ACTIVITY_HEAP) {
+            ACTIVITY_HEAP.add(new ActivityEntry(data.botUUID, data.lastActive));
+
+            // Trop d'entrées périmées : reconstruction à partir des enregistrements
+            if (ACTIVITY_HEAP.size() > 2 * BOT_DATABASE.size() + 1024) {
+                ACTIVITY_HEAP.clear();
+                BOT_DATABASE.values().forEach(live -> ACTIVITY_HEAP.add(new ActivityEntry(live.botUUID, live.lastActive)));
+            }
+        }
+    }
+
+    /**
+     * Marque des groupes de champs modifiés et publie le changement
+     */
+    private static void markDirty(BotData data, int fields) {
+        data.dirtyFields.getAndAccumulate(fields, (current, added) -> current | added);
+        CHANGE_FEED.publish(data.botUUID, fields, false);
+    }
+
     /**
      * Copie les données du BotEntity vers BotData
+     * Chaque valeur est comparée avant affectation; seuls les groupes demandés sont relus
+     * (la vitesse, lue via la table d'attributs, uniquement avec FIELD_CONFIG)
+     *
+     * @return Groupes de champs réellement modifiés (0 si rien n'a changé)
      */
-    private static void updateBotData(BotData data, BotEntity bot) {
+    private static int updateBotData(BotData data, BotEntity bot, int fields) {
         // MAJOR FIX #37: Add null checks on parameters
         if (data == null || bot == null) {
             System.err.println("[BotDatabase] Cannot update bot data - null parameter (data=" + data + ", bot=" + bot + ")");
-            return;
+            return 0;
         }
 
+        int changed = 0;
+
         // Identité
-        data.playerUUID = bot.getPlayerUUID();
-        data.skinTextureValue = bot.getSkinTextureValue();
-        data.skinTextureSignature = bot.getSkinTextureSignature();
-        data.botName = bot.getBotName();
-        data.botSkin = bot.getBotSkin();
+        if ((fields & BotData.FIELD_IDENTITY) != 0) {
+            UUID playerUUID = bot.getPlayerUUID();
+            String skinTextureValue = bot.getSkinTextureValue();
+            String skinTextureSignature = bot.getSkinTextureSignature();
+            String botName = bot.getBotName();
+            String botSkin = bot.getBotSkin();
+            if (!Objects.equals(data.playerUUID, playerUUID)
+                    || !Objects.equals(data.skinTextureValue, skinTextureValue)
+                    || !Objects.equals(data.skinTextureSignature, skinTextureSignature)
+                    || !Objects.equals(data.botName, botName)
+                    || !Objects.equals(data.botSkin, botSkin)) {
+                data.playerUUID = playerUUID;
+                data.skinTextureValue = skinTextureValue;
+                data.skinTextureSignature = skinTextureSignature;
+                data.botName = botName;
+                data.botSkin = botSkin;
+                changed |= BotData.FIELD_IDENTITY;
+            }
+        }
 
         // Groupe et leader
-        data.groupId = bot.getBotGroup();
-        data.leaderUUID = bot.getLeaderId();
-        data.isFollowingLeader = bot.isFollowingLeader();
+        if ((fields & BotData.FIELD_GROUP) != 0) {
+            String groupId = bot.getBotGroup();
+            UUID leaderUUID = bot.getLeaderId();
+            boolean isFollowingLeader = bot.isFollowingLeader();
+            if (!Objects.equals(data.groupId, groupId)
+                    || !Objects.equals(data.leaderUUID, leaderUUID)
+                    || data.isFollowingLeader != isFollowingLeader) {
+                data.groupId = groupId;
+                data.leaderUUID = leaderUUID;
+                data.isFollowingLeader = isFollowingLeader;
+                changed |= BotData.FIELD_GROUP;
+            }
+        }
 
         // Position
-        data.posX = bot.getX();
-        data.posY = bot.getY();
-        data.posZ = bot.getZ();
-        data.dimension = bot.level().dimension().location().toString();
+        if ((fields & BotData.FIELD_POSITION) != 0) {
+            if (data.posX != bot.getX() || data.posY != bot.getY() || data.posZ != bot.getZ()) {
+                data.posX = bot.getX();
+                data.posY = bot.getY();
+                data.posZ = bot.getZ();
+                changed |= BotData.FIELD_POSITION;
+            }
 
-        if (bot.getHomePosition() != null) {
-            data.homeX = bot.getHomePosition().getX();
-            data.homeY = bot.getHomePosition().getY();
-            data.homeZ = bot.getHomePosition().getZ();
+            if (bot.getHomePosition() != null) {
+                int homeX = bot.getHomePosition().getX();
+                int homeY = bot.getHomePosition().getY();
+                int homeZ = bot.getHomePosition().getZ();
+                if (data.homeX != homeX || data.homeY != homeY || data.homeZ != homeZ) {
+                    data.homeX = homeX;
+                    data.homeY = homeY;
+                    data.homeZ = homeZ;
+                    changed |= BotData.FIELD_POSITION;
+                }
+            }
+        }
+
+        if ((fields & BotData.FIELD_DIMENSION) != 0) {
+            String dimension = DIMENSION_NAMES.computeIfAbsent(bot.level().dimension(),
+                key -> key.location().toString());
+            if (!dimension.equals(data.dimension)) {
+                data.dimension = dimension;
+                changed |= BotData.FIELD_DIMENSION;
+            }
         }
 
         // État
-        data.aiState = bot.getAIState().name();
-        data.role = bot.getRole().name();
-        data.behaviorType = bot.getBehaviorType();
-        data.isStatic = bot.isStatic();
-        data.followRadius = bot.getFollowRadius();
-        data.isHostile = bot.isHostile();
+        if ((fields & BotData.FIELD_STATE) != 0) {
+            String aiState = bot.getAIState().name();
+            String role = bot.getRole().name();
+            String behaviorType = bot.getBehaviorType();
+            if (!aiState.equals(data.aiState)
+                    || !role.equals(data.role)
+                    || !Objects.equals(data.behaviorType, behaviorType)
+                    || data.isStatic != bot.isStatic()
+                    || data.followRadius != bot.getFollowRadius()
+                    || data.isHostile != bot.isHostile()) {
+                data.aiState = aiState;
+                data.role = role;
+                data.behaviorType = behaviorType;
+                data.isStatic = bot.isStatic();
+                data.followRadius = bot.getFollowRadius();
+                data.isHostile = bot.isHostile();
+                changed |= BotData.FIELD_STATE;
+            }
+        }
 
         // Configuration
-        data.canPlaceBlocks = bot.canPlaceBlocks();
-        data.movementSpeed = (float) bot.getAttributeValue(net.minecraft.world.entity.ai.attributes.Attributes.MOVEMENT_SPEED);
+        if ((fields & BotData.FIELD_CONFIG) != 0) {
+            float movementSpeed = (float) bot.getAttributeValue(net.minecraft.world.entity.ai.attributes.Attributes.MOVEMENT_SPEED);
+            if (data.canPlaceBlocks != bot.canPlaceBlocks() || data.movementSpeed != movementSpeed) {
+                data.canPlaceBlocks = bot.canPlaceBlocks();
+                data.movementSpeed = movementSpeed;
+                changed |= BotData.FIELD_CONFIG;
+            }
+        }
+
+        return changed;
     }
 
     /**
@@ -306,7 +883,7 @@ public class BotDatabase {
         }
 
         UUID uuid = bot.getUUID();
-        BotData data = BOT_DATABASE.get(uuid);
+        BotData data = getBotData(uuid);
 
         if (data == null) {
             System.out.println("[BotDatabase] Aucune donnée trouvée pour le bot " + uuid);
@@ -315,8 +892,7 @@ public class BotDatabase {
 
         // Appliquer l'identité
         bot.setPlayerUUID(data.playerUUID);
-        bot.setSkinTextureValue(data.skinTextureValue);
-        bot.setSkinTextureSignature(data.skinTextureSignature);
+        bot.setSkinTextures(data.skinTextureValue, data.skinTextureSignature);
         bot.setBotName(data.botName);
         bot.setBotSkin(data.botSkin);
 
@@ -366,6 +942,8 @@ public class BotDatabase {
      * Récupère les données d'un bot par son UUID
      */
     public static BotData getBotData(UUID botUUID) {
+        // Chargement à la demande du shard du bot
+        ensureLoaded(botUUID);
         return BOT_DATABASE.get(botUUID);
     }
 
@@ -373,53 +951,77 @@ public class BotDatabase {
      * Supprime un bot de la base de données
      */
     public static void removeBot(UUID botUUID) {
+        // Sinon le bot réapparaîtrait au chargement de son shard
+        ensureLoaded(botUUID);
         if (BOT_DATABASE.remove(botUUID) != null) {
-            isDirty = true;
+            CHANGE_FEED.publish(botUUID, 0, true);
             System.out.println("[BotDatabase] Bot supprimé: " + botUUID);
         }
     }
 
     /**
-     * Obtient tous les bots enregistrés
+     * Obtient tous les bots des régions chargées
      */
     public static Collection<BotData> getAllBots() {
         return BOT_DATABASE.values();
     }
 
+    /**
+     * Flux des modifications : s'abonner pour traiter uniquement ce qui a changé
+     * (un abonnement non vidé grossit indéfiniment, le fermer après usage)
+     */
+    public static BotChangeFeed getChangeFeed() {
+        return CHANGE_FEED;
+    }
+
     /**
      * Vérifie si la base de données a été modifiée
+     * Dérivé du flux et des files concurrentes : pas de drapeau partagé à synchroniser
      */
     public static boolean isDirty() {
-        return isDirty;
+        return !SAVE_CHANGES.isEmpty() || !PENDING_SHARDS.isEmpty() || pendingIndexWrite;
     }
 
     /**
-     * Auto-save toutes les 5 minutes si modifié
+     * Auto-save si modifié (appelé à chaque sauvegarde du monde)
      */
     public static void autoSave() {
-        if (isDirty) {
+        if (isDirty()) {
             saveDatabase();
         }
     }
 
     /**
-     * Nettoie les bots inactifs depuis plus de X jours
+     * Nettoie les bots inactifs depuis plus de X jours (régions chargées uniquement)
+     * Seuls les bots échus sont dépilés du tas d'activité : coût proportionnel au
+     * nombre de bots supprimés, pas à la taille de la base
      */
     public static void cleanupInactiveBots(long maxInactivityMs) {
-        long currentTime = System.currentTimeMillis();
+        long cutoff = System.currentTimeMillis() - maxInactivityMs;
         List<UUID> toRemove = new ArrayList<>();
 
-        BOT_DATABASE.forEach((uuid, data) -> {
-            if (currentTime - data.lastActive > maxInactivityMs) {
-                toRemove.add(uuid);
+        synchronized (ACTIVITY_HEAP) {
+            ActivityEntry entry;
+            while ((entry = ACTIVITY_HEAP.peek()) != null && entry.lastActive() < cutoff) {
+                ACTIVITY_HEAP.poll();
+                BotData data = BOT_DATABASE.get(entry.botUUID());
+                // Entrée périmée : bot supprimé, ou actif depuis (une entrée plus récente existe)
+                if (data != null && data.lastActive == entry.lastActive()) {
+                    toRemove.add(entry.botUUID());
+                }
             }
-        });
+        }
 
-        toRemove.forEach(BOT_DATABASE::remove);
+        int removed = 0;
+        for (UUID uuid : toRemove) {
+            if (BOT_DATABASE.remove(uuid) != null) {
+                CHANGE_FEED.publish(uuid, 0, true);
+                removed++;
+            }
+        }
 
-        if (!toRemove.isEmpty()) {
-            isDirty = true;
-            System.out.println("[BotDatabase] Nettoyé " + toRemove.size() + " bots inactifs");
+        if (removed > 0) {
+            System.out.println("[BotDatabase] Nettoyé " + removed + " bots inactifs");
         }
     }
 }
@@ -0,0 +1,295 @@
+package com.aibrigade.persistence;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * BotDatabaseCodec - Format binaire compact et versionné pour BotDatabase
+ *
+ * Structure du fichier:
+ * - En-tête (jamais compressé):
+ *     int   MAGIC ("AIBD")
+ *     short VERSION
+ *     byte  FLAGS (bit 0 = corps compressé avec deflate)
+ * - Corps (éventuellement deflate):
+ *     long  savedAt
+ *     int   taille du dictionnaire, puis chaque chaîne (int longueur + UTF-8)
+ *     int   nombre d'enregistrements, puis chaque enregistrement à taille fixe (RECORD_SIZE)
+ *
+ * Toutes les chaînes (textures de skin, signatures, noms, groupes, dimensions, états...)
+ * sont stockées une seule fois dans le dictionnaire et référencées par index (-1 = null).
+ * Les textures base64 répétées pour chaque bot ne coûtent donc plus que 4 octets par bot.
+ *
+ * Le dictionnaire précède les enregistrements : la lecture est un flux, un BotData à la fois.
+ */
+public final class BotDatabaseCodec {
+
+    public static final int MAGIC = 0x41494244; // "AIBD"
+    public static final short VERSION = 1;
+
+    private static final byte FLAG_DEFLATE = 0x01;
+
+    // Bits du champ flags de chaque enregistrement
+    private static final int HAS_PLAYER_UUID = 1;
+    private static final int HAS_LEADER_UUID = 1 << 1;
+    private static final int FOLLOWING_LEADER = 1 << 2;
+    private static final int STATIC = 1 << 3;
+    private static final int HOSTILE = 1 << 4;
+    private static final int CAN_PLACE_BLOCKS = 1 << 5;
+
+    // Nombre de références au dictionnaire par enregistrement
+    private static final int STRING_FIELDS = 15;
+
+    /**
+     * Taille fixe d'un enregistrement en octets:
+     * 3 UUID (48) + flags (4) + 2 timestamps (16) + chaînes (15 x 4)
+     * + 6 doubles position/home (48) + 4 floats (16) + 4 ints (16)
+     */
+    public static final int RECORD_SIZE = 48 + 4 + 16 + STRING_FIELDS * 4 + 48 + 16 + 16;
+
+    private BotDatabaseCodec() {
+    }
+
+    /**
+     * Informations d'en-tête retournées à la lecture
+     */
+    public static class Header {
+        public short version;
+        public boolean compressed;
+        public long savedAt;
+        public int dictionarySize;
+        public int recordCount;
+    }
+
+    /**
+     * Écrit la base complète dans le flux (le flux n'est pas fermé)
+     *
+     * @param out Flux de sortie
+     * @param records Enregistrements à écrire
+     * @param compress true pour compresser le corps avec deflate
+     */
+    public static void write(OutputStream out, Collection<BotDatabase.BotData> records, boolean compress) throws IOException {
+        DataOutputStream header = new DataOutputStream(out);
+        header.writeInt(MAGIC);
+        header.writeShort(VERSION);
+        header.writeByte(compress ? FLAG_DEFLATE : 0);
+        header.flush();
+
+        DeflaterOutputStream deflater = null;
+        OutputStream bodyStream = out;
+        if (compress) {
+            deflater = new DeflaterOutputStream(out, new Deflater(Deflater.BEST_SPEED), 64 * 1024);
+            bodyStream = deflater;
+        }
+
+        DataOutputStream body = new DataOutputStream(new BufferedOutputStream(bodyStream, 64 * 1024));
+
+        // Première passe : construire le dictionnaire
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (BotDatabase.BotData data : records) {
+            for (String value : stringFields(data)) {
+                if (value != null) {
+                    dictionary.putIfAbsent(value, dictionary.size());
+                }
+            }
+        }
+
+        body.writeLong(System.currentTimeMillis());
+        body.writeInt(dictionary.size());
+        for (String value : dictionary.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            body.writeInt(bytes.length);
+            body.write(bytes);
+        }
+
+        // Deuxième passe : enregistrements à taille fixe
+        body.writeInt(records.size());
+        for (BotDatabase.BotData data : records) {
+            writeRecord(body, data, dictionary);
+        }
+
+        body.flush();
+        if (deflater != null) {
+            deflater.finish();
+        }
+        out.flush();
+    }
+
+    /**
+     * Lit la base en flux, un enregistrement à la fois (le flux n'est pas fermé)
+     *
+     * @param in Flux d'entrée
+     * @param consumer Reçoit chaque BotData décodé
+     * @return L'en-tête lu
+     */
+    public static Header read(InputStream in, Consumer<BotDatabase.BotData> consumer) throws IOException {
+        DataInputStream headerStream = new DataInputStream(in);
+
+        int magic = headerStream.readInt();
+        if (magic != MAGIC) {
+            throw new IOException("Not an AIBrigade bot database (bad magic 0x" + Integer.toHexString(magic) + ")");
+        }
+
+        Header header = new Header();
+        header.version = headerStream.readShort();
+        if (header.version > VERSION) {
+            throw new IOException("Unsupported bot database version " + header.version + " (max " + VERSION + ")");
+        }
+
+        byte flags = headerStream.readByte();
+        header.compressed = (flags & FLAG_DEFLATE) != 0;
+
+        InputStream bodyStream = header.compressed ? new InflaterInputStream(in, new Inflater(), 64 * 1024) : in;
+        DataInputStream body = new DataInputStream(new BufferedInputStream(bodyStream, 64 * 1024));
+
+        header.savedAt = body.readLong();
+
+        header.dictionarySize = body.readInt();
+        String[] dictionary = new String[header.dictionarySize];
+        for (int i = 0; i < dictionary.length; i++) {
+            int length = body.readInt();
+            byte[] bytes = new byte[length];
+            body.readFully(bytes);
+            dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        header.recordCount = body.readInt();
+        for (int i = 0; i < header.recordCount; i++) {
+            consumer.accept(readRecord(body, dictionary));
+        }
+
+        return header;
+    }
+
+    /**
+     * Champs texte d'un enregistrement, dans l'ordre d'écriture
+     */
+    private static String[] stringFields(BotDatabase.BotData data) {
+        String[] armor = data.armorSlots != null ? data.armorSlots : new String[4];
+        return new String[]{
+            data.skinTextureValue, data.skinTextureSignature, data.botName, data.botSkin,
+            data.groupId, data.dimension, data.aiState, data.role, data.behaviorType,
+            data.mainHandItem, data.offHandItem,
+            armor.length > 0 ? armor[0] : null, armor.length > 1 ? armor[1] : null,
+            armor.length > 2 ? armor[2] : null, armor.length > 3 ? armor[3] : null
+        };
+    }
+
+    private static void writeRecord(DataOutputStream out, BotDatabase.BotData data,
+                                    Map<String, Integer> dictionary) throws IOException {
+        writeUUID(out, data.botUUID);
+        writeUUID(out, data.playerUUID);
+        writeUUID(out, data.leaderUUID);
+
+        int flags = 0;
+        if (data.playerUUID != null) flags |= HAS_PLAYER_UUID;
+        if (data.leaderUUID != null) flags |= HAS_LEADER_UUID;
+        if (data.isFollowingLeader) flags |= FOLLOWING_LEADER;
+        if (data.isStatic) flags |= STATIC;
+        if (data.isHostile) flags |= HOSTILE;
+        if (data.canPlaceBlocks) flags |= CAN_PLACE_BLOCKS;
+        out.writeInt(flags);
+
+        out.writeLong(data.creationTime);
+        out.writeLong(data.lastActive);
+
+        for (String value : stringFields(data)) {
+            out.writeInt(value != null ? dictionary.get(value) : -1);
+        }
+
+        out.writeDouble(data.posX);
+        out.writeDouble(data.posY);
+        out.writeDouble(data.posZ);
+        out.writeDouble(data.homeX);
+        out.writeDouble(data.homeY);
+        out.writeDouble(data.homeZ);
+
+        out.writeFloat(data.followRadius);
+        out.writeFloat(data.movementSpeed);
+        out.writeFloat(data.chaseChance);
+        out.writeFloat(data.lookAroundChance);
+
+        out.writeInt(data.lookAroundInterval);
+        out.writeInt(data.blocksPlaced);
+        out.writeInt(data.distanceTraveled);
+        out.writeInt(data.enemiesKilled);
+    }
+
+    private static BotDatabase.BotData readRecord(DataInputStream in, String[] dictionary) throws IOException {
+        BotDatabase.BotData data = new BotDatabase.BotData();
+
+        data.botUUID = readUUID(in);
+        UUID playerUUID = readUUID(in);
+        UUID leaderUUID = readUUID(in);
+
+        int flags = in.readInt();
+        data.playerUUID = (flags & HAS_PLAYER_UUID) != 0 ? playerUUID : null;
+        data.leaderUUID = (flags & HAS_LEADER_UUID) != 0 ? leaderUUID : null;
+        data.isFollowingLeader = (flags & FOLLOWING_LEADER) != 0;
+        data.isStatic = (flags & STATIC) != 0;
+        data.isHostile = (flags & HOSTILE) != 0;
+        data.canPlaceBlocks = (flags & CAN_PLACE_BLOCKS) != 0;
+
+        data.creationTime = in.readLong();
+        data.lastActive = in.readLong();
+
+        data.skinTextureValue = lookup(dictionary, in.readInt());
+        data.skinTextureSignature = lookup(dictionary, in.readInt());
+        data.botName = lookup(dictionary, in.readInt());
+        data.botSkin = lookup(dictionary, in.readInt());
+        data.groupId = lookup(dictionary, in.readInt());
+        data.dimension = lookup(dictionary, in.readInt());
+        data.aiState = lookup(dictionary, in.readInt());
+        data.role = lookup(dictionary, in.readInt());
+        data.behaviorType = lookup(dictionary, in.readInt());
+        data.mainHandItem = lookup(dictionary, in.readInt());
+        data.offHandItem = lookup(dictionary, in.readInt());
+        for (int i = 0; i < 4; i++) {
+            data.armorSlots[i] = lookup(dictionary, in.readInt());
+        }
+
+        data.posX = in.readDouble();
+        data.posY = in.readDouble();
+        data.posZ = in.readDouble();
+        data.homeX = in.readDouble();
+        data.homeY = in.readDouble();
+        data.homeZ = in.readDouble();
+
+        data.followRadius = in.readFloat();
+        data.movementSpeed = in.readFloat();
+        data.chaseChance = in.readFloat();
+        data.lookAroundChance = in.readFloat();
+
+        data.lookAroundInterval = in.readInt();
+        data.blocksPlaced = in.readInt();
+        data.distanceTraveled = in.readInt();
+        data.enemiesKilled = in.readInt();
+
+        return data;
+    }
+
+    private static String lookup(String[] dictionary, int index) throws IOException {
+        if (index < 0) {
+            return null;
+        }
+        if (index >= dictionary.length) {
+            throw new IOException("Corrupted bot database: string index " + index + " out of range");
+        }
+        return dictionary[index];
+    }
+
+    private static void writeUUID(DataOutputStream out, UUID uuid) throws IOException {
+        out.writeLong(uuid != null ? uuid.getMostSignificantBits() : 0L);
+        out.writeLong(uuid != null ? uuid.getLeastSignificantBits() : 0L);
+    }
+
+    private static UUID readUUID(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+}
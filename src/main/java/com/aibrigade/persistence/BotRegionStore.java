@@ -0,0 +1,208 @@
+package com.aibrigade.persistence;
+
+import com.aibrigade.main.AIBrigadeMod;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * BotRegionStore - Region-sharded files for BotDatabase records
+ *
+ * Layout (under data/aibrigade/bots/), similar to vanilla region files:
+ * - <dimension>/r.<regionX>.<regionZ>.bin : BotDatabaseCodec file with the bots of one region
+ * - index.bin                            : bot UUID -> shard, so any bot can be found without reading shards
+ *
+ * A region covers 32x32 chunks (512x512 blocks). The index is small (UUID + shard id per bot);
+ * shards hold the heavy data (skins, names...) and are only read when needed.
+ */
+public final class BotRegionStore {
+
+    // 32 chunks * 16 blocks = 512 blocks per region
+    public static final int REGION_SHIFT = 9;
+
+    private static final String SHARD_DIR = "bots";
+    private static final String INDEX_FILE = "index.bin";
+
+    private static final int INDEX_MAGIC = 0x41494249; // "AIBI"
+    private static final short INDEX_VERSION = 1;
+
+    private static final String DEFAULT_DIMENSION = "minecraft:overworld";
+
+    /**
+     * Identifies one shard: a dimension and a 32x32 chunk region
+     */
+    public record ShardKey(String dimension, int regionX, int regionZ) {
+
+        public static ShardKey of(String dimension, double x, double z) {
+            return new ShardKey(dimension != null ? dimension : DEFAULT_DIMENSION,
+                (int) Math.floor(x) >> REGION_SHIFT,
+                (int) Math.floor(z) >> REGION_SHIFT);
+        }
+
+        public static ShardKey of(BotDatabase.BotData data) {
+            return of(data.dimension, data.posX, data.posZ);
+        }
+
+        @Override
+        public String toString() {
+            return dimension + "/r." + regionX + "." + regionZ;
+        }
+    }
+
+    private final Path root;
+
+    public BotRegionStore(Path dataDir) {
+        this.root = dataDir.resolve(SHARD_DIR);
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public Path getIndexPath() {
+        return root.resolve(INDEX_FILE);
+    }
+
+    public Path getShardPath(ShardKey key) {
+        return root.resolve(sanitize(key.dimension())).resolve("r." + key.regionX() + "." + key.regionZ() + ".bin");
+    }
+
+    public boolean hasIndex() {
+        return Files.exists(getIndexPath());
+    }
+
+    public boolean hasShards() {
+        return Files.isDirectory(root);
+    }
+
+    /**
+     * Create the directory of a shard before it is written
+     */
+    public void ensureDirectory(ShardKey key) throws IOException {
+        Files.createDirectories(getShardPath(key).getParent());
+    }
+
+    /**
+     * Read all records of a shard (empty list if the shard does not exist)
+     */
+    public List<BotDatabase.BotData> readShard(ShardKey key) throws IOException {
+        Path file = getShardPath(key);
+        List<BotDatabase.BotData> records = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return records;
+        }
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 64 * 1024)) {
+            BotDatabaseCodec.read(in, records::add);
+        }
+        return records;
+    }
+
+    // ==================== INDEX ====================
+
+    /**
+     * Read the UUID -> shard index
+     */
+    public Map<UUID, ShardKey> readIndex() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(getIndexPath()), 64 * 1024))) {
+            if (in.readInt() != INDEX_MAGIC) {
+                throw new IOException("Not an AIBrigade shard index");
+            }
+            short version = in.readShort();
+            if (version > INDEX_VERSION) {
+                throw new IOException("Unsupported shard index version " + version);
+            }
+
+            ShardKey[] shards = new ShardKey[in.readInt()];
+            for (int i = 0; i < shards.length; i++) {
+                shards[i] = new ShardKey(in.readUTF(), in.readInt(), in.readInt());
+            }
+
+            int entries = in.readInt();
+            Map<UUID, ShardKey> index = new HashMap<>(Math.max(16, entries * 2));
+            for (int i = 0; i < entries; i++) {
+                UUID uuid = new UUID(in.readLong(), in.readLong());
+                int shard = in.readInt();
+                if (shard < 0 || shard >= shards.length) {
+                    throw new IOException("Corrupted shard index: shard " + shard + " out of range");
+                }
+                index.put(uuid, shards[shard]);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Serialize the index (runs on the IO thread, stream is not closed)
+     */
+    public static void writeIndex(OutputStream out, Map<UUID, ShardKey> index) throws IOException {
+        Map<ShardKey, Integer> shardIds = new LinkedHashMap<>();
+        for (ShardKey key : index.values()) {
+            shardIds.putIfAbsent(key, shardIds.size());
+        }
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(INDEX_MAGIC);
+        data.writeShort(INDEX_VERSION);
+
+        data.writeInt(shardIds.size());
+        for (ShardKey key : shardIds.keySet()) {
+            data.writeUTF(key.dimension());
+            data.writeInt(key.regionX());
+            data.writeInt(key.regionZ());
+        }
+
+        data.writeInt(index.size());
+        for (Map.Entry<UUID, ShardKey> entry : index.entrySet()) {
+            data.writeLong(entry.getKey().getMostSignificantBits());
+            data.writeLong(entry.getKey().getLeastSignificantBits());
+            data.writeInt(shardIds.get(entry.getValue()));
+        }
+        data.flush();
+    }
+
+    /**
+     * Rebuild the index by reading every shard (missing or corrupted index.bin)
+     * Each record is indexed under the shard it was found in.
+     */
+    public Map<UUID, ShardKey> rebuildIndex() throws IOException {
+        Map<UUID, ShardKey> index = new HashMap<>();
+        if (!hasShards()) {
+            return index;
+        }
+
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root, 2)) {
+            files = walk.filter(p -> p.getFileName().toString().matches("r\\.-?\\d+\\.-?\\d+\\.bin")).toList();
+        }
+
+        for (Path file : files) {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 64 * 1024)) {
+                String[] parts = file.getFileName().toString().split("\\.");
+                int regionX = Integer.parseInt(parts[1]);
+                int regionZ = Integer.parseInt(parts[2]);
+
+                BotDatabaseCodec.read(in, data -> {
+                    ShardKey recorded = ShardKey.of(data);
+                    // Dimension comes from the record: directory names are sanitized
+                    index.put(data.botUUID, new ShardKey(recorded.dimension(), regionX, regionZ));
+                });
+            } catch (IOException | RuntimeException e) {
+                AIBrigadeMod.LOGGER.error("Skipping unreadable bot shard " + file, e);
+            }
+        }
+
+        AIBrigadeMod.LOGGER.info("Rebuilt bot shard index from {} shard files ({} bots)", files.size(), index.size());
+        return index;
+    }
+
+    /**
+     * "minecraft:the_nether" -> "minecraft_the_nether"
+     */
+    private static String sanitize(String dimension) {
+        return dimension.replaceAll("[^a-zA-Z0-9_.-]", "_");
+    }
+}
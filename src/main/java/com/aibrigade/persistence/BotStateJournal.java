@@ -0,0 +1,387 @@
+package com.aibrigade.persistence;
+
+import com.aibrigade.main.AIBrigadeMod;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * BotStateJournal - Incremental, journaled store for BotManager state
+ *
+ * Persists groups, leaders, group-level bot state and relationships as:
+ * - bot_state.json    : compacted snapshot (full state at the last checkpoint)
+ * - bot_state.journal : append-only log of mutations since that snapshot (one JSON line each)
+ *
+ * Mutations are recorded in memory as they happen and only the pending ones are
+ * appended on save, so a save costs O(changes) instead of O(bots). Once the journal
+ * grows past COMPACTION_THRESHOLD entries it is folded into a new snapshot.
+ *
+ * Bot entities themselves are persisted by Minecraft with their chunk (see
+ * BotEntity.addAdditionalSaveData); this store only covers manager-level state.
+ *
+ * Thread-safe: all methods synchronize on the journal instance. Mutations are rare
+ * (commands, spawns, removals), never per-tick.
+ */
+public class BotStateJournal {
+
+    private static final Gson LINE_GSON = new GsonBuilder().create();
+    private static final Gson SNAPSHOT_GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private static final String SNAPSHOT_FILE = "bot_state.json";
+    private static final String JOURNAL_FILE = "bot_state.journal";
+
+    // Number of journal lines after which the journal is folded into the snapshot
+    private static final int COMPACTION_THRESHOLD = 2048;
+
+    private final Path snapshotFile;
+    private final Path journalFile;
+
+    // Mirror of the persisted state (snapshot + replayed journal + pending mutations)
+    private final State state = new State();
+
+    // Mutations recorded since the last flush
+    private final List<Mutation> pending = new ArrayList<>();
+
+    // Lines currently in the journal file
+    private int journalEntries = 0;
+
+    /**
+     * Mutation types
+     */
+    public enum Op {
+        GROUP_PUT,              // Create/update group (leader name, follow radius)
+        GROUP_REMOVE,           // Remove group and its members
+        MEMBER_ADD,             // Add bot UUID to group
+        MEMBER_REMOVE,          // Remove bot UUID from group
+        TEAM_RELATION,          // Set relationship group -> other group
+        TEAM_RELATIONS_CLEAR,   // Drop all relationships declared by a group
+        PLAYER_RELATION,        // Set relationship player -> group
+        GROUP_STATE             // Group-level bot state (behavior, static, follow, hostile, leader UUID)
+    }
+
+    /**
+     * A single journal line
+     */
+    public static class Mutation {
+        public Op op;
+        public String group;
+        public String target;        // Other group, member UUID or player UUID depending on op
+        public String leaderName;
+        public float followRadius;
+        public String relationship;
+        public String behaviorType;
+        public boolean isStatic;
+        public float stateFollowRadius; // Bot follow radius of the group state, distinct from the group radius
+        public boolean followingLeader;
+        public boolean hostile;
+        public String leaderId;
+
+        public Mutation() {
+        }
+
+        private Mutation(Op op, String group, String target) {
+            this.op = op;
+            this.group = group;
+            this.target = target;
+        }
+
+        public static Mutation groupPut(String group, String leaderName, float followRadius) {
+            Mutation m = new Mutation(Op.GROUP_PUT, group, null);
+            m.leaderName = leaderName;
+            m.followRadius = followRadius;
+            return m;
+        }
+
+        public static Mutation groupRemove(String group) {
+            return new Mutation(Op.GROUP_REMOVE, group, null);
+        }
+
+        public static Mutation memberAdd(String group, String botUUID) {
+            return new Mutation(Op.MEMBER_ADD, group, botUUID);
+        }
+
+        public static Mutation memberRemove(String group, String botUUID) {
+            return new Mutation(Op.MEMBER_REMOVE, group, botUUID);
+        }
+
+        public static Mutation teamRelation(String group, String otherGroup, String relationship) {
+            Mutation m = new Mutation(Op.TEAM_RELATION, group, otherGroup);
+            m.relationship = relationship;
+            return m;
+        }
+
+        public static Mutation teamRelationsClear(String group) {
+            return new Mutation(Op.TEAM_RELATIONS_CLEAR, group, null);
+        }
+
+        public static Mutation groupState(String group, String behaviorType, boolean isStatic, float followRadius,
+                                          boolean hostile, boolean followingLeader, String leaderId) {
+            Mutation m = new Mutation(Op.GROUP_STATE, group, null);
+            m.behaviorType = behaviorType;
+            m.isStatic = isStatic;
+            m.stateFollowRadius = followRadius;
+            m.hostile = hostile;
+            m.followingLeader = followingLeader;
+            m.leaderId = leaderId;
+            return m;
+        }
+
+        public static Mutation playerRelation(String playerUUID, String group, String relationship) {
+            Mutation m = new Mutation(Op.PLAYER_RELATION, group, playerUUID);
+            m.relationship = relationship;
+            return m;
+        }
+    }
+
+    /**
+     * Persisted group state
+     */
+    public static class GroupState {
+        public String leaderName = "none";
+        public float followRadius = 10.0f;
+        public Set<String> members = new LinkedHashSet<>();
+
+        // Group-level bot state (BotGroupStates), defaults match a group never commanded
+        public String behaviorType = "idle";
+        public boolean isStatic = false;
+        public float stateFollowRadius = 10.0f; // BotGroup radius is followRadius (GROUP_PUT)
+        public boolean hostile = false;
+        public boolean followingLeader = false;
+        public String leaderId = null;
+    }
+
+    /**
+     * Full persisted state (snapshot format)
+     */
+    public static class State {
+        public int version = 1;
+        public Map<String, GroupState> groups = new LinkedHashMap<>();
+        public Map<String, Map<String, String>> teamRelationships = new LinkedHashMap<>();
+        public Map<String, Map<String, String>> playerRelationships = new LinkedHashMap<>();
+    }
+
+    /**
+     * Create a journal stored in the given data directory
+     */
+    public BotStateJournal(Path dataDir) {
+        this.snapshotFile = dataDir.resolve(SNAPSHOT_FILE);
+        this.journalFile = dataDir.resolve(JOURNAL_FILE);
+
+        try {
+            Files.createDirectories(dataDir);
+        } catch (IOException e) {
+            AIBrigadeMod.LOGGER.error("Failed to create bot state directory: " + dataDir, e);
+        }
+    }
+
+    /**
+     * Load snapshot and replay journal
+     *
+     * @return The recovered state (read-only view for the caller)
+     */
+    public synchronized State load() {
+        state.groups.clear();
+        state.teamRelationships.clear();
+        state.playerRelationships.clear();
+        pending.clear();
+        journalEntries = 0;
+
+        if (Files.exists(snapshotFile)) {
+            try (Reader reader = Files.newBufferedReader(snapshotFile, StandardCharsets.UTF_8)) {
+                State loaded = SNAPSHOT_GSON.fromJson(reader, State.class);
+                if (loaded != null) {
+                    if (loaded.groups != null) state.groups.putAll(loaded.groups);
+                    if (loaded.teamRelationships != null) state.teamRelationships.putAll(loaded.teamRelationships);
+                    if (loaded.playerRelationships != null) state.playerRelationships.putAll(loaded.playerRelationships);
+                }
+            } catch (IOException | JsonParseException e) {
+                AIBrigadeMod.LOGGER.error("Failed to read bot state snapshot, starting from journal only", e);
+            }
+        }
+
+        boolean torn = false;
+        if (Files.exists(journalFile)) {
+            try (BufferedReader reader = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        Mutation mutation = LINE_GSON.fromJson(line, Mutation.class);
+                        if (mutation != null && mutation.op != null) {
+                            apply(mutation);
+                            journalEntries++;
+                        }
+                    } catch (JsonParseException e) {
+                        // A torn last line after a crash is expected - everything before it is valid
+                        AIBrigadeMod.LOGGER.warn("Skipping corrupted bot state journal line: {}", e.getMessage());
+                        torn = true;
+                    }
+                }
+                torn |= !endsWithNewline(journalFile);
+            } catch (IOException e) {
+                AIBrigadeMod.LOGGER.error("Failed to replay bot state journal", e);
+            }
+        }
+
+        AIBrigadeMod.LOGGER.info("Loaded bot state: {} groups ({} journal entries replayed)",
+            state.groups.size(), journalEntries);
+
+        // The next flush appends after the last byte: fold the valid entries into the snapshot
+        // and drop the torn line, or the first new mutation would be glued onto it
+        if (torn) {
+            compact();
+        }
+        return state;
+    }
+
+    private static boolean endsWithNewline(Path file) throws IOException {
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            long size = channel.size();
+            if (size == 0) {
+                return true;
+            }
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.position(size - 1).read(last);
+            return last.get(0) == '\n';
+        }
+    }
+
+    /**
+     * Record a mutation (applied to the in-memory mirror, written on next flush)
+     */
+    public synchronized void record(Mutation mutation) {
+        if (mutation == null || mutation.op == null) {
+            return;
+        }
+        apply(mutation);
+        pending.add(mutation);
+    }
+
+    /**
+     * Append pending mutations to the journal, compacting if it grew too large
+     *
+     * @return Number of mutations written
+     */
+    public synchronized int flush() {
+        int written = pending.size();
+
+        if (written > 0) {
+            try (Writer writer = Files.newBufferedWriter(journalFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                for (Mutation mutation : pending) {
+                    writer.write(LINE_GSON.toJson(mutation));
+                    writer.write('\n');
+                }
+            } catch (IOException e) {
+                AIBrigadeMod.LOGGER.error("Failed to append bot state journal", e);
+                return 0;
+            }
+
+            pending.clear();
+            journalEntries += written;
+        }
+
+        if (journalEntries >= COMPACTION_THRESHOLD) {
+            compact();
+        }
+
+        return written;
+    }
+
+    /**
+     * Fold the journal into a fresh snapshot
+     * Snapshot is written atomically before the journal is truncated, so a crash in
+     * between only replays mutations that are already part of the snapshot (all ops are idempotent).
+     */
+    public synchronized void compact() {
+        Path tempFile = snapshotFile.resolveSibling(SNAPSHOT_FILE + ".tmp");
+
+        try {
+            try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                SNAPSHOT_GSON.toJson(state, writer);
+            }
+            Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            // Pending mutations are already part of the snapshot
+            pending.clear();
+            Files.deleteIfExists(journalFile);
+
+            AIBrigadeMod.LOGGER.info("Compacted bot state journal ({} entries folded, {} groups)",
+                journalEntries, state.groups.size());
+            journalEntries = 0;
+        } catch (IOException e) {
+            AIBrigadeMod.LOGGER.error("Failed to compact bot state journal", e);
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException ignored) {
+                // Ignore cleanup errors
+            }
+        }
+    }
+
+    /**
+     * Number of mutations waiting for the next flush
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Apply a mutation to the in-memory mirror
+     */
+    private void apply(Mutation m) {
+        switch (m.op) {
+            case GROUP_PUT -> {
+                GroupState group = state.groups.computeIfAbsent(m.group, k -> new GroupState());
+                group.leaderName = m.leaderName;
+                group.followRadius = m.followRadius;
+            }
+            case GROUP_REMOVE -> state.groups.remove(m.group);
+            case MEMBER_ADD -> state.groups.computeIfAbsent(m.group, k -> new GroupState()).members.add(m.target);
+            case MEMBER_REMOVE -> {
+                GroupState group = state.groups.get(m.group);
+                if (group != null) {
+                    group.members.remove(m.target);
+                }
+            }
+            case TEAM_RELATION -> state.teamRelationships
+                .computeIfAbsent(m.group, k -> new LinkedHashMap<>())
+                .put(m.target, m.relationship);
+            case TEAM_RELATIONS_CLEAR -> state.teamRelationships.remove(m.group);
+            case PLAYER_RELATION -> state.playerRelationships
+                .computeIfAbsent(m.target, k -> new LinkedHashMap<>())
+                .put(m.group, m.relationship);
+            case GROUP_STATE -> {
+                GroupState group = state.groups.get(m.group);
+                if (group != null) {
+                    group.behaviorType = m.behaviorType;
+                    group.isStatic = m.isStatic;
+                    group.stateFollowRadius = m.stateFollowRadius;
+                    group.hostile = m.hostile;
+                    group.followingLeader = m.followingLeader;
+                    group.leaderId = m.leaderId;
+                }
+            }
+        }
+    }
+}
@@ -3,11 +3,14 @@ package com.aibrigade.persistence;
 import com.aibrigade.bots.BotEntity;
 import com.aibrigade.main.AIBrigadeMod;
 import com.google.gson.*;
+import com.google.gson.stream.JsonWriter;
 import net.minecraft.server.level.ServerLevel;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * PersistenceManager - Manages saving and loading bot data to/from disk
@@ -17,7 +20,10 @@ import java.util.*;
  * - Load bots on world load
  * - Save groups and configurations
  * - Preset management
- * - Backup system
+ * - Backup system (content-addressed, deduplicated, compressed)
+ *
+ * Saves never touch the disk on the calling thread: a snapshot is taken and
+ * PersistenceWriter serializes, fsyncs and atomically renames it in the background.
  */
 public class PersistenceManager {
 
@@ -28,14 +34,22 @@ public class PersistenceManager {
     private static final String CONFIG_FILE = "config.json";
     private static final String PRESETS_FILE = "presets.json";
 
+    // Backup retention defaults
+    private static final int DEFAULT_BACKUP_KEEP_COUNT = 10;
+    private static final long DEFAULT_BACKUP_MAX_AGE_MS = 7L * 24 * 60 * 60 * 1000; // 7 days
+
     private final Path dataPath;
+    private final BackupStore backupStore;
     private boolean autoSaveEnabled = true;
+    private volatile int backupKeepCount = DEFAULT_BACKUP_KEEP_COUNT;
+    private volatile long backupMaxAgeMs = DEFAULT_BACKUP_MAX_AGE_MS;
 
     /**
      * Initialize persistence manager
      */
     public PersistenceManager(Path worldPath) {
         this.dataPath = worldPath.resolve(DATA_FOLDER);
+        this.backupStore = new BackupStore(dataPath.resolve("backups"));
         try {
             Files.createDirectories(dataPath);
         } catch (IOException e) {
@@ -55,7 +69,8 @@ public class PersistenceManager {
             return;
         }
 
-        JsonArray botsArray = new JsonArray();
+        // Snapshot on the calling thread (entity state is only safe to read here)
+        List<BotDataSerializer.BotData> snapshot = new ArrayList<>(bots.size());
 
         for (BotEntity bot : bots) {
             // Skip null bots in collection
@@ -64,21 +79,29 @@ public class PersistenceManager {
             }
 
             try {
-                JsonObject botJson = BotDataSerializer.serializeBotToJson(bot);
-                botsArray.add(botJson);
+                snapshot.add(BotDataSerializer.BotData.fromBot(bot));
             } catch (Exception e) {
                 AIBrigadeMod.LOGGER.error("Failed to serialize bot: " + bot.getBotName(), e);
             }
         }
 
-        JsonObject root = new JsonObject();
-        root.addProperty("version", "1.0");
-        root.addProperty("timestamp", System.currentTimeMillis());
-        root.addProperty("count", botsArray.size());
-        root.add("bots", botsArray);
-
-        saveJsonFile(dataPath.resolve(BOTS_FILE), root);
-        AIBrigadeMod.LOGGER.info("Saved {} bots to disk", botsArray.size());
+        long timestamp = System.currentTimeMillis();
+
+        // JSON encoding and disk write happen on the IO thread
+        PersistenceWriter.getInstance().submit(dataPath.resolve(BOTS_FILE), out -> {
+            JsonWriter writer = GSON.newJsonWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.beginObject();
+            writer.name("version").value("1.0");
+            writer.name("timestamp").value(timestamp);
+            writer.name("count").value(snapshot.size());
+            writer.name("bots").beginArray();
+            for (BotDataSerializer.BotData data : snapshot) {
+                GSON.toJson(data, BotDataSerializer.BotData.class, writer);
+            }
+            writer.endArray();
+            writer.endObject();
+            writer.flush();
+        }).thenRun(() -> AIBrigadeMod.LOGGER.info("Saved {} bots to disk", snapshot.size()));
     }
 
     /**
@@ -94,20 +117,8 @@ public class PersistenceManager {
         }
 
         try {
-            JsonObject root = loadJsonFile(botsFile);
-            if (root == null || !root.has("bots")) {
-                return bots;
-            }
-
-            JsonArray botsArray = root.getAsJsonArray("bots");
-            for (JsonElement element : botsArray) {
-                try {
-                    BotDataSerializer.BotData botData = BotDataSerializer.deserializeBotFromJson(element.getAsJsonObject());
-                    bots.add(botData);
-                } catch (Exception e) {
-                    AIBrigadeMod.LOGGER.error("Failed to deserialize bot", e);
-                }
-            }
+            // Streamed record by record - the file is never held in memory as a whole
+            StreamingJsonLoader.load(botsFile, "bots", GSON, BotDataSerializer.BotData.class, bots::add);
 
             AIBrigadeMod.LOGGER.info("Loaded {} bots from disk", bots.size());
         } catch (Exception e) {
@@ -205,7 +216,7 @@ public class PersistenceManager {
         JsonObject root = new JsonObject();
         root.addProperty("version", "1.0");
         root.addProperty("timestamp", System.currentTimeMillis());
-        root.add("config", config);
+        root.add("config", config != null ? config.deepCopy() : new JsonObject());
 
         saveJsonFile(dataPath.resolve(CONFIG_FILE), root);
         AIBrigadeMod.LOGGER.info("Saved configuration to disk");
@@ -270,7 +281,8 @@ public class PersistenceManager {
             if (entry == null || entry.getValue() == null) {
                 continue;
             }
-            presetsObj.add(entry.getKey(), entry.getValue());
+            // Deep copy: the caller keeps mutating its presets while the IO thread serializes
+            presetsObj.add(entry.getKey(), entry.getValue().deepCopy());
         }
 
         root.add("presets", presetsObj);
@@ -313,97 +325,91 @@ public class PersistenceManager {
 
     /**
      * Create backup of current data
+     * Content-addressed (see BackupStore): only chunks that changed since the previous
+     * backup are stored, compressed. Runs on the IO thread after pending saves.
+     *
+     * @return Future with the backup summary
      */
-    public void createBackup() {
-        Path backupPath = dataPath.resolve("backups");
-        try {
-            Files.createDirectories(backupPath);
-
-            String timestamp = String.valueOf(System.currentTimeMillis());
-            Path backupFolder = backupPath.resolve("backup_" + timestamp);
-            Files.createDirectories(backupFolder);
-
-            // Copy all data files
-            copyFileIfExists(dataPath.resolve(BOTS_FILE), backupFolder.resolve(BOTS_FILE));
-            copyFileIfExists(dataPath.resolve(GROUPS_FILE), backupFolder.resolve(GROUPS_FILE));
-            copyFileIfExists(dataPath.resolve(CONFIG_FILE), backupFolder.resolve(CONFIG_FILE));
-            copyFileIfExists(dataPath.resolve(PRESETS_FILE), backupFolder.resolve(PRESETS_FILE));
-
-            AIBrigadeMod.LOGGER.info("Created backup at: " + backupFolder);
+    public CompletableFuture<BackupStore.Result> createBackup() {
+        List<Path> files = List.of(
+            dataPath.resolve(BOTS_FILE),
+            dataPath.resolve(GROUPS_FILE),
+            dataPath.resolve(CONFIG_FILE),
+            dataPath.resolve(PRESETS_FILE));
+
+        int keepCount = backupKeepCount;
+        long maxAgeMs = backupMaxAgeMs;
+
+        CompletableFuture<BackupStore.Result> future = PersistenceWriter.getInstance().runAfterPendingWrites(() -> {
+            BackupStore.Result result = backupStore.backup(files);
+            backupStore.prune(keepCount, maxAgeMs);
+            return result;
+        });
+
+        future.whenComplete((result, error) -> {
+            if (error == null) {
+                AIBrigadeMod.LOGGER.info("Created backup {}: {} files, {} chunks ({} new, {} bytes stored for {} bytes of data)",
+                    result.backupId, result.files, result.chunks, result.newChunks, result.storedBytes, result.bytes);
+            } else {
+                AIBrigadeMod.LOGGER.error("Failed to create backup", error);
+            }
+        });
+        return future;
+    }
 
-            // Clean old backups (keep last 10)
-            cleanOldBackups(backupPath, 10);
-        } catch (IOException e) {
-            AIBrigadeMod.LOGGER.error("Failed to create backup", e);
-        }
+    /**
+     * Restore a backup into the data folder
+     * Runs on the IO thread after pending saves so they cannot overwrite the restored files.
+     *
+     * @param backupId Backup id (see listBackups)
+     * @return Future with the number of restored files
+     */
+    public CompletableFuture<Integer> restoreBackup(String backupId) {
+        return PersistenceWriter.getInstance().runAfterPendingWrites(() -> backupStore.restore(backupId, dataPath));
     }
 
     /**
-     * Clean old backups, keeping only the most recent N
+     * List backups, newest first
      */
-    private void cleanOldBackups(Path backupPath, int keepCount) {
+    public List<String> listBackups() {
         try {
-            List<Path> backups = new ArrayList<>();
-            try (DirectoryStream<Path> stream = Files.newDirectoryStream(backupPath, "backup_*")) {
-                for (Path entry : stream) {
-                    if (Files.isDirectory(entry)) {
-                        backups.add(entry);
-                    }
-                }
-            }
-
-            // Sort by modification time, newest first
-            backups.sort((a, b) -> {
-                try {
-                    return Files.getLastModifiedTime(b).compareTo(Files.getLastModifiedTime(a));
-                } catch (IOException e) {
-                    return 0;
-                }
-            });
-
-            // Delete old backups
-            for (int i = keepCount; i < backups.size(); i++) {
-                deleteDirectory(backups.get(i));
-            }
+            return backupStore.listBackups();
         } catch (IOException e) {
-            AIBrigadeMod.LOGGER.error("Failed to clean old backups", e);
+            AIBrigadeMod.LOGGER.error("Failed to list backups", e);
+            return Collections.emptyList();
         }
     }
 
     /**
-     * Delete directory recursively
+     * Set backup retention
+     *
+     * @param keepCount Maximum number of backups kept
+     * @param maxAgeMs Backups older than this are deleted (the newest is always kept)
      */
-    private void deleteDirectory(Path directory) throws IOException {
-        if (!Files.exists(directory)) {
-            return;
-        }
-
-        // MAJOR FIX #35: Wrap Files.walk() in try-with-resources to prevent resource leak
-        // Files.walk() returns a Stream that holds open file descriptors
-        // Without proper closure, this causes file handle leaks (especially on Windows)
-        try (var paths = Files.walk(directory)) {
-            paths.sorted(Comparator.reverseOrder())
-                .forEach(path -> {
-                    try {
-                        Files.delete(path);
-                    } catch (IOException e) {
-                        AIBrigadeMod.LOGGER.error("Failed to delete: " + path, e);
-                    }
-                });
-        }
+    public void setBackupRetention(int keepCount, long maxAgeMs) {
+        this.backupKeepCount = Math.max(1, keepCount);
+        this.backupMaxAgeMs = Math.max(0, maxAgeMs);
     }
 
     // ==================== FILE I/O ====================
 
     /**
      * Save JSON to file
+     * The tree must not be modified by the caller afterwards: it is written on the IO thread
      */
     private void saveJsonFile(Path file, JsonObject json) {
-        try (Writer writer = Files.newBufferedWriter(file)) {
+        PersistenceWriter.getInstance().submit(file, out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
             GSON.toJson(json, writer);
-        } catch (IOException e) {
-            AIBrigadeMod.LOGGER.error("Failed to save JSON file: " + file, e);
-        }
+            writer.flush();
+        });
+    }
+
+    /**
+     * Block until every queued write has reached disk (server shutdown)
+     */
+    public boolean flush(long timeoutMs) {
+        return PersistenceWriter.getInstance().flush(timeoutMs);
     }
 
     /**
@@ -418,15 +424,6 @@ public class PersistenceManager {
         }
     }
 
-    /**
-     * Copy file if it exists
-     */
-    private void copyFileIfExists(Path source, Path target) throws IOException {
-        if (Files.exists(source)) {
-            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
-        }
-    }
-
     // ==================== UTILITY ====================
 
     /**
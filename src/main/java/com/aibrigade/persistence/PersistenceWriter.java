@@ -0,0 +1,247 @@
+package com.aibrigade.persistence;
+
+import com.aibrigade.main.AIBrigadeMod;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PersistenceWriter - Single background IO thread for AIBrigade save files
+ *
+ * The caller (usually the server thread) only builds an immutable snapshot and
+ * hands it over as a {@link Payload}. The IO thread then:
+ * - serializes the snapshot into "<file>.tmp"
+ * - fsyncs it
+ * - atomically renames it over the target file
+ *
+ * Saves that pile up for the same file are coalesced: while a write is still queued,
+ * a newer snapshot simply replaces the older one and only the latest reaches disk.
+ *
+ * Latency (queue + serialize + fsync + rename) is tracked and exposed through {@link #getStats()}.
+ */
+public final class PersistenceWriter {
+
+    /**
+     * Serializes a snapshot to the given stream (runs on the IO thread)
+     * Implementations must flush but not close the stream: it is fsynced afterwards.
+     */
+    @FunctionalInterface
+    public interface Payload {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * A queued write, shared by every submission coalesced into it
+     */
+    private static final class WriteTask {
+        final Path target;
+        final long queuedAt = System.nanoTime();
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        volatile Payload payload;
+
+        WriteTask(Path target, Payload payload) {
+            this.target = target;
+            this.payload = payload;
+        }
+    }
+
+    private static final PersistenceWriter INSTANCE = new PersistenceWriter();
+
+    private final ExecutorService ioThread = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "AIBrigade-IO");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+
+    // Writes queued but not yet started, one per target file
+    private final Map<Path, WriteTask> pending = new ConcurrentHashMap<>();
+
+    // Metrics
+    private final AtomicLong writesCompleted = new AtomicLong();
+    private final AtomicLong writesFailed = new AtomicLong();
+    private final AtomicLong writesCoalesced = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private volatile long lastLatencyNanos = 0;
+
+    private PersistenceWriter() {
+    }
+
+    public static PersistenceWriter getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Queue a snapshot for writing
+     * If a write for the same file is still waiting, its payload is replaced (coalesced)
+     *
+     * @param target File to replace atomically
+     * @param payload Serializer for the snapshot (must not touch live game state)
+     * @return Future completed once this snapshot (or a newer one) is durable on disk
+     */
+    public CompletableFuture<Void> submit(Path target, Payload payload) {
+        WriteTask task = pending.compute(target, (path, existing) -> {
+            if (existing != null) {
+                existing.payload = payload;
+                writesCoalesced.incrementAndGet();
+                return existing;
+            }
+            WriteTask created = new WriteTask(path, payload);
+            ioThread.execute(() -> runPending(path));
+            return created;
+        });
+        return task.future;
+    }
+
+    /**
+     * Run an IO task on the IO thread, after every write queued before this call
+     * (e.g. a backup that must see the latest saves)
+     */
+    public <T> CompletableFuture<T> runAfterPendingWrites(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        ioThread.execute(() -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Wait until every write queued before this call has reached disk
+     *
+     * @param timeoutMs Maximum time to wait
+     * @return true if all writes completed in time
+     */
+    public boolean flush(long timeoutMs) {
+        // Single IO thread: the barrier runs after everything queued before it
+        CompletableFuture<Void> barrier = CompletableFuture.runAsync(() -> { }, ioThread);
+        try {
+            barrier.get(timeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (Exception e) {
+            AIBrigadeMod.LOGGER.warn("Timed out waiting for {} pending AIBrigade writes", pending.size());
+            return false;
+        }
+    }
+
+    /**
+     * Executed on the IO thread
+     */
+    private void runPending(Path target) {
+        // Removing first means submissions from now on queue a new task with a newer snapshot
+        WriteTask task = pending.remove(target);
+        if (task == null) {
+            return;
+        }
+
+        try {
+            long bytes = writeAtomically(task.target, task.payload);
+
+            long latency = System.nanoTime() - task.queuedAt;
+            lastLatencyNanos = latency;
+            totalLatencyNanos.addAndGet(latency);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+            bytesWritten.addAndGet(bytes);
+            writesCompleted.incrementAndGet();
+
+            task.future.complete(null);
+        } catch (Throwable t) {
+            writesFailed.incrementAndGet();
+            AIBrigadeMod.LOGGER.error("Failed to write " + task.target, t);
+            task.future.completeExceptionally(t);
+        }
+    }
+
+    /**
+     * Serialize to a temp file, fsync, then atomically replace the target
+     *
+     * @return Size of the written file in bytes
+     */
+    private static long writeAtomically(Path target, Payload payload) throws IOException {
+        Path tempFile = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try {
+            long size;
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+                payload.writeTo(out);
+                out.flush();
+
+                // Data must be on disk before the rename makes it visible
+                channel.force(true);
+                size = channel.size();
+            }
+
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return size;
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException ignored) {
+                // Ignore cleanup errors
+            }
+            throw e;
+        }
+    }
+
+    // ==================== METRICS ====================
+
+    public long getWritesCompleted() {
+        return writesCompleted.get();
+    }
+
+    public long getWritesCoalesced() {
+        return writesCoalesced.get();
+    }
+
+    public long getWritesFailed() {
+        return writesFailed.get();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public double getAverageLatencyMs() {
+        long completed = writesCompleted.get();
+        return completed == 0 ? 0.0 : totalLatencyNanos.get() / (completed * 1_000_000.0);
+    }
+
+    public double getMaxLatencyMs() {
+        return maxLatencyNanos.get() / 1_000_000.0;
+    }
+
+    public double getLastLatencyMs() {
+        return lastLatencyNanos / 1_000_000.0;
+    }
+
+    /**
+     * Write counters and latency, shown by /aibrigade database stats and logged on shutdown
+     */
+    public String getStats() {
+        return String.format("writes=%d coalesced=%d failed=%d pending=%d bytes=%d latency(last/avg/max)=%.1f/%.1f/%.1f ms",
+            writesCompleted.get(), writesCoalesced.get(), writesFailed.get(), pending.size(), bytesWritten.get(),
+            getLastLatencyMs(), getAverageLatencyMs(), getMaxLatencyMs());
+    }
+}
@@ -0,0 +1,162 @@
+package com.aibrigade.persistence;
+
+import com.aibrigade.main.AIBrigadeMod;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ToLongFunction;
+
+/**
+ * SkinProfileStore - Disk cache of Mojang profile lookups (skins survive restarts)
+ *
+ * Stores, with the time each entry was fetched:
+ * - profiles : UUID, name and the signed "textures" property (value + signature)
+ * - names    : username -> UUID resolutions
+ * - missing  : usernames Mojang reported as non-existent (negative cache)
+ *
+ * Limits are applied on load and on save:
+ * - entries older than their TTL are dropped
+ * - each list keeps only its newest entries (MAX_*)
+ *
+ * The file is global (config directory), not per world: skins are the same everywhere.
+ * Writes go through PersistenceWriter (atomic replace, coalesced).
+ */
+public final class SkinProfileStore {
+
+    // Signed textures stay valid until the player changes skin: a week is a safe refresh period
+    public static final long PROFILE_TTL_MS = 7L * 24 * 3600 * 1000;
+    public static final long NAME_TTL_MS = 7L * 24 * 3600 * 1000;
+    // Names that don't exist can be registered at any time - retry them sooner
+    public static final long MISSING_TTL_MS = 24L * 3600 * 1000;
+
+    public static final int MAX_PROFILES = 2048;
+    public static final int MAX_NAMES = 4096;
+    public static final int MAX_MISSING = 4096;
+
+    private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
+
+    /**
+     * A fetched profile with its signed textures
+     */
+    public static class ProfileEntry {
+        public String uuid;
+        public String name;
+        public String textureValue;
+        public String textureSignature;
+        public long fetchedAt;
+    }
+
+    /**
+     * A username lookup (uuid is null in the negative cache)
+     */
+    public static class NameEntry {
+        public String name;
+        public String uuid;
+        public long fetchedAt;
+    }
+
+    /**
+     * File contents
+     */
+    public static class Snapshot {
+        public int version = 1;
+        public List<ProfileEntry> profiles = new ArrayList<>();
+        public List<NameEntry> names = new ArrayList<>();
+        public List<NameEntry> missing = new ArrayList<>();
+    }
+
+    private final Path file;
+
+    public SkinProfileStore(Path file) {
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Read the cache (blocking, the file is small)
+     *
+     * @return Entries still within their TTL, empty if the file is missing or unreadable
+     */
+    public Snapshot load() {
+        if (!Files.exists(file)) {
+            return new Snapshot();
+        }
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Snapshot snapshot = GSON.fromJson(reader, Snapshot.class);
+            if (snapshot == null) {
+                return new Snapshot();
+            }
+            prune(snapshot, System.currentTimeMillis());
+            return snapshot;
+        } catch (IOException | JsonParseException e) {
+            AIBrigadeMod.LOGGER.error("Failed to read skin profile cache: " + file, e);
+            return new Snapshot();
+        }
+    }
+
+    /**
+     * Queue a snapshot for writing (pruned first)
+     * The snapshot must no longer be modified by the caller.
+     */
+    public CompletableFuture<Void> save(Snapshot snapshot) {
+        prune(snapshot, System.currentTimeMillis());
+
+        try {
+            Files.createDirectories(file.getParent());
+        } catch (IOException e) {
+            AIBrigadeMod.LOGGER.error("Failed to create directory for " + file, e);
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return PersistenceWriter.getInstance().submit(file, out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            GSON.toJson(snapshot, writer);
+            writer.flush();
+        });
+    }
+
+    /**
+     * Apply TTLs and size limits in place
+     */
+    static void prune(Snapshot snapshot, long now) {
+        snapshot.profiles = keepNewest(snapshot.profiles, e -> e.fetchedAt, now, PROFILE_TTL_MS, MAX_PROFILES);
+        snapshot.names = keepNewest(snapshot.names, e -> e.fetchedAt, now, NAME_TTL_MS, MAX_NAMES);
+        snapshot.missing = keepNewest(snapshot.missing, e -> e.fetchedAt, now, MISSING_TTL_MS, MAX_MISSING);
+    }
+
+    private static <T> List<T> keepNewest(List<T> entries, ToLongFunction<T> fetchedAt,
+                                          long now, long ttlMs, int maxEntries) {
+        if (entries == null) {
+            return new ArrayList<>();
+        }
+
+        List<T> kept = new ArrayList<>(entries.size());
+        for (T entry : entries) {
+            if (entry != null && now - fetchedAt.applyAsLong(entry) < ttlMs) {
+                kept.add(entry);
+            }
+        }
+
+        if (kept.size() > maxEntries) {
+            kept.sort(Comparator.comparingLong(fetchedAt).reversed());
+            kept = new ArrayList<>(kept.subList(0, maxEntries));
+        }
+        return kept;
+    }
+}
@@ -0,0 +1,138 @@
+package com.aibrigade.persistence;
+
+import com.aibrigade.main.AIBrigadeMod;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/**
+ * StreamingJsonLoader - Loads large "{ ..., "bots": [ {...}, {...} ] }" files record by record
+ *
+ * Instead of building a DOM of the whole file (or reading it into a String first):
+ * - the file is tokenized with a Gson JsonReader
+ * - records of the target array are read one at a time and grouped into chunks
+ * - each chunk is decoded into POJOs on the common ForkJoin pool
+ * - decoded records are handed to the consumer in file order, on the calling thread
+ *
+ * At most MAX_CHUNKS_IN_FLIGHT chunks exist at once, so peak memory depends on the
+ * chunk size, not on the file size. Fields other than the target array are skipped.
+ */
+public final class StreamingJsonLoader {
+
+    // Records per decode task
+    private static final int CHUNK_SIZE = 256;
+
+    // Decoded-but-not-consumed chunks kept before the reader waits for the oldest one
+    private static final int MAX_CHUNKS_IN_FLIGHT = Math.max(2, ForkJoinPool.getCommonPoolParallelism() * 2);
+
+    private StreamingJsonLoader() {
+    }
+
+    /**
+     * Stream the records of a top-level array field
+     *
+     * @param file JSON file to read
+     * @param arrayField Name of the top-level array holding the records (e.g. "bots")
+     * @param gson Gson instance used to decode each record
+     * @param type Record class
+     * @param consumer Receives each decoded record, in file order
+     * @return Number of records delivered (records that fail to decode are logged and skipped)
+     */
+    public static <T> int load(Path file, String arrayField, Gson gson, Class<T> type,
+                               Consumer<T> consumer) throws IOException {
+        int delivered = 0;
+
+        try (Reader fileReader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             JsonReader reader = new JsonReader(fileReader)) {
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (!arrayField.equals(name) || reader.peek() != JsonToken.BEGIN_ARRAY) {
+                    reader.skipValue();
+                    continue;
+                }
+
+                delivered += streamArray(reader, gson, type, consumer);
+            }
+            reader.endObject();
+        }
+
+        return delivered;
+    }
+
+    /**
+     * Read the array in chunks and decode them in parallel
+     */
+    private static <T> int streamArray(JsonReader reader, Gson gson, Class<T> type,
+                                       Consumer<T> consumer) throws IOException {
+        Deque<ForkJoinTask<List<T>>> inFlight = new ArrayDeque<>();
+        List<JsonElement> chunk = new ArrayList<>(CHUNK_SIZE);
+        int delivered = 0;
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            chunk.add(JsonParser.parseReader(reader));
+
+            if (chunk.size() >= CHUNK_SIZE) {
+                inFlight.addLast(submit(chunk, gson, type));
+                chunk = new ArrayList<>(CHUNK_SIZE);
+
+                // Bound memory: drain the oldest chunk before reading further
+                if (inFlight.size() >= MAX_CHUNKS_IN_FLIGHT) {
+                    delivered += deliver(inFlight.removeFirst(), consumer);
+                }
+            }
+        }
+        reader.endArray();
+
+        if (!chunk.isEmpty()) {
+            inFlight.addLast(submit(chunk, gson, type));
+        }
+
+        while (!inFlight.isEmpty()) {
+            delivered += deliver(inFlight.removeFirst(), consumer);
+        }
+
+        return delivered;
+    }
+
+    private static <T> ForkJoinTask<List<T>> submit(List<JsonElement> chunk, Gson gson, Class<T> type) {
+        return ForkJoinPool.commonPool().submit(() -> {
+            List<T> decoded = new ArrayList<>(chunk.size());
+            for (JsonElement element : chunk) {
+                try {
+                    T record = gson.fromJson(element, type);
+                    if (record != null) {
+                        decoded.add(record);
+                    }
+                } catch (JsonParseException | IllegalStateException e) {
+                    AIBrigadeMod.LOGGER.error("Failed to decode {} record, skipping", type.getSimpleName(), e);
+                }
+            }
+            return decoded;
+        });
+    }
+
+    private static <T> int deliver(ForkJoinTask<List<T>> task, Consumer<T> consumer) {
+        List<T> records = task.join();
+        records.forEach(consumer);
+        return records.size();
+    }
+}
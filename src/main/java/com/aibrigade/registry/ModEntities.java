@@ -28,8 +28,10 @@ public class ModEntities {
             ENTITY_TYPES.register("bot",
                     () -> EntityType.Builder.of(BotEntity::new, MobCategory.CREATURE)
                             .sized(0.6F, 1.8F)
-                            .clientTrackingRange(64)  // Same as players for better visibility
-                            .updateInterval(3)        // PERFORMANCE FIX: Use 3 (vanilla default) instead of 1
+                            .clientTrackingRange(8)   // 128 blocks = client render range (BotClientOptimizer)
+                                                      // (was 64: every bot within the server view distance was tracked)
+                            .updateInterval(3)        // Default only - per-bot cadence in BotTrackingCadence
+                                                      // PERFORMANCE FIX: Use 3 (vanilla default) instead of 1
                                                       // updateInterval(1) = 6000 packets/sec with 300 bots = CATASTROPHIC
                                                       // updateInterval(3) = 2000 packets/sec with 300 bots = acceptable
                                                       // Skin/data sync works perfectly fine with interval 3 via EntityDataAccessor
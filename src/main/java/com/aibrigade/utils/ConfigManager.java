@@ -1,5 +1,6 @@
 package com.aibrigade.utils;
 
+import com.aibrigade.bots.MojangProfileLookup;
 import com.aibrigade.main.AIBrigadeMod;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -21,6 +22,9 @@ import java.nio.file.Paths;
  * - Animation settings
  * - Pathfinding options
  * - Performance settings
+ * - Persistence options
+ * - Skin lookup endpoint and skin sources
+ * - Client skin texture budget
  */
 public class ConfigManager {
 
@@ -35,6 +39,13 @@ public class ConfigManager {
     private boolean enableAdvancedPathfinding = true;
     private int aiUpdateInterval = 4; // Ticks between AI updates
     private boolean debugMode = false;
+    private boolean compressBotDatabase = true; // Deflate the binary bot database body
+    private String profileLookupUrl = MojangProfileLookup.DEFAULT_ENDPOINT; // Bulk username -> UUID endpoint
+    private int skinPoolSize = 32; // Skins kept ready for spawning bots
+    private String skinSources = "mojang"; // e.g. "local:config/aibrigade_skins*3, mojang" (see SkinSourceSelector)
+    private String skinSourceSelection = "round_robin"; // round_robin | weighted
+    private int skinTextureCacheSize = 256; // Client: distinct bot skin textures kept loaded
+    private int skinTextureMemoryMB = 32; // Client: memory budget of uploaded bot skins
 
     private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
 
@@ -86,6 +97,34 @@ public class ConfigManager {
                 debugMode = config.get("debugMode").getAsBoolean();
             }
 
+            if (config.has("compressBotDatabase")) {
+                compressBotDatabase = config.get("compressBotDatabase").getAsBoolean();
+            }
+
+            if (config.has("profileLookupUrl")) {
+                profileLookupUrl = config.get("profileLookupUrl").getAsString();
+            }
+
+            if (config.has("skinPoolSize")) {
+                skinPoolSize = config.get("skinPoolSize").getAsInt();
+            }
+
+            if (config.has("skinSources")) {
+                skinSources = config.get("skinSources").getAsString();
+            }
+
+            if (config.has("skinSourceSelection")) {
+                skinSourceSelection = config.get("skinSourceSelection").getAsString();
+            }
+
+            if (config.has("skinTextureCacheSize")) {
+                skinTextureCacheSize = config.get("skinTextureCacheSize").getAsInt();
+            }
+
+            if (config.has("skinTextureMemoryMB")) {
+                skinTextureMemoryMB = config.get("skinTextureMemoryMB").getAsInt();
+            }
+
             AIBrigadeMod.LOGGER.info("Configuration loaded successfully");
         } catch (IOException e) {
             AIBrigadeMod.LOGGER.error("Failed to load configuration", e);
@@ -106,6 +145,13 @@ public class ConfigManager {
         config.addProperty("enableAdvancedPathfinding", enableAdvancedPathfinding);
         config.addProperty("aiUpdateInterval", aiUpdateInterval);
         config.addProperty("debugMode", debugMode);
+        config.addProperty("compressBotDatabase", compressBotDatabase);
+        config.addProperty("profileLookupUrl", profileLookupUrl);
+        config.addProperty("skinPoolSize", skinPoolSize);
+        config.addProperty("skinSources", skinSources);
+        config.addProperty("skinSourceSelection", skinSourceSelection);
+        config.addProperty("skinTextureCacheSize", skinTextureCacheSize);
+        config.addProperty("skinTextureMemoryMB", skinTextureMemoryMB);
 
         Path configPath = getConfigPath();
 
@@ -195,4 +241,60 @@ public class ConfigManager {
     public void setDebugMode(boolean debugMode) {
         this.debugMode = debugMode;
     }
+
+    public boolean isBotDatabaseCompressed() {
+        return compressBotDatabase;
+    }
+
+    public void setBotDatabaseCompressed(boolean compressed) {
+        this.compressBotDatabase = compressed;
+    }
+
+    public String getProfileLookupUrl() {
+        return profileLookupUrl;
+    }
+
+    public void setProfileLookupUrl(String profileLookupUrl) {
+        this.profileLookupUrl = profileLookupUrl;
+    }
+
+    public int getSkinPoolSize() {
+        return skinPoolSize;
+    }
+
+    public void setSkinPoolSize(int skinPoolSize) {
+        this.skinPoolSize = skinPoolSize;
+    }
+
+    public String getSkinSources() {
+        return skinSources;
+    }
+
+    public void setSkinSources(String skinSources) {
+        this.skinSources = skinSources;
+    }
+
+    public String getSkinSourceSelection() {
+        return skinSourceSelection;
+    }
+
+    public void setSkinSourceSelection(String skinSourceSelection) {
+        this.skinSourceSelection = skinSourceSelection;
+    }
+
+    public int getSkinTextureCacheSize() {
+        return skinTextureCacheSize;
+    }
+
+    public void setSkinTextureCacheSize(int skinTextureCacheSize) {
+        this.skinTextureCacheSize = skinTextureCacheSize;
+    }
+
+    public int getSkinTextureMemoryMB() {
+        return skinTextureMemoryMB;
+    }
+
+    public void setSkinTextureMemoryMB(int skinTextureMemoryMB) {
+        this.skinTextureMemoryMB = skinTextureMemoryMB;
+    }
 }